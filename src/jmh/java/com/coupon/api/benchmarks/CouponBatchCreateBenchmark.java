@@ -0,0 +1,95 @@
+package com.coupon.api.benchmarks;
+
+import com.coupon.api.benchmarks.support.BenchmarkContexts;
+import com.coupon.api.benchmarks.support.CouponSeeder;
+import com.coupon.api.dtos.coupons.request.CreateCouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponBatchReportDTO;
+import com.coupon.api.services.CouponBatchService;
+import com.coupon.api.services.CouponService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CouponBatchCreateBenchmark {
+
+    private static final int COUPONS_PER_INVOCATION = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private CouponService couponService;
+    private CouponBatchService couponBatchService;
+    private ObjectMapper objectMapper;
+    private long nextCode;
+
+    private List<CreateCouponDTO> coupons;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start("batch-create");
+        couponService = context.getBean(CouponService.class);
+        couponBatchService = context.getBean(CouponBatchService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void nextCoupons() throws IOException {
+        LocalDateTime expirationDate = LocalDateTime.now().plusYears(1);
+
+        coupons = new ArrayList<>(COUPONS_PER_INVOCATION);
+
+        for (int index = 0; index < COUPONS_PER_INVOCATION; index++) {
+            coupons.add(new CreateCouponDTO(CouponSeeder.code(nextCode++), "Benchmark coupon", 0.8, expirationDate, true));
+        }
+
+        body = objectMapper.writeValueAsBytes(coupons);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUPONS_PER_INVOCATION)
+    public int singleCreate() {
+        int created = 0;
+
+        for (CreateCouponDTO coupon : coupons) {
+            couponService.create(coupon);
+            created++;
+        }
+
+        return created;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUPONS_PER_INVOCATION)
+    public CouponBatchReportDTO batchCreate() throws IOException {
+        return couponBatchService.create(new ByteArrayInputStream(body));
+    }
+}
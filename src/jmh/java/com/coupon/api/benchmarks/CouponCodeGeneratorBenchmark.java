@@ -0,0 +1,76 @@
+package com.coupon.api.benchmarks;
+
+import com.coupon.api.benchmarks.support.BenchmarkContexts;
+import com.coupon.api.dtos.coupons.request.GenerateCouponsDTO;
+import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.coupon.api.services.CouponBatchService;
+import com.coupon.api.services.codes.CouponCodeGenerator;
+import com.coupon.api.services.codes.CouponCodePermutation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CouponCodeGeneratorBenchmark {
+
+    private static final int CODES_PER_INVOCATION = 1_000;
+
+    @Param({"0.0", "0.5", "0.99"})
+    private double keyspaceFilled;
+
+    private ConfigurableApplicationContext context;
+    private CouponCodeGenerator couponCodeGenerator;
+    private CouponBatchService couponBatchService;
+    private GenerateCouponsDTO generateCouponsDTO;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start("code-generator");
+        couponCodeGenerator = context.getBean(CouponCodeGenerator.class);
+        couponBatchService = context.getBean(CouponBatchService.class);
+        generateCouponsDTO = new GenerateCouponsDTO("Benchmark coupon", 0.8, LocalDateTime.now().plusYears(1), true);
+
+        context.getBean(JdbcTemplate.class).update(
+                "INSERT INTO coupon_code_allocation (name, next_value) VALUES ('coupon-code', ?)",
+                (long) (CouponCodePermutation.KEYSPACE * keyspaceFilled));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODES_PER_INVOCATION)
+    public List<String> nextCodes() {
+        return couponCodeGenerator.nextCodes(CODES_PER_INVOCATION);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODES_PER_INVOCATION)
+    public List<CouponDTO> generate() {
+        return couponBatchService.generate(CODES_PER_INVOCATION, generateCouponsDTO);
+    }
+}
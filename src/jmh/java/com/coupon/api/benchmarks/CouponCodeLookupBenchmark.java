@@ -0,0 +1,63 @@
+package com.coupon.api.benchmarks;
+
+import com.coupon.api.benchmarks.support.BenchmarkContexts;
+import com.coupon.api.benchmarks.support.CouponSeeder;
+import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.coupon.api.repositories.CouponRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class CouponCodeLookupBenchmark {
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private CouponRepository couponRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start("code-lookup-" + rows);
+        couponRepository = context.getBean(CouponRepository.class);
+
+        CouponSeeder.seed(context.getBean(JdbcTemplate.class), rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<CouponDTO> findByCode() {
+        return couponRepository.findByCode(CouponSeeder.code(ThreadLocalRandom.current().nextInt(rows)));
+    }
+
+    @Benchmark
+    public Optional<CouponDTO> findByUnknownCode() {
+        return couponRepository.findByCode(CouponSeeder.code(rows + ThreadLocalRandom.current().nextInt(rows)));
+    }
+}
@@ -0,0 +1,62 @@
+package com.coupon.api.benchmarks;
+
+import com.coupon.api.services.codes.CouponCodeNormalizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CouponCodeNormalizerBenchmark {
+
+    @Param({"CLEAN", "DIRTY", "LOWERCASE", "OVERSIZED"})
+    private Input input;
+
+    private CouponCodeNormalizer normalizer;
+    private String code;
+
+    public enum Input {
+        CLEAN("ABC123"),
+        DIRTY(" ab-C 1.2_3 "),
+        LOWERCASE("abc123"),
+        OVERSIZED("PROMO-BLACK-FRIDAY-2025-" + "X".repeat(256));
+
+        private final String code;
+
+        Input(String code) {
+            this.code = code;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        normalizer = new CouponCodeNormalizer(CouponCodeNormalizer.CasePolicy.UPPER);
+        code = input.code;
+    }
+
+    @Benchmark
+    public String regex() {
+        String cleanCode = code.replaceAll("[^A-Za-z0-9]", "");
+
+        return cleanCode.length() == CouponCodeNormalizer.CODE_LENGTH ? cleanCode : null;
+    }
+
+    @Benchmark
+    public String singlePass() {
+        return normalizer.normalize(code);
+    }
+}
@@ -0,0 +1,98 @@
+package com.coupon.api.benchmarks;
+
+import com.coupon.api.benchmarks.support.BenchmarkContexts;
+import com.coupon.api.dtos.coupons.request.CreateCouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.coupon.api.exceptions.BadRequestException;
+import com.coupon.api.exceptions.ConflictException;
+import com.coupon.api.services.CouponService;
+import com.coupon.api.services.redemptions.CouponHotRedemptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class CouponHotCodeRedeemBenchmark {
+
+    @Param({"1", "4", "16", "64"})
+    private int shards;
+
+    @Param({"1000000000"})
+    private int maxRedemptions;
+
+    @Param({"false", "true"})
+    private boolean hot;
+
+    private ConfigurableApplicationContext context;
+    private CouponService couponService;
+    private CouponDTO coupon;
+
+    private final LongAdder redeemed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start("hot-code-" + shards + "-" + hot,
+                "coupon.redemptions.shards=" + shards,
+                "coupon.redemptions.hot.enabled=" + hot);
+        couponService = context.getBean(CouponService.class);
+        coupon = couponService.create(new CreateCouponDTO(
+                "HOT001",
+                "Hot coupon",
+                0.8,
+                LocalDateTime.now().plusYears(1),
+                true,
+                maxRedemptions
+        ));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        // Hands tokens still reserved in memory back to the shards before counting.
+        context.getBean(CouponHotRedemptions.class).stop();
+
+        int redemptions = couponService.findById(coupon.id()).redemptions();
+
+        context.close();
+
+        if (redemptions != redeemed.sum() || redemptions > maxRedemptions) {
+            throw new IllegalStateException("Counted " + redemptions + " redemptions but " + redeemed.sum() + " redeems succeeded");
+        }
+    }
+
+    @Benchmark
+    public boolean redeem() {
+        try {
+            couponService.use(coupon.id());
+            redeemed.increment();
+
+            return true;
+        } catch (BadRequestException | ConflictException exception) {
+            rejected.increment();
+
+            return false;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.coupon.api.benchmarks;
+
+import com.coupon.api.benchmarks.support.BenchmarkContexts;
+import com.coupon.api.benchmarks.support.CouponSeeder;
+import com.coupon.api.models.ids.UuidV7Generator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CouponIdInsertBenchmark {
+
+    private static final String INSERT_COUPON = """
+            INSERT INTO coupon (id, code, description, discount_value, expiration_date, created_at, updated_at, status, published, redeemed, max_redemptions, version)
+            VALUES (?, ?, 'Benchmark coupon', 0.8, ?, ?, ?, 'ACTIVE', TRUE, FALSE, 1, 0)
+            """;
+    private static final int ROWS_PER_INVOCATION = 1_000;
+    private static final int SEED_BATCH_SIZE = 10_000;
+
+    public enum IdStrategy {
+        V4(UUID::randomUUID),
+        V7(UuidV7Generator::generate);
+
+        private final Supplier<UUID> ids;
+
+        IdStrategy(Supplier<UUID> ids) {
+            this.ids = ids;
+        }
+    }
+
+    @Param({"V4", "V7"})
+    private IdStrategy ids;
+
+    @Param({"10000000"})
+    private int rows;
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private Timestamp expiration;
+    private long nextCode;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("coupon-ids");
+        context = BenchmarkContexts.start("ids-" + ids,
+                "spring.datasource.url=jdbc:h2:file:" + directory.resolve("coupons"));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        expiration = Timestamp.valueOf(LocalDateTime.now().plusYears(10));
+
+        long start = System.nanoTime();
+
+        while (nextCode < rows) {
+            insert(Math.min(SEED_BATCH_SIZE, rows - (int) nextCode));
+        }
+
+        System.out.printf("%nSeeded %d rows with %s ids at %.0f rows/s%n", rows, ids, rows * 1e9 / (System.nanoTime() - start));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Long bytes = jdbcTemplate.queryForObject("SELECT DISK_SPACE_USED('COUPON')", Long.class);
+
+        System.out.printf("%n%s ids: %d rows, table and indexes use %.1f MB%n", ids, nextCode, bytes / 1024.0 / 1024.0);
+
+        context.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_INVOCATION)
+    public int[] insert() {
+        return insert(ROWS_PER_INVOCATION);
+    }
+
+    private int[] insert(int count) {
+        List<Object[]> batch = new ArrayList<>(count);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        for (int index = 0; index < count; index++) {
+            batch.add(new Object[]{ids.ids.get(), CouponSeeder.code(nextCode++), expiration, now, now});
+        }
+
+        return jdbcTemplate.batchUpdate(INSERT_COUPON, batch);
+    }
+}
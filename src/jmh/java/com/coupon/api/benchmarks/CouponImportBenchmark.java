@@ -0,0 +1,95 @@
+package com.coupon.api.benchmarks;
+
+import com.coupon.api.benchmarks.support.BenchmarkContexts;
+import com.coupon.api.benchmarks.support.CouponSeeder;
+import com.coupon.api.dtos.coupons.response.CouponImportReportDTO;
+import com.coupon.api.models.enums.CouponFileFormat;
+import com.coupon.api.services.CouponBatchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CouponImportBenchmark {
+
+    private static final int ROWS_PER_INVOCATION = 10_000;
+
+    @Param({"NDJSON", "CSV"})
+    private CouponFileFormat format;
+
+    private ConfigurableApplicationContext context;
+    private CouponBatchService couponBatchService;
+    private long nextCode;
+
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start("import-" + format);
+        couponBatchService = context.getBean(CouponBatchService.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void nextFile() {
+        String expirationDate = LocalDateTime.now().plusYears(1).toString();
+        StringBuilder file = new StringBuilder(ROWS_PER_INVOCATION * 128);
+
+        if (format == CouponFileFormat.CSV) {
+            file.append("code,description,discountValue,expirationDate,published\n");
+        }
+
+        for (int index = 0; index < ROWS_PER_INVOCATION; index++) {
+            String code = CouponSeeder.code(nextCode++);
+
+            if (format == CouponFileFormat.CSV) {
+                file.append(code).append(",Benchmark coupon,0.8,").append(expirationDate).append(",true\n");
+            } else {
+                file.append("{\"code\":\"").append(code)
+                        .append("\",\"description\":\"Benchmark coupon\",\"discountValue\":0.8,\"expirationDate\":\"")
+                        .append(expirationDate).append("\",\"published\":true}\n");
+            }
+        }
+
+        body = file.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_INVOCATION)
+    public CouponImportReportDTO importFile() throws IOException {
+        CouponImportReportDTO report = couponBatchService.importCoupons(format, new ByteArrayInputStream(body));
+
+        if (report.imported() != ROWS_PER_INVOCATION) {
+            throw new IllegalStateException("Imported " + report.imported() + " of " + ROWS_PER_INVOCATION + " rows");
+        }
+
+        return report;
+    }
+}
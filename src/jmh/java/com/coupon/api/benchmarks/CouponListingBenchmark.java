@@ -0,0 +1,80 @@
+package com.coupon.api.benchmarks;
+
+import com.coupon.api.benchmarks.support.BenchmarkContexts;
+import com.coupon.api.benchmarks.support.CouponSeeder;
+import com.coupon.api.dtos.coupons.request.CouponSearchDTO;
+import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.coupon.api.repositories.CouponRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CouponListingBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"1", "100", "10000"})
+    private int page;
+
+    private ConfigurableApplicationContext context;
+    private CouponRepository couponRepository;
+    private CouponSearchDTO search;
+    private LocalDateTime afterCreatedAt;
+    private UUID afterId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start("listing");
+        couponRepository = context.getBean(CouponRepository.class);
+        search = new CouponSearchDTO(null, null, null, null, null);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        CouponSeeder.seed(jdbcTemplate, ROWS);
+
+        if (page > 1) {
+            Map<String, Object> position = jdbcTemplate.queryForMap(
+                    "SELECT created_at, id FROM coupon ORDER BY created_at DESC, id DESC LIMIT 1 OFFSET ?",
+                    (page - 1) * PAGE_SIZE - 1);
+
+            afterCreatedAt = ((Timestamp) position.get("CREATED_AT")).toLocalDateTime();
+            afterId = (UUID) position.get("ID");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CouponDTO> keysetPage() {
+        return couponRepository.findPage(search, afterCreatedAt, afterId, PAGE_SIZE + 1);
+    }
+}
@@ -0,0 +1,103 @@
+package com.coupon.api.benchmarks;
+
+import com.coupon.api.benchmarks.support.BenchmarkContexts;
+import com.coupon.api.benchmarks.support.CouponSeeder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class CouponPollingBenchmark {
+
+    @Param({"none", "if-none-match", "if-modified-since"})
+    private String validator;
+
+    @Param({"100"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private List<UUID> ids;
+
+    private final Map<UUID, String> etags = new ConcurrentHashMap<>();
+    private final Map<UUID, String> lastModified = new ConcurrentHashMap<>();
+    private final LongAdder polls = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder bodyBytes = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.startServer("polling-" + validator);
+        ids = CouponSeeder.seed(context, rows);
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/api/v1/coupons/";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        context.close();
+
+        System.out.printf("%n%s: %d polls, %.1f%% not modified, %.1f body bytes per poll%n",
+                validator, polls.sum(), 100.0 * notModified.sum() / polls.sum(), (double) bodyBytes.sum() / polls.sum());
+    }
+
+    @Benchmark
+    public int poll() throws IOException, InterruptedException {
+        UUID id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + id)).GET();
+
+        if ("if-none-match".equals(validator) && etags.containsKey(id)) {
+            request.header("If-None-Match", etags.get(id));
+        } else if ("if-modified-since".equals(validator) && lastModified.containsKey(id)) {
+            request.header("If-Modified-Since", lastModified.get(id));
+        }
+
+        HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+
+        polls.increment();
+        bodyBytes.add(response.body().length);
+
+        if (response.statusCode() == 304) {
+            notModified.increment();
+        } else {
+            response.headers().firstValue("ETag").ifPresent(etag -> etags.put(id, etag));
+            response.headers().firstValue("Last-Modified").ifPresent(modified -> lastModified.put(id, modified));
+        }
+
+        return response.statusCode();
+    }
+}
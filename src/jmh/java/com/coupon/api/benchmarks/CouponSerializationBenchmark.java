@@ -0,0 +1,86 @@
+package com.coupon.api.benchmarks;
+
+import com.coupon.api.dtos.coupons.mappers.CouponMapper;
+import com.coupon.api.dtos.coupons.request.CreateCouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.coupon.api.models.Coupon;
+import com.coupon.api.models.enums.CouponStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CouponSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Coupon coupon;
+    private CouponDTO couponDTO;
+    private byte[] couponJson;
+    private byte[] createCouponJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        coupon = new Coupon(
+                UUID.randomUUID(),
+                "ABC123",
+                "Iure saepe amet. Excepturi saepe inventore nam doloremque voluptatem a.",
+                BigDecimal.valueOf(0.8),
+                LocalDateTime.of(2050, 12, 1, 5, 5, 15),
+                LocalDateTime.now(),
+                LocalDateTime.now(),
+                CouponStatus.ACTIVE,
+                true,
+                false
+        );
+        couponDTO = CouponMapper.toCouponDTO(coupon);
+        couponJson = objectMapper.writeValueAsBytes(couponDTO);
+        createCouponJson = objectMapper.writeValueAsBytes(new CreateCouponDTO(
+                "ABC-123",
+                coupon.getDescription(),
+                0.8,
+                coupon.getExpirationDate(),
+                true
+        ));
+    }
+
+    @Benchmark
+    public CouponDTO mapEntityToDTO() {
+        return CouponMapper.toCouponDTO(coupon);
+    }
+
+    @Benchmark
+    public byte[] serializeCouponDTO() throws IOException {
+        return objectMapper.writeValueAsBytes(couponDTO);
+    }
+
+    @Benchmark
+    public CouponDTO deserializeCouponDTO() throws IOException {
+        return objectMapper.readValue(couponJson, CouponDTO.class);
+    }
+
+    @Benchmark
+    public CreateCouponDTO deserializeCreateCouponDTO() throws IOException {
+        return objectMapper.readValue(createCouponJson, CreateCouponDTO.class);
+    }
+}
@@ -0,0 +1,104 @@
+package com.coupon.api.benchmarks;
+
+import com.coupon.api.benchmarks.support.BenchmarkContexts;
+import com.coupon.api.benchmarks.support.CouponSeeder;
+import com.coupon.api.configs.CacheConfig;
+import com.coupon.api.dtos.coupons.request.CreateCouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponRedeemDTO;
+import com.coupon.api.services.CouponService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CouponServiceBenchmark {
+
+    private static final int SEEDED_COUPONS = 300_000;
+
+    private ConfigurableApplicationContext context;
+    private CouponService couponService;
+    private CacheManager cacheManager;
+    private JdbcTemplate jdbcTemplate;
+    private LocalDateTime expirationDate;
+
+    private final AtomicLong nextCode = new AtomicLong(SEEDED_COUPONS * 10L);
+    private final AtomicInteger nextRedeemable = new AtomicInteger();
+    private List<UUID> ids;
+    private UUID hotId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start("coupon-service");
+        couponService = context.getBean(CouponService.class);
+        cacheManager = context.getBean(CacheManager.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        expirationDate = LocalDateTime.now().plusYears(1);
+    }
+
+    @Setup(Level.Iteration)
+    public void seed() {
+        jdbcTemplate.update("DELETE FROM coupon");
+        cacheManager.getCache(CacheConfig.COUPONS_CACHE).clear();
+
+        ids = CouponSeeder.seed(context, SEEDED_COUPONS);
+        hotId = ids.get(0);
+        nextRedeemable.set(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CouponDTO create() {
+        return couponService.create(new CreateCouponDTO(
+                CouponSeeder.code(nextCode.getAndIncrement()),
+                "Benchmark coupon",
+                0.8,
+                expirationDate,
+                true
+        ));
+    }
+
+    @Benchmark
+    public CouponRedeemDTO use() {
+        return couponService.use(ids.get(nextRedeemable.getAndIncrement() % SEEDED_COUPONS));
+    }
+
+    @Benchmark
+    public CouponDTO findByIdHot() {
+        return couponService.findById(hotId);
+    }
+
+    @Benchmark
+    public CouponDTO findByIdCold() {
+        return couponService.findById(ids.get(ThreadLocalRandom.current().nextInt(SEEDED_COUPONS)));
+    }
+}
@@ -0,0 +1,97 @@
+package com.coupon.api.benchmarks;
+
+import com.coupon.api.benchmarks.support.BenchmarkContexts;
+import com.coupon.api.benchmarks.support.CouponSeeder;
+import com.coupon.api.exceptions.BadRequestException;
+import com.coupon.api.exceptions.TooManyRequestsException;
+import com.coupon.api.services.CouponService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Threads(32)
+@Fork(1)
+public class CouponWriteBehindRedeemBenchmark {
+
+    // 0 redeems each coupon in its own transaction, as when write-behind is disabled.
+    @Param({"0", "10", "100"})
+    private int batchSize;
+
+    @Param({"500000"})
+    private int rows;
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private CouponService couponService;
+    private List<UUID> ids;
+
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder redeemed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("coupon-write-behind");
+        context = BenchmarkContexts.start("write-behind-" + batchSize,
+                "spring.datasource.url=jdbc:h2:file:" + directory.resolve("coupons"),
+                "coupon.redemptions.write-behind.enabled=" + (batchSize > 0),
+                "coupon.redemptions.write-behind.batch-size=" + Math.max(batchSize, 1));
+        couponService = context.getBean(CouponService.class);
+        ids = CouponSeeder.seed(context, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(directory);
+
+        System.out.printf("%nbatch size %d: %d redeemed, %d rejected, %d throttled%n",
+                batchSize, redeemed.sum(), rejected.sum(), throttled.sum());
+    }
+
+    @Benchmark
+    public boolean redeem() {
+        try {
+            couponService.use(ids.get(next.getAndIncrement() % rows));
+            redeemed.increment();
+
+            return true;
+        } catch (BadRequestException exception) {
+            rejected.increment();
+
+            return false;
+        } catch (TooManyRequestsException exception) {
+            throttled.increment();
+
+            return false;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.coupon.api.benchmarks.load;
+
+import com.coupon.api.benchmarks.support.BenchmarkContexts;
+import com.coupon.api.benchmarks.support.CouponSeeder;
+import com.sun.management.UnixOperatingSystemMXBean;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+public final class CouponLoadTest {
+
+    private static final String BASE_PATH = "/api/v1/coupons/code/";
+
+    private CouponLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = options(args);
+        List<String> modes = List.of(options.getOrDefault("modes", "platform,virtual").split(","));
+        int[] clients = Arrays.stream(options.getOrDefault("clients", "1000,10000").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        int rows = Integer.parseInt(options.getOrDefault("rows", "100000"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "5")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "20")));
+        int maxClients = Arrays.stream(clients).max().orElse(0);
+        List<Result> results = new ArrayList<>();
+
+        requireFileDescriptors(maxClients);
+
+        for (String mode : modes) {
+            String database = "load-" + mode;
+            boolean reactive = "reactive".equals(mode);
+            ConfigurableApplicationContext context = reactive
+                    ? BenchmarkContexts.startReactiveServer(database, "coupon.reactive.accept-count=" + maxClients)
+                    : BenchmarkContexts.startServer(database,
+                    "spring.threads.virtual.enabled=" + "virtual".equals(mode),
+                    "server.tomcat.max-connections=" + (maxClients + 100),
+                    "server.tomcat.accept-count=" + maxClients);
+
+            try {
+                if (reactive) {
+                    CouponSeeder.seed(BenchmarkContexts.reactiveJdbcTemplate(database), rows);
+                } else {
+                    CouponSeeder.seed(context, rows);
+                }
+
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                Footprint idle = run(port, 1, rows, warmup, true).footprint();
+
+                for (int concurrency : clients) {
+                    // The footprint is sampled while the warmup keeps every connection busy, so the measured run stays free of forced GCs.
+                    Footprint loaded = run(port, concurrency, rows, warmup, true).footprint();
+
+                    results.add(new Result(mode, concurrency, run(port, concurrency, rows, duration, false), idle, loaded));
+                }
+            } finally {
+                context.close();
+            }
+        }
+
+        System.out.printf("%n%-10s %8s %12s %10s %10s %10s %8s %10s %10s %8s%n",
+                "mode", "clients", "req/s", "p50 ms", "p99 ms", "max ms", "errors", "heap MB", "KB/client", "threads");
+
+        for (Result result : results) {
+            System.out.printf("%-10s %8d %12.1f %10.2f %10.2f %10.2f %8d %10.1f %10.1f %8d%n",
+                    result.mode(),
+                    result.clients(),
+                    result.run().throughput(),
+                    result.run().percentile(0.50),
+                    result.run().percentile(0.99),
+                    result.run().percentile(1.0),
+                    result.run().errors(),
+                    result.loaded().heapBytes() / (1024.0 * 1024.0),
+                    (result.loaded().heapBytes() - result.idle().heapBytes()) / 1024.0 / result.clients(),
+                    result.loaded().threads());
+        }
+    }
+
+    private static Run run(int port, int concurrency, int rows, Duration duration, boolean sampleFootprint) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(executor)
+                     .connectTimeout(Duration.ofSeconds(30))
+                     .build()) {
+            long deadline = System.nanoTime() + duration.toNanos();
+            List<Future<Latencies>> futures = new ArrayList<>(concurrency);
+
+            for (int index = 0; index < concurrency; index++) {
+                futures.add(executor.submit(() -> drive(client, port, rows, deadline)));
+            }
+
+            Footprint footprint = null;
+
+            if (sampleFootprint) {
+                Thread.sleep(duration.multipliedBy(4).dividedBy(5));
+                footprint = Footprint.sample();
+            }
+
+            Latencies total = new Latencies();
+
+            for (Future<Latencies> future : futures) {
+                total.addAll(future.get());
+            }
+
+            return total.toRun(duration, footprint);
+        }
+    }
+
+    private static Latencies drive(HttpClient client, int port, int rows, long deadline) {
+        Latencies latencies = new Latencies();
+
+        while (System.nanoTime() < deadline) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + BASE_PATH
+                            + CouponSeeder.code(ThreadLocalRandom.current().nextInt(rows))))
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+            long start = System.nanoTime();
+
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+
+                if (response.statusCode() == 200) {
+                    latencies.add(System.nanoTime() - start);
+                } else {
+                    latencies.errors++;
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception exception) {
+                latencies.errors++;
+            }
+        }
+
+        return latencies;
+    }
+
+    // Client and server share this JVM, so every connection costs two file descriptors.
+    private static void requireFileDescriptors(int maxClients) {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof UnixOperatingSystemMXBean system
+                && system.getMaxFileDescriptorCount() < 2L * maxClients + 1000) {
+            throw new IllegalStateException("Com " + maxClients + " clientes o teste precisa de ao menos " + (2L * maxClients + 1000)
+                    + " arquivos abertos, mas o limite do processo é " + system.getMaxFileDescriptorCount() + " (ulimit -n)");
+        }
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new HashMap<>();
+
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+
+            if (option.length == 2) {
+                options.put(option[0], option[1]);
+            }
+        }
+
+        return options;
+    }
+
+    private static final class Latencies {
+
+        private long[] values = new long[256];
+        private int size;
+        private long errors;
+
+        void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+
+            values[size++] = nanos;
+        }
+
+        void addAll(Latencies other) {
+            for (int index = 0; index < other.size; index++) {
+                add(other.values[index]);
+            }
+
+            errors += other.errors;
+        }
+
+        Run toRun(Duration duration, Footprint footprint) {
+            long[] sorted = Arrays.copyOf(values, size);
+
+            Arrays.sort(sorted);
+
+            return new Run(sorted, errors, duration, footprint);
+        }
+    }
+
+    private record Run(long[] sortedNanos, long errors, Duration duration, Footprint footprint) {
+
+        double throughput() {
+            return sortedNanos.length / (duration.toNanos() / 1e9);
+        }
+
+        double percentile(double percentile) {
+            if (sortedNanos.length == 0) {
+                return Double.NaN;
+            }
+
+            int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+
+            return sortedNanos[Math.max(index, 0)] / 1e6;
+        }
+    }
+
+    // Heap is read after a full GC; the load generator shares the JVM, so compare modes rather than read absolute values.
+    private record Footprint(long heapBytes, int threads) {
+
+        static Footprint sample() {
+            System.gc();
+
+            return new Footprint(
+                    ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(),
+                    ManagementFactory.getThreadMXBean().getThreadCount()
+            );
+        }
+    }
+
+    private record Result(String mode, int clients, Run run, Footprint idle, Footprint loaded) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.coupon.api.benchmarks.support;
+
+import com.coupon.api.ApiApplication;
+import org.h2.Driver;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class BenchmarkContexts {
+
+    private BenchmarkContexts() {
+    }
+
+    public static ConfigurableApplicationContext start(String database, String... properties) {
+        return start(WebApplicationType.NONE, database, properties);
+    }
+
+    public static ConfigurableApplicationContext startServer(String database, String... properties) {
+        return start(WebApplicationType.SERVLET, database, properties);
+    }
+
+    // Only compiled with -Preactive, so it is looked up by name to keep the default benchmark build independent of it.
+    public static ConfigurableApplicationContext startReactiveServer(String database, String... properties) {
+        Class<?> application;
+
+        try {
+            application = Class.forName("com.coupon.api.reactive.ReactiveApiApplication");
+        } catch (ClassNotFoundException exception) {
+            throw new IllegalStateException("O modo reativo exige o perfil Maven 'reactive' (-Pbenchmark,reactive)", exception);
+        }
+
+        Map<String, String> arguments = new LinkedHashMap<>();
+
+        arguments.put("spring.r2dbc.url", "r2dbc:h2:mem:///" + database + ";DB_CLOSE_DELAY=-1");
+        arguments.put("server.port", "0");
+        arguments.put("logging.level.root", "WARN");
+
+        return run(new SpringApplicationBuilder(application).profiles("reactive").web(WebApplicationType.REACTIVE), arguments, properties);
+    }
+
+    // The in-memory database the reactive server opened, reachable over JDBC from the same JVM for seeding.
+    public static JdbcTemplate reactiveJdbcTemplate(String database) {
+        return new JdbcTemplate(new SimpleDriverDataSource(new Driver(), "jdbc:h2:mem:" + database, "sa", "password"));
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String database, String... properties) {
+        Map<String, String> arguments = new LinkedHashMap<>();
+
+        arguments.put("spring.datasource.url", "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1");
+        arguments.put("server.port", "0");
+        arguments.put("logging.level.root", "WARN");
+
+        return run(new SpringApplicationBuilder(ApiApplication.class).web(webApplicationType), arguments, properties);
+    }
+
+    private static ConfigurableApplicationContext run(SpringApplicationBuilder builder, Map<String, String> arguments, String... properties) {
+        for (String property : properties) {
+            String[] keyValue = property.split("=", 2);
+
+            arguments.put(keyValue[0], keyValue[1]);
+        }
+
+        // Passed as command line arguments so they win over the application.yaml found on the classpath.
+        return builder
+                .run(arguments.entrySet().stream()
+                        .map(argument -> "--" + argument.getKey() + "=" + argument.getValue())
+                        .toArray(String[]::new));
+    }
+}
@@ -0,0 +1,73 @@
+package com.coupon.api.benchmarks.support;
+
+import com.coupon.api.models.ids.UuidV7Generator;
+import com.coupon.api.services.lookups.CouponLookupFilter;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public final class CouponSeeder {
+
+    private static final String INSERT_COUPON = """
+            INSERT INTO coupon (id, code, description, discount_value, expiration_date, created_at, updated_at, status, published, redeemed, max_redemptions, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, 'ACTIVE', TRUE, FALSE, 1, 0)
+            """;
+    private static final int BATCH_SIZE = 10_000;
+    private static final int CODE_LENGTH = 6;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+
+    private CouponSeeder() {
+    }
+
+    // Seeded rows bypass JPA, so the lookup filter has to scan them before the service can find them.
+    public static List<UUID> seed(ConfigurableApplicationContext context, int rows) {
+        List<UUID> ids = seed(context.getBean(JdbcTemplate.class), rows);
+
+        context.getBean(CouponLookupFilter.class).rebuild();
+
+        return ids;
+    }
+
+    public static List<UUID> seed(JdbcTemplate jdbcTemplate, int rows) {
+        List<UUID> ids = new ArrayList<>(rows);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp expiration = Timestamp.valueOf(LocalDateTime.now().plusYears(10));
+
+        for (int index = 0; index < rows; index++) {
+            UUID id = UuidV7Generator.generate();
+
+            ids.add(id);
+            Timestamp createdAt = Timestamp.valueOf(now.minusNanos(index * 1_000L));
+
+            batch.add(new Object[]{id, code(index), "Benchmark coupon " + index, 0.8, expiration, createdAt, createdAt});
+
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT_COUPON, batch);
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_COUPON, batch);
+        }
+
+        return ids;
+    }
+
+    public static String code(long index) {
+        char[] code = new char[CODE_LENGTH];
+
+        for (int position = CODE_LENGTH - 1; position >= 0; position--) {
+            code[position] = ALPHABET[(int) (index % ALPHABET.length)];
+            index /= ALPHABET.length;
+        }
+
+        return new String(code);
+    }
+}
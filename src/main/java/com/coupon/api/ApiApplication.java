@@ -3,7 +3,8 @@ package com.coupon.api;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
-@SpringBootApplication
+// Only the reactive profile puts R2DBC on the classpath; its connection factory belongs to ReactiveApiApplication.
+@SpringBootApplication(excludeName = "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration")
 public class ApiApplication {
 
 	public static void main(String[] args) {
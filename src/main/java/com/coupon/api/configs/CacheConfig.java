@@ -0,0 +1,12 @@
+package com.coupon.api.configs;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String COUPONS_CACHE = "coupons";
+    public static final String COUPON_RESPONSES_CACHE = "coupon-responses";
+}
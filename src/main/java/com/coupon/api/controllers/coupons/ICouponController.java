@@ -1,15 +1,35 @@
 package com.coupon.api.controllers.coupons;
 
+import com.coupon.api.dtos.coupons.request.CouponSearchDTO;
 import com.coupon.api.dtos.coupons.request.CreateCouponDTO;
+import com.coupon.api.dtos.coupons.request.GenerateCouponsDTO;
+import com.coupon.api.dtos.coupons.response.CouponBatchReportDTO;
 import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponImportReportDTO;
+import com.coupon.api.dtos.coupons.response.CouponPageDTO;
 import com.coupon.api.dtos.coupons.response.CouponRedeemDTO;
+import com.coupon.api.dtos.coupons.response.CouponRedemptionTicketDTO;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.util.List;
 import java.util.UUID;
 
 public interface ICouponController {
     ResponseEntity<CouponDTO> create(CreateCouponDTO createCouponDTO);
-    ResponseEntity<CouponRedeemDTO> use(UUID id);
-    ResponseEntity<CouponDTO> findById(UUID id);
+    ResponseEntity<CouponBatchReportDTO> createBatch(HttpServletRequest request) throws IOException;
+    ResponseEntity<CouponImportReportDTO> importCoupons(String format, HttpServletRequest request) throws IOException;
+    void importErrors(UUID id, HttpServletResponse response) throws IOException;
+    ResponseEntity<List<CouponDTO>> generate(int count, GenerateCouponsDTO generateCouponsDTO);
+    ResponseEntity<CouponRedeemDTO> use(UUID id, String idempotencyKey);
+    ResponseEntity<CouponRedemptionTicketDTO> useAsync(UUID id, String idempotencyKey);
+    ResponseEntity<CouponRedeemDTO> useByCode(String code, String idempotencyKey);
+    ResponseEntity<CouponPageDTO> search(CouponSearchDTO search, String cursor, int size);
+    void export(String format, HttpServletResponse response) throws IOException;
+    ResponseEntity<byte[]> findById(UUID id, WebRequest request, HttpServletResponse response);
+    ResponseEntity<CouponDTO> findByCode(String code);
     ResponseEntity<Void> delete(UUID id);
 }
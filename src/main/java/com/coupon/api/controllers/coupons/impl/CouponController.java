@@ -1,22 +1,46 @@
 package com.coupon.api.controllers.coupons.impl;
 
 import com.coupon.api.controllers.coupons.ICouponController;
+import com.coupon.api.dtos.coupons.request.CouponSearchDTO;
 import com.coupon.api.dtos.coupons.request.CreateCouponDTO;
+import com.coupon.api.dtos.coupons.request.GenerateCouponsDTO;
+import com.coupon.api.dtos.coupons.response.CouponBatchReportDTO;
 import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponImportReportDTO;
+import com.coupon.api.dtos.coupons.response.CouponPageDTO;
 import com.coupon.api.dtos.coupons.response.CouponRedeemDTO;
+import com.coupon.api.dtos.coupons.response.CouponRedemptionTicketDTO;
+import com.coupon.api.dtos.coupons.response.CouponVersionDTO;
+import com.coupon.api.models.enums.CouponFileFormat;
+import com.coupon.api.services.CouponBatchService;
+import com.coupon.api.services.CouponExportService;
 import com.coupon.api.services.CouponService;
+import com.coupon.api.services.redemptions.CouponRedemptionTickets;
+import com.coupon.api.services.responses.CouponResponseCache;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -24,10 +48,22 @@ import java.util.UUID;
 public class CouponController implements ICouponController {
 
     private final CouponService couponService;
+    private final CouponBatchService couponBatchService;
+    private final CouponExportService couponExportService;
+    private final CouponResponseCache couponResponseCache;
+    private final CouponRedemptionTickets couponRedemptionTickets;
 
     @Autowired
-    public CouponController(CouponService couponService) {
+    public CouponController(CouponService couponService,
+                            CouponBatchService couponBatchService,
+                            CouponExportService couponExportService,
+                            CouponResponseCache couponResponseCache,
+                            CouponRedemptionTickets couponRedemptionTickets) {
         this.couponService = couponService;
+        this.couponBatchService = couponBatchService;
+        this.couponExportService = couponExportService;
+        this.couponResponseCache = couponResponseCache;
+        this.couponRedemptionTickets = couponRedemptionTickets;
     }
 
     @PostMapping
@@ -37,16 +73,110 @@ public class CouponController implements ICouponController {
         return ResponseEntity.status(HttpStatus.CREATED).body(couponCreated);
     }
 
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CouponBatchReportDTO> createBatch(HttpServletRequest request) throws IOException {
+        CouponBatchReportDTO report = couponBatchService.create(request.getInputStream());
+
+        return ResponseEntity.status(HttpStatus.OK).body(report);
+    }
+
+    @PostMapping("/import")
+    public ResponseEntity<CouponImportReportDTO> importCoupons(@RequestParam(defaultValue = "ndjson") String format,
+                                                               HttpServletRequest request) throws IOException {
+        CouponImportReportDTO report = couponBatchService.importCoupons(CouponFileFormat.from(format), request.getInputStream());
+
+        return ResponseEntity.status(HttpStatus.OK).body(report);
+    }
+
+    @GetMapping("/import/{id}/errors")
+    public void importErrors(@PathVariable UUID id, HttpServletResponse response) throws IOException {
+        Path errors = couponBatchService.findImportErrors(id);
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(CouponFileFormat.NDJSON.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setContentLengthLong(Files.size(errors));
+
+        Files.copy(errors, response.getOutputStream());
+    }
+
+    @PostMapping("/generate")
+    public ResponseEntity<List<CouponDTO>> generate(@RequestParam int count, @Valid @RequestBody GenerateCouponsDTO generateCouponsDTO) {
+        List<CouponDTO> couponsGenerated = couponBatchService.generate(count, generateCouponsDTO);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(couponsGenerated);
+    }
+
     @PostMapping("/{id}/redeem")
-    public ResponseEntity<CouponRedeemDTO> use(@PathVariable UUID id) {
-        CouponRedeemDTO redeemCoupon = couponService.use(id);
+    public ResponseEntity<CouponRedeemDTO> use(@PathVariable UUID id,
+                                               @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        CouponRedeemDTO redeemCoupon = couponService.use(id, idempotencyKey);
 
         return ResponseEntity.status(HttpStatus.OK).body(redeemCoupon);
     }
 
+    @PostMapping("/{id}/redeem/async")
+    public ResponseEntity<CouponRedemptionTicketDTO> useAsync(@PathVariable UUID id,
+                                                              @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        CouponRedemptionTicketDTO ticket = couponRedemptionTickets.submit(id, idempotencyKey);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ticket);
+    }
+
+    @PostMapping("/code/{code}/redeem")
+    public ResponseEntity<CouponRedeemDTO> useByCode(@PathVariable String code,
+                                                     @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        CouponRedeemDTO redeemCoupon = couponService.useByCode(code, idempotencyKey);
+
+        return ResponseEntity.status(HttpStatus.OK).body(redeemCoupon);
+    }
+
+    @GetMapping
+    public ResponseEntity<CouponPageDTO> search(CouponSearchDTO search,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "50") int size) {
+        CouponPageDTO page = couponService.search(search, cursor, size);
+
+        return ResponseEntity.status(HttpStatus.OK).body(page);
+    }
+
+    @GetMapping("/export")
+    public void export(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+        CouponFileFormat exportFormat = CouponFileFormat.from(format);
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("coupons." + exportFormat.getExtension())
+                .build()
+                .toString());
+
+        couponExportService.export(exportFormat, response.getOutputStream());
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<CouponDTO> findById(@PathVariable UUID id) {
-        CouponDTO coupon = couponService.findById(id);
+    public ResponseEntity<byte[]> findById(@PathVariable UUID id, WebRequest request, HttpServletResponse response) {
+        CouponVersionDTO version = couponResponseCache.findVersionById(id);
+
+        if (request.checkNotModified(version.etag(), version.lastModifiedInstant().toEpochMilli())) {
+            return null;
+        }
+
+        CouponResponseCache.CouponResponse coupon = couponResponseCache.findById(id);
+
+        // The version checked above may come from a lighter read than the body, so the validators sent are the body's own.
+        response.setHeader(HttpHeaders.ETAG, coupon.version().etag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, coupon.version().lastModifiedInstant().toEpochMilli());
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(coupon.body());
+    }
+
+    @GetMapping("/code/{code}")
+    public ResponseEntity<CouponDTO> findByCode(@PathVariable String code) {
+        CouponDTO coupon = couponService.findByCode(code);
 
         return ResponseEntity.status(HttpStatus.OK).body(coupon);
     }
@@ -0,0 +1,10 @@
+package com.coupon.api.controllers.redemptions;
+
+import com.coupon.api.dtos.coupons.response.CouponRedemptionTicketDTO;
+import org.springframework.http.ResponseEntity;
+
+import java.util.UUID;
+
+public interface IRedemptionController {
+    ResponseEntity<CouponRedemptionTicketDTO> findByTicket(UUID ticket);
+}
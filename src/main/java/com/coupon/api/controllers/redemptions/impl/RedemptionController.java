@@ -0,0 +1,33 @@
+package com.coupon.api.controllers.redemptions.impl;
+
+import com.coupon.api.controllers.redemptions.IRedemptionController;
+import com.coupon.api.dtos.coupons.response.CouponRedemptionTicketDTO;
+import com.coupon.api.services.redemptions.CouponRedemptionTickets;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("${base-path}/redemptions")
+public class RedemptionController implements IRedemptionController {
+
+    private final CouponRedemptionTickets couponRedemptionTickets;
+
+    @Autowired
+    public RedemptionController(CouponRedemptionTickets couponRedemptionTickets) {
+        this.couponRedemptionTickets = couponRedemptionTickets;
+    }
+
+    @GetMapping("/{ticket}")
+    public ResponseEntity<CouponRedemptionTicketDTO> findByTicket(@PathVariable UUID ticket) {
+        CouponRedemptionTicketDTO redemption = couponRedemptionTickets.findByTicket(ticket);
+
+        return ResponseEntity.status(HttpStatus.OK).body(redemption);
+    }
+}
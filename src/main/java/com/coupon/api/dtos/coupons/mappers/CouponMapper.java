@@ -0,0 +1,48 @@
+package com.coupon.api.dtos.coupons.mappers;
+
+import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.coupon.api.models.Coupon;
+import com.coupon.api.models.CouponArchive;
+import com.coupon.api.models.enums.CouponStatus;
+
+public final class CouponMapper {
+
+    private CouponMapper() {
+    }
+
+    public static CouponDTO toCouponDTO(Coupon coupon) {
+        return toCouponDTO(coupon, coupon.isRedeemed() ? coupon.getMaxRedemptions() : 0);
+    }
+
+    public static CouponDTO toCouponDTO(Coupon coupon, int redemptions) {
+        return new CouponDTO(
+                coupon.getId(),
+                coupon.getCode(),
+                coupon.getDescription(),
+                coupon.getDiscountValue().doubleValue(),
+                coupon.getExpirationDate(),
+                coupon.getStatus(),
+                coupon.isPublished(),
+                coupon.isRedeemed(),
+                coupon.getMaxRedemptions(),
+                redemptions,
+                coupon.getCreatedAt()
+        );
+    }
+
+    public static CouponDTO toCouponDTO(CouponArchive archive) {
+        return new CouponDTO(
+                archive.getId(),
+                archive.getCode(),
+                archive.getDescription(),
+                archive.getDiscountValue().doubleValue(),
+                archive.getExpirationDate(),
+                CouponStatus.DELETED,
+                archive.isPublished(),
+                archive.isRedeemed(),
+                archive.getMaxRedemptions(),
+                archive.getRedemptions(),
+                archive.getCreatedAt()
+        );
+    }
+}
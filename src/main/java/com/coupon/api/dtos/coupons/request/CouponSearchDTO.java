@@ -0,0 +1,17 @@
+package com.coupon.api.dtos.coupons.request;
+
+import com.coupon.api.models.enums.CouponStatus;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+public record CouponSearchDTO(
+        CouponStatus status,
+        Boolean published,
+        Boolean redeemed,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime expiresFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime expiresTo
+) {
+}
@@ -2,6 +2,7 @@ package com.coupon.api.dtos.coupons.request;
 
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -17,6 +18,12 @@ public record CreateCouponDTO(
         Double discountValue,
         @Future(message = "A data de expiração deve ser uma data futura")
         LocalDateTime expirationDate,
-        boolean published
+        boolean published,
+        @Min(value = 1, message = "O limite de utilizações do cupom deve ser no mínimo 1")
+        Integer maxRedemptions
 ) {
+
+    public CreateCouponDTO(String code, String description, Double discountValue, LocalDateTime expirationDate, boolean published) {
+        this(code, description, discountValue, expirationDate, published, null);
+    }
 }
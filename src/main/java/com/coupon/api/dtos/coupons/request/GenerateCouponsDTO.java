@@ -0,0 +1,27 @@
+package com.coupon.api.dtos.coupons.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+public record GenerateCouponsDTO(
+        @NotBlank(message = "Descrição do cupom é um campo obrigatório")
+        String description,
+        @DecimalMin(value = "0.5", message = "O desconto deve ser no mínimo 0.5")
+        @NotNull(message = "Valor do cupom é um campo obrigatório")
+        Double discountValue,
+        @Future(message = "A data de expiração deve ser uma data futura")
+        LocalDateTime expirationDate,
+        boolean published,
+        @Min(value = 1, message = "O limite de utilizações do cupom deve ser no mínimo 1")
+        Integer maxRedemptions
+) {
+
+    public GenerateCouponsDTO(String description, Double discountValue, LocalDateTime expirationDate, boolean published) {
+        this(description, discountValue, expirationDate, published, null);
+    }
+}
@@ -0,0 +1,13 @@
+package com.coupon.api.dtos.coupons.response;
+
+import java.util.List;
+import java.util.UUID;
+
+public record CouponBatchItemDTO(
+        int index,
+        UUID id,
+        String code,
+        boolean created,
+        List<String> errors
+) {
+}
@@ -0,0 +1,11 @@
+package com.coupon.api.dtos.coupons.response;
+
+import java.util.List;
+
+public record CouponBatchReportDTO(
+        int total,
+        int created,
+        int rejected,
+        List<CouponBatchItemDTO> items
+) {
+}
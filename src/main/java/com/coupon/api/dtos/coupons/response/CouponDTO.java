@@ -13,6 +13,13 @@ public record CouponDTO(
         LocalDateTime expirationDate,
         CouponStatus status,
         boolean published,
-        boolean redeemed
+        boolean redeemed,
+        int maxRedemptions,
+        int redemptions,
+        LocalDateTime createdAt
 ) {
+
+    public CouponDTO(UUID id, String code, String description, Double discountValue, LocalDateTime expirationDate, CouponStatus status, boolean published, boolean redeemed) {
+        this(id, code, description, discountValue, expirationDate, status, published, redeemed, 1, redeemed ? 1 : 0, null);
+    }
 }
@@ -0,0 +1,13 @@
+package com.coupon.api.dtos.coupons.response;
+
+import java.util.UUID;
+
+public record CouponImportReportDTO(
+        UUID id,
+        long total,
+        long imported,
+        long rejected,
+        long elapsedMillis,
+        double rowsPerSecond
+) {
+}
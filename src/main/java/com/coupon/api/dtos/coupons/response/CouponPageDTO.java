@@ -0,0 +1,9 @@
+package com.coupon.api.dtos.coupons.response;
+
+import java.util.List;
+
+public record CouponPageDTO(
+        List<CouponDTO> items,
+        String nextCursor
+) {
+}
@@ -0,0 +1,30 @@
+package com.coupon.api.dtos.coupons.response;
+
+import com.coupon.api.models.enums.RedemptionTicketStatus;
+
+import java.util.UUID;
+
+public record CouponRedemptionTicketDTO(
+        UUID ticket,
+        UUID couponId,
+        RedemptionTicketStatus status,
+        String reason,
+        String message
+) {
+
+    public static CouponRedemptionTicketDTO pending(UUID ticket, UUID couponId) {
+        return new CouponRedemptionTicketDTO(ticket, couponId, RedemptionTicketStatus.PENDING, null, null);
+    }
+
+    public CouponRedemptionTicketDTO redeemed() {
+        return new CouponRedemptionTicketDTO(ticket, couponId, RedemptionTicketStatus.REDEEMED, null, null);
+    }
+
+    public CouponRedemptionTicketDTO rejected(String reason, String message) {
+        return new CouponRedemptionTicketDTO(ticket, couponId, RedemptionTicketStatus.REJECTED, reason, message);
+    }
+
+    public CouponRedemptionTicketDTO failed(String message) {
+        return new CouponRedemptionTicketDTO(ticket, couponId, RedemptionTicketStatus.FAILED, null, message);
+    }
+}
@@ -0,0 +1,21 @@
+package com.coupon.api.dtos.coupons.response;
+
+import com.coupon.api.models.enums.CouponStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record CouponSnapshotDTO(
+        CouponDTO coupon,
+        CouponVersionDTO version
+) {
+
+    public CouponSnapshotDTO(UUID id, String code, String description, Double discountValue, LocalDateTime expirationDate,
+                             CouponStatus status, boolean published, boolean redeemed, int maxRedemptions, int redemptions,
+                             LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime lastRedeemedAt) {
+        this(
+                new CouponDTO(id, code, description, discountValue, expirationDate, status, published, redeemed, maxRedemptions, redemptions, createdAt),
+                new CouponVersionDTO(id, updatedAt, lastRedeemedAt)
+        );
+    }
+}
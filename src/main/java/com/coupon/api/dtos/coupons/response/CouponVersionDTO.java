@@ -0,0 +1,25 @@
+package com.coupon.api.dtos.coupons.response;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+public record CouponVersionDTO(
+        UUID id,
+        LocalDateTime lastModified
+) {
+
+    public CouponVersionDTO(UUID id, LocalDateTime updatedAt, LocalDateTime lastRedeemedAt) {
+        this(id, lastRedeemedAt != null && lastRedeemedAt.isAfter(updatedAt) ? lastRedeemedAt : updatedAt);
+    }
+
+    public Instant lastModifiedInstant() {
+        return lastModified.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    public String etag() {
+        return "\"" + id + "-" + Long.toString(ChronoUnit.MICROS.between(Instant.EPOCH, lastModifiedInstant()), 36) + "\"";
+    }
+}
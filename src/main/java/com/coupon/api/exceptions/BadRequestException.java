@@ -1,12 +1,24 @@
 package com.coupon.api.exceptions;
 
+import com.coupon.api.models.enums.RedeemRejectionReason;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.BAD_REQUEST)
 public class BadRequestException extends RuntimeException {
 
+    private final RedeemRejectionReason reason;
+
     public BadRequestException(String message) {
+        this(message, null);
+    }
+
+    public BadRequestException(String message, RedeemRejectionReason reason) {
         super(message);
+        this.reason = reason;
+    }
+
+    public RedeemRejectionReason getReason() {
+        return reason;
     }
 }
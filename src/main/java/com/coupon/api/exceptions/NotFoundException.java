@@ -1,12 +1,29 @@
 package com.coupon.api.exceptions;
 
+import com.coupon.api.models.enums.RedeemRejectionReason;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.NOT_FOUND)
 public class NotFoundException extends RuntimeException {
 
+    private final RedeemRejectionReason reason;
+
     public NotFoundException(String message) {
+        this(message, null);
+    }
+
+    public NotFoundException(String message, RedeemRejectionReason reason) {
         super(message);
+        this.reason = reason;
+    }
+
+    protected NotFoundException(String message, RedeemRejectionReason reason, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+        this.reason = reason;
+    }
+
+    public RedeemRejectionReason getReason() {
+        return reason;
     }
 }
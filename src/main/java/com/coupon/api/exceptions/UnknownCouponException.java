@@ -0,0 +1,15 @@
+package com.coupon.api.exceptions;
+
+import com.coupon.api.models.enums.RedeemRejectionReason;
+
+// Thrown for lookups the Bloom filter already ruled out, which are mostly guessed ids and codes, so no stack trace is filled in.
+public class UnknownCouponException extends NotFoundException {
+
+    public UnknownCouponException(String message) {
+        super(message, null, false);
+    }
+
+    public UnknownCouponException(RedeemRejectionReason reason) {
+        super(reason.getMessage(), reason, false);
+    }
+}
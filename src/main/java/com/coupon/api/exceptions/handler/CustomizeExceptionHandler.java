@@ -2,7 +2,9 @@ package com.coupon.api.exceptions.handler;
 
 import com.coupon.api.dtos.exceptions.response.ResponseEntityException;
 import com.coupon.api.exceptions.BadRequestException;
+import com.coupon.api.exceptions.ConflictException;
 import com.coupon.api.exceptions.NotFoundException;
+import com.coupon.api.exceptions.TooManyRequestsException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -41,6 +43,20 @@ public class CustomizeExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(responseEntityException);
     }
 
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ResponseEntityException> handlerAllExceptions(ConflictException exception, WebRequest webRequest) {
+        ResponseEntityException responseEntityException = new ResponseEntityException(Instant.now(), exception.getMessage(), webRequest.getDescription(false));
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(responseEntityException);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ResponseEntityException> handlerAllExceptions(TooManyRequestsException exception, WebRequest webRequest) {
+        ResponseEntityException responseEntityException = new ResponseEntityException(Instant.now(), exception.getMessage(), webRequest.getDescription(false));
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(responseEntityException);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Object> handleValidationException(MethodArgumentNotValidException ex) {
         Map<String, Object> response = new HashMap<>();
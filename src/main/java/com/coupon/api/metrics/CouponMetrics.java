@@ -0,0 +1,170 @@
+package com.coupon.api.metrics;
+
+import com.coupon.api.models.enums.RedeemRejectionReason;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+public class CouponMetrics {
+
+    public static final String CREATE = "create";
+    public static final String REDEEM = "redeem";
+    public static final String FIND = "find";
+    public static final String LIST = "list";
+    public static final String DELETE = "delete";
+    public static final String EXPORT = "export";
+    public static final String EXPIRE = "expire";
+    public static final String ARCHIVE = "archive";
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong expirationLagSeconds = new AtomicLong();
+
+    public CouponMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("coupon.expiration.lag", expirationLagSeconds, AtomicLong::get)
+                .description("Age of the oldest expired coupon still marked as active after the last sweep")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public <T> T record(String operation, Supplier<T> action) {
+        Timer.Sample sample = start();
+        RuntimeException exception = null;
+
+        try {
+            return action.get();
+        } catch (RuntimeException runtimeException) {
+            exception = runtimeException;
+            throw runtimeException;
+        } finally {
+            stop(sample, operation, exception);
+        }
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void stop(Timer.Sample sample, String operation, Throwable exception) {
+        sample.stop(Timer.builder("coupon.operations")
+                .description("Latency of coupon operations")
+                .tag("operation", operation)
+                .tag("exception", exception == null ? "none" : exception.getClass().getSimpleName())
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    public void record(String operation, Runnable action) {
+        record(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public void redeemReplayed() {
+        Counter.builder("coupon.redeem.replays")
+                .description("Redeems answered from the ledger for a repeated idempotency key")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void redeemRejected(RedeemRejectionReason reason) {
+        Counter.builder("coupon.redeem.rejections")
+                .description("Redeems rejected by reason")
+                .tag("reason", reason.getTag())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void redeemBatch(int size) {
+        DistributionSummary.builder("coupon.redeem.batch.size")
+                .description("Redeems applied together in one write-behind batch")
+                .register(meterRegistry)
+                .record(size);
+    }
+
+    public void redeemThrottled() {
+        Counter.builder("coupon.redeem.throttled")
+                .description("Redeems refused because the write-behind queue was full")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void redeemHot(String outcome) {
+        Counter.builder("coupon.redeem.hot")
+                .description("Redeems of hot coupons answered from tokens reserved in memory, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void hotTokens(String action, int tokens) {
+        Counter.builder("coupon.redeem.hot.tokens")
+                .description("Redemption tokens of hot coupons reserved from or released back to the shards")
+                .tag("action", action)
+                .register(meterRegistry)
+                .increment(tokens);
+    }
+
+    public void lookupFilter(String key, Supplier<Number> falsePositiveRate) {
+        Gauge.builder("coupon.lookup.filter.false.positive.rate", falsePositiveRate)
+                .description("Expected share of unknown coupon lookups the Bloom filter lets through to the database")
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+
+    public void lookupRejected(String key) {
+        Counter.builder("coupon.lookup.filter.rejections")
+                .description("Coupon lookups answered as not found by the Bloom filter without querying the database")
+                .tag("key", key)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void lookupFalsePositive(String key) {
+        Counter.builder("coupon.lookup.filter.false.positives")
+                .description("Coupon lookups the Bloom filter let through that the database did not find")
+                .tag("key", key)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void expired(int rows) {
+        Counter.builder("coupon.expiration.swept")
+                .description("Expired coupons moved to inactive by the sweeper")
+                .register(meterRegistry)
+                .increment(rows);
+    }
+
+    public void archived(int rows) {
+        Counter.builder("coupon.archive.archived")
+                .description("Deleted coupons moved to the archive table and purged from the coupon table")
+                .register(meterRegistry)
+                .increment(rows);
+    }
+
+    public void expirationLag(Duration lag) {
+        expirationLagSeconds.set(lag.toSeconds());
+    }
+
+    public void imported(long imported, long rejected) {
+        importedRows("imported").increment(imported);
+        importedRows("rejected").increment(rejected);
+    }
+
+    private Counter importedRows(String result) {
+        return Counter.builder("coupon.import.rows")
+                .description("Rows read by coupon file imports by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -1,13 +1,17 @@
 package com.coupon.api.models;
 
 import com.coupon.api.models.enums.CouponStatus;
+import com.coupon.api.models.ids.UuidV7;
+import com.coupon.api.services.lookups.CouponLookupListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -18,16 +22,28 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(CouponLookupListener.class)
+@Table(indexes = {
+        @Index(name = Coupon.ACTIVE_CODE_INDEX, columnList = "active_code", unique = true),
+        @Index(name = "ix_coupon_created_at_id", columnList = "created_at, id"),
+        @Index(name = "ix_coupon_status_created_at_id", columnList = "status, created_at, id"),
+        @Index(name = "ix_coupon_status_expiration_date", columnList = "status, expiration_date"),
+        @Index(name = "ix_coupon_status_updated_at", columnList = "status, updated_at")
+})
 public class Coupon implements Serializable {
 
     @Serial
     private static final long serialVersionUID = 1L;
 
+    public static final String ACTIVE_CODE_INDEX = "ux_coupon_active_code";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
     @Column(nullable = false, length = 6)
     private String code;
+    @Column(insertable = false, updatable = false, columnDefinition = "varchar(6) generated always as (case when status <> 'DELETED' then code end)")
+    private String activeCode;
     @Column(nullable = false, length = 300)
     private String description;
     @Column(nullable = false, precision = 10, scale = 2)
@@ -46,6 +62,11 @@ public class Coupon implements Serializable {
     private boolean published = false;
     @Column(nullable = false)
     private boolean redeemed = false;
+    @Column(nullable = false)
+    private int maxRedemptions = 1;
+    @Version
+    @Column(nullable = false)
+    private Long version;
 
     public Coupon() {
     }
@@ -79,6 +100,10 @@ public class Coupon implements Serializable {
         this.code = code;
     }
 
+    public String getActiveCode() {
+        return activeCode;
+    }
+
     public String getDescription() {
         return description;
     }
@@ -142,4 +167,20 @@ public class Coupon implements Serializable {
     public void setRedeemed(boolean redeemed) {
         this.redeemed = redeemed;
     }
+
+    public int getMaxRedemptions() {
+        return maxRedemptions;
+    }
+
+    public void setMaxRedemptions(int maxRedemptions) {
+        this.maxRedemptions = maxRedemptions;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,112 @@
+package com.coupon.api.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Immutable
+public class CouponArchive implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    private UUID id;
+    @Column(nullable = false, length = 6)
+    private String code;
+    @Column(nullable = false, length = 300)
+    private String description;
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal discountValue;
+    private LocalDateTime expirationDate;
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+    @Column(nullable = false)
+    private boolean published;
+    @Column(nullable = false)
+    private boolean redeemed;
+    @Column(nullable = false)
+    private int maxRedemptions;
+    @Column(nullable = false)
+    private int redemptions;
+
+    public CouponArchive() {
+    }
+
+    public CouponArchive(UUID id, String code, String description, BigDecimal discountValue, LocalDateTime expirationDate,
+                         LocalDateTime createdAt, LocalDateTime deletedAt, LocalDateTime archivedAt, boolean published,
+                         boolean redeemed, int maxRedemptions, int redemptions) {
+        this.id = id;
+        this.code = code;
+        this.description = description;
+        this.discountValue = discountValue;
+        this.expirationDate = expirationDate;
+        this.createdAt = createdAt;
+        this.deletedAt = deletedAt;
+        this.archivedAt = archivedAt;
+        this.published = published;
+        this.redeemed = redeemed;
+        this.maxRedemptions = maxRedemptions;
+        this.redemptions = redemptions;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public BigDecimal getDiscountValue() {
+        return discountValue;
+    }
+
+    public LocalDateTime getExpirationDate() {
+        return expirationDate;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public boolean isPublished() {
+        return published;
+    }
+
+    public boolean isRedeemed() {
+        return redeemed;
+    }
+
+    public int getMaxRedemptions() {
+        return maxRedemptions;
+    }
+
+    public int getRedemptions() {
+        return redemptions;
+    }
+}
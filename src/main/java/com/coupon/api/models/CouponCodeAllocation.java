@@ -0,0 +1,45 @@
+package com.coupon.api.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+@Entity
+public class CouponCodeAllocation implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(length = 50)
+    private String name;
+    @Column(nullable = false)
+    private long nextValue;
+
+    public CouponCodeAllocation() {
+    }
+
+    public CouponCodeAllocation(String name, long nextValue) {
+        this.name = name;
+        this.nextValue = nextValue;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getNextValue() {
+        return nextValue;
+    }
+
+    public void setNextValue(long nextValue) {
+        this.nextValue = nextValue;
+    }
+}
@@ -0,0 +1,61 @@
+package com.coupon.api.models;
+
+import com.coupon.api.models.ids.UuidV7;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Immutable
+@Table(indexes = {
+        @Index(name = "ux_coupon_redemption_idempotency_key", columnList = "idempotency_key", unique = true),
+        @Index(name = "ix_coupon_redemption_coupon_id", columnList = "coupon_id")
+})
+public class CouponRedemption implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @UuidV7
+    private UUID id;
+    @Column(nullable = false, updatable = false)
+    private UUID couponId;
+    @Column(updatable = false, length = 100)
+    private String idempotencyKey;
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime redeemedAt;
+
+    public CouponRedemption() {
+    }
+
+    public CouponRedemption(UUID couponId, String idempotencyKey, LocalDateTime redeemedAt) {
+        this.couponId = couponId;
+        this.idempotencyKey = idempotencyKey;
+        this.redeemedAt = redeemedAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getCouponId() {
+        return couponId;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public LocalDateTime getRedeemedAt() {
+        return redeemedAt;
+    }
+}
@@ -0,0 +1,54 @@
+package com.coupon.api.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Entity
+public class CouponRedemptionShard implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @EmbeddedId
+    private CouponRedemptionShardId id;
+    @Column(nullable = false)
+    private int remaining;
+    private LocalDateTime updatedAt;
+
+    public CouponRedemptionShard() {
+    }
+
+    public CouponRedemptionShard(CouponRedemptionShardId id, int remaining) {
+        this.id = id;
+        this.remaining = remaining;
+    }
+
+    public CouponRedemptionShardId getId() {
+        return id;
+    }
+
+    public void setId(CouponRedemptionShardId id) {
+        this.id = id;
+    }
+
+    public int getRemaining() {
+        return remaining;
+    }
+
+    public void setRemaining(int remaining) {
+        this.remaining = remaining;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,55 @@
+package com.coupon.api.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+@Embeddable
+public class CouponRedemptionShardId implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Column(nullable = false)
+    private UUID couponId;
+    @Column(nullable = false)
+    private int shard;
+
+    public CouponRedemptionShardId() {
+    }
+
+    public CouponRedemptionShardId(UUID couponId, int shard) {
+        this.couponId = couponId;
+        this.shard = shard;
+    }
+
+    public UUID getCouponId() {
+        return couponId;
+    }
+
+    public int getShard() {
+        return shard;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+
+        if (!(other instanceof CouponRedemptionShardId that)) {
+            return false;
+        }
+
+        return shard == that.shard && Objects.equals(couponId, that.couponId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(couponId, shard);
+    }
+}
@@ -0,0 +1,34 @@
+package com.coupon.api.models.enums;
+
+import com.coupon.api.exceptions.BadRequestException;
+
+public enum CouponFileFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    CouponFileFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static CouponFileFormat from(String format) {
+        for (CouponFileFormat exportFormat : values()) {
+            if (exportFormat.extension.equalsIgnoreCase(format)) {
+                return exportFormat;
+            }
+        }
+
+        throw new BadRequestException("Formato de arquivo inválido, use ndjson ou csv");
+    }
+}
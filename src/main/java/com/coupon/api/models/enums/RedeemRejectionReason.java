@@ -0,0 +1,37 @@
+package com.coupon.api.models.enums;
+
+import com.coupon.api.exceptions.BadRequestException;
+import com.coupon.api.exceptions.NotFoundException;
+
+public enum RedeemRejectionReason {
+    NOT_FOUND("not_found", "Cupom não encontrado"),
+    INACTIVE("inactive", "Você não pode utilizar um cupom que não está ativo"),
+    UNPUBLISHED("unpublished", "Você não pode utilizar um cupom que não está publicado"),
+    EXPIRED("expired", "O cupom já está vencido/expirado"),
+    ALREADY_REDEEMED("already_redeemed", "O cupom já foi utilizado"),
+    LIMIT_REACHED("limit_reached", "O cupom atingiu o limite de utilizações");
+
+    private final String tag;
+    private final String message;
+
+    RedeemRejectionReason(String tag, String message) {
+        this.tag = tag;
+        this.message = message;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public RuntimeException toException() {
+        if (this == NOT_FOUND) {
+            return new NotFoundException(message, this);
+        }
+
+        return new BadRequestException(message, this);
+    }
+}
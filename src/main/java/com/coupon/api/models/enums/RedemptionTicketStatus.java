@@ -0,0 +1,8 @@
+package com.coupon.api.models.enums;
+
+public enum RedemptionTicketStatus {
+    PENDING,
+    REDEEMED,
+    REJECTED,
+    FAILED
+}
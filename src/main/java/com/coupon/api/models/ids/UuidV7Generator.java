@@ -0,0 +1,39 @@
+package com.coupon.api.models.ids;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final int SEQUENCE_BITS = 12;
+
+    // Unix millis in the high bits and a 12-bit sequence below them, so ids stay ordered within the same millisecond.
+    private static final AtomicLong lastTimestamp = new AtomicLong();
+
+    public static UUID generate() {
+        long timestamp = lastTimestamp.updateAndGet(last -> Math.max(System.currentTimeMillis() << SEQUENCE_BITS, last + 1));
+        long mostSignificantBits = (timestamp >>> SEQUENCE_BITS) << 16
+                | 0x7000L
+                | (timestamp & 0xFFFL);
+        long leastSignificantBits = ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return generate();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,35 @@
+package com.coupon.api.repositories;
+
+import com.coupon.api.dtos.coupons.response.CouponVersionDTO;
+import com.coupon.api.models.CouponArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface CouponArchiveRepository extends JpaRepository<CouponArchive, UUID> {
+
+    @Query("SELECT new com.coupon.api.dtos.coupons.response.CouponVersionDTO(archive.id, archive.deletedAt) FROM CouponArchive archive WHERE archive.id = :id")
+    Optional<CouponVersionDTO> findVersionById(UUID id);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO coupon_archive (id, code, description, discount_value, expiration_date, created_at, deleted_at, archived_at,
+                published, redeemed, max_redemptions, redemptions)
+            SELECT coupon.id, coupon.code, coupon.description, coupon.discount_value, coupon.expiration_date, coupon.created_at,
+                coupon.updated_at, :now, coupon.published, coupon.redeemed, coupon.max_redemptions,
+                CASE WHEN coupon.max_redemptions = 1 THEN (CASE WHEN coupon.redeemed THEN 1 ELSE 0 END)
+                ELSE coupon.max_redemptions - COALESCE((
+                    SELECT SUM(shard.remaining) FROM coupon_redemption_shard shard WHERE shard.coupon_id = coupon.id
+                ), coupon.max_redemptions) END
+            FROM coupon
+            WHERE coupon.id IN :ids AND coupon.status = 'DELETED'
+            """, nativeQuery = true)
+    int archive(Collection<UUID> ids, LocalDateTime now);
+}
@@ -0,0 +1,22 @@
+package com.coupon.api.repositories;
+
+import com.coupon.api.models.CouponCodeAllocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CouponCodeAllocationRepository extends JpaRepository<CouponCodeAllocation, String> {
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE CouponCodeAllocation allocation SET allocation.nextValue = allocation.nextValue + :size WHERE allocation.name = :name")
+    int reserve(String name, long size);
+
+    @Modifying
+    @Query(value = "INSERT INTO coupon_code_allocation (name, next_value) VALUES (:name, :nextValue)", nativeQuery = true)
+    int start(String name, long nextValue);
+
+    @Query("SELECT allocation.nextValue FROM CouponCodeAllocation allocation WHERE allocation.name = :name")
+    long findNextValue(String name);
+}
@@ -0,0 +1,16 @@
+package com.coupon.api.repositories;
+
+import com.coupon.api.models.CouponRedemption;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface CouponRedemptionRepository extends JpaRepository<CouponRedemption, UUID> {
+
+    Optional<CouponRedemption> findByIdempotencyKey(String idempotencyKey);
+
+    long countByCouponId(UUID couponId);
+}
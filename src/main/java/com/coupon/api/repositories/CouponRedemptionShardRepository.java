@@ -0,0 +1,81 @@
+package com.coupon.api.repositories;
+
+import com.coupon.api.models.CouponRedemptionShard;
+import com.coupon.api.models.CouponRedemptionShardId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface CouponRedemptionShardRepository extends JpaRepository<CouponRedemptionShard, CouponRedemptionShardId> {
+
+    @Query("SELECT shard.id.shard FROM CouponRedemptionShard shard WHERE shard.id.couponId = :couponId AND shard.remaining > 0")
+    List<Integer> findAvailableShards(UUID couponId);
+
+    @Query("SELECT shard FROM CouponRedemptionShard shard WHERE shard.id.couponId = :couponId AND shard.remaining > 0")
+    List<CouponRedemptionShard> findAvailable(UUID couponId);
+
+    @Query("SELECT SUM(shard.remaining) FROM CouponRedemptionShard shard WHERE shard.id.couponId = :couponId")
+    Long sumRemaining(UUID couponId);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE CouponRedemptionShard shard SET shard.remaining = shard.remaining - 1, shard.updatedAt = :now
+            WHERE shard.id.couponId = :couponId
+            AND shard.id.shard = :shard
+            AND shard.remaining > 0
+            AND EXISTS (
+                SELECT 1 FROM Coupon coupon
+                WHERE coupon.id = :couponId
+                AND coupon.status = 'ACTIVE'
+                AND coupon.published = true
+                AND (coupon.expirationDate IS NULL OR coupon.expirationDate > :now)
+                AND coupon.redeemed = false
+            )
+            """)
+    int take(UUID couponId, int shard, LocalDateTime now);
+
+    @Modifying
+    @Query("""
+            UPDATE CouponRedemptionShard shard SET shard.remaining = shard.remaining - :count, shard.updatedAt = :now
+            WHERE shard.id.couponId = :couponId
+            AND shard.id.shard = :shard
+            AND shard.remaining >= :count
+            AND EXISTS (
+                SELECT 1 FROM Coupon coupon
+                WHERE coupon.id = :couponId
+                AND coupon.status = 'ACTIVE'
+                AND coupon.published = true
+                AND (coupon.expirationDate IS NULL OR coupon.expirationDate > :now)
+                AND coupon.redeemed = false
+            )
+            """)
+    int takeBlock(UUID couponId, int shard, int count, LocalDateTime now);
+
+    @Modifying
+    @Query("""
+            UPDATE CouponRedemptionShard shard SET shard.remaining = shard.remaining + :count, shard.updatedAt = :now
+            WHERE shard.id.couponId = :couponId AND shard.id.shard = :shard
+            """)
+    int giveBack(UUID couponId, int shard, int count, LocalDateTime now);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO coupon_redemption_shard (coupon_id, shard, remaining)
+            SELECT :couponId, :shard, :remaining
+            WHERE NOT EXISTS (SELECT 1 FROM coupon_redemption_shard WHERE coupon_id = :couponId AND shard = :shard)
+            """, nativeQuery = true)
+    int open(UUID couponId, int shard, int remaining);
+
+    @Modifying
+    @Query("DELETE FROM CouponRedemptionShard shard WHERE shard.id.couponId IN :couponIds")
+    int deleteByCouponIds(Collection<UUID> couponIds);
+}
@@ -1,16 +1,154 @@
 package com.coupon.api.repositories;
 
+import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponSnapshotDTO;
+import com.coupon.api.dtos.coupons.response.CouponVersionDTO;
 import com.coupon.api.models.Coupon;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface CouponRepository extends JpaRepository<Coupon, UUID> {
+public interface CouponRepository extends JpaRepository<Coupon, UUID>, CouponRepositoryCustom {
+
+    String SELECT_COUPON_DTO = """
+            SELECT new com.coupon.api.dtos.coupons.response.CouponDTO(
+                coupon.id, coupon.code, coupon.description, CAST(coupon.discountValue AS Double),
+                coupon.expirationDate, coupon.status, coupon.published, coupon.redeemed, coupon.maxRedemptions,
+                CASE WHEN coupon.maxRedemptions = 1 THEN (CASE WHEN coupon.redeemed = true THEN 1 ELSE 0 END)
+                ELSE coupon.maxRedemptions - COALESCE((
+                    SELECT CAST(SUM(shard.remaining) AS Integer) FROM CouponRedemptionShard shard WHERE shard.id.couponId = coupon.id
+                ), coupon.maxRedemptions) END,
+                coupon.createdAt)
+            FROM Coupon coupon
+            """;
 
     @Query("SELECT coupon FROM Coupon coupon WHERE coupon.id = :id AND coupon.status != 'DELETED'")
     Optional<Coupon> findByIdAndIsNotDelete(UUID id);
+
+    @Query(SELECT_COUPON_DTO + "WHERE coupon.activeCode = :code")
+    Optional<CouponDTO> findByCode(String code);
+
+    @Query("SELECT coupon.id FROM Coupon coupon WHERE coupon.activeCode = :code")
+    Optional<UUID> findIdByCode(String code);
+
+    @Query("""
+            SELECT new com.coupon.api.dtos.coupons.response.CouponVersionDTO(coupon.id, coupon.updatedAt, (
+                SELECT MAX(shard.updatedAt) FROM CouponRedemptionShard shard WHERE shard.id.couponId = coupon.id
+            ))
+            FROM Coupon coupon WHERE coupon.id = :id
+            """)
+    Optional<CouponVersionDTO> findVersionById(UUID id);
+
+    // One statement, so the body and its version always describe the same state of the coupon and its shards.
+    @Query("""
+            SELECT new com.coupon.api.dtos.coupons.response.CouponSnapshotDTO(
+                coupon.id, coupon.code, coupon.description, CAST(coupon.discountValue AS Double),
+                coupon.expirationDate, coupon.status, coupon.published, coupon.redeemed, coupon.maxRedemptions,
+                CASE WHEN coupon.maxRedemptions = 1 THEN (CASE WHEN coupon.redeemed = true THEN 1 ELSE 0 END)
+                ELSE coupon.maxRedemptions - COALESCE((
+                    SELECT CAST(SUM(shard.remaining) AS Integer) FROM CouponRedemptionShard shard WHERE shard.id.couponId = coupon.id
+                ), coupon.maxRedemptions) END,
+                coupon.createdAt, coupon.updatedAt, (
+                    SELECT MAX(shard.updatedAt) FROM CouponRedemptionShard shard WHERE shard.id.couponId = coupon.id
+                ))
+            FROM Coupon coupon WHERE coupon.id = :id
+            """)
+    Optional<CouponSnapshotDTO> findSnapshotById(UUID id);
+
+    @Query("SELECT coupon.maxRedemptions FROM Coupon coupon WHERE coupon.id = :id")
+    Optional<Integer> findMaxRedemptionsById(UUID id);
+
+    @Query("SELECT coupon.activeCode FROM Coupon coupon WHERE coupon.activeCode IN :codes")
+    List<String> findActiveCodesIn(Collection<String> codes);
+
+    @Query("SELECT coupon.id FROM Coupon coupon WHERE coupon.status = 'ACTIVE' AND coupon.expirationDate <= :now ORDER BY coupon.expirationDate")
+    List<UUID> findExpiredIds(LocalDateTime now, Limit limit);
+
+    @Query("SELECT coupon.id FROM Coupon coupon WHERE coupon.status = 'DELETED' AND coupon.updatedAt < :deletedBefore")
+    List<UUID> findDeletedIdsBefore(LocalDateTime deletedBefore, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM Coupon coupon WHERE coupon.id IN :ids AND coupon.status = 'DELETED'")
+    int purge(Collection<UUID> ids);
+
+    @Query("SELECT MIN(coupon.expirationDate) FROM Coupon coupon WHERE coupon.status = 'ACTIVE' AND coupon.expirationDate <= :now")
+    Optional<LocalDateTime> findOldestExpiration(LocalDateTime now);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Coupon coupon SET coupon.status = 'INACTIVE', coupon.updatedAt = :now, coupon.version = coupon.version + 1
+            WHERE coupon.id IN :ids AND coupon.status = 'ACTIVE' AND coupon.expirationDate <= :now
+            """)
+    int expire(Collection<UUID> ids, LocalDateTime now);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Coupon coupon SET coupon.redeemed = true, coupon.updatedAt = :now, coupon.version = coupon.version + 1
+            WHERE coupon.id = :id
+            AND coupon.status = 'ACTIVE'
+            AND coupon.published = true
+            AND (coupon.expirationDate IS NULL OR coupon.expirationDate > :now)
+            AND coupon.redeemed = false
+            AND coupon.maxRedemptions = 1
+            """)
+    int redeem(UUID id, LocalDateTime now);
+
+    @Query("""
+            SELECT COUNT(coupon) > 0 FROM Coupon coupon
+            WHERE coupon.id = :id
+            AND coupon.status = 'ACTIVE'
+            AND coupon.published = true
+            AND (coupon.expirationDate IS NULL OR coupon.expirationDate > :now)
+            """)
+    boolean isRedeemable(UUID id, LocalDateTime now);
+
+    @Query(value = "SELECT max_redemptions FROM coupon WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Integer> lockMaxRedemptions(UUID id);
+
+    @Query(value = """
+            SELECT id FROM coupon
+            WHERE id IN :ids
+            AND status = 'ACTIVE'
+            AND published = TRUE
+            AND (expiration_date IS NULL OR expiration_date > :now)
+            AND redeemed = FALSE
+            AND max_redemptions = 1
+            FOR UPDATE
+            """, nativeQuery = true)
+    List<UUID> lockRedeemable(Collection<UUID> ids, LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Coupon coupon SET coupon.redeemed = true, coupon.updatedAt = :now, coupon.version = coupon.version + 1
+            WHERE coupon.id IN :ids
+            """)
+    int redeemAll(Collection<UUID> ids, LocalDateTime now);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Coupon coupon SET coupon.redeemed = true, coupon.updatedAt = :now, coupon.version = coupon.version + 1
+            WHERE coupon.id = :id AND coupon.redeemed = false
+            """)
+    int markRedeemed(UUID id, LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Coupon coupon SET coupon.redeemed = false, coupon.updatedAt = :now, coupon.version = coupon.version + 1
+            WHERE coupon.id = :id AND coupon.redeemed = true AND coupon.maxRedemptions > 1
+              AND coupon.status <> 'DELETED'
+            """)
+    int reopen(UUID id, LocalDateTime now);
 }
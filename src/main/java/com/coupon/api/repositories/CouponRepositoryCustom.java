@@ -0,0 +1,13 @@
+package com.coupon.api.repositories;
+
+import com.coupon.api.dtos.coupons.request.CouponSearchDTO;
+import com.coupon.api.dtos.coupons.response.CouponDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface CouponRepositoryCustom {
+
+    List<CouponDTO> findPage(CouponSearchDTO search, LocalDateTime afterCreatedAt, UUID afterId, int limit);
+}
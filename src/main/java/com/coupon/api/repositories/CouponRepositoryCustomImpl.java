@@ -0,0 +1,69 @@
+package com.coupon.api.repositories;
+
+import com.coupon.api.dtos.coupons.request.CouponSearchDTO;
+import com.coupon.api.dtos.coupons.response.CouponDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class CouponRepositoryCustomImpl implements CouponRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<CouponDTO> findPage(CouponSearchDTO search, LocalDateTime afterCreatedAt, UUID afterId, int limit) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+
+        if (search.status() != null) {
+            conditions.add("coupon.status = :status");
+            parameters.put("status", search.status());
+        } else {
+            conditions.add("coupon.status <> 'DELETED'");
+        }
+
+        if (search.published() != null) {
+            conditions.add("coupon.published = :published");
+            parameters.put("published", search.published());
+        }
+
+        if (search.redeemed() != null) {
+            conditions.add("coupon.redeemed = :redeemed");
+            parameters.put("redeemed", search.redeemed());
+        }
+
+        if (search.expiresFrom() != null) {
+            conditions.add("coupon.expirationDate >= :expiresFrom");
+            parameters.put("expiresFrom", search.expiresFrom());
+        }
+
+        if (search.expiresTo() != null) {
+            conditions.add("coupon.expirationDate < :expiresTo");
+            parameters.put("expiresTo", search.expiresTo());
+        }
+
+        if (afterCreatedAt != null) {
+            conditions.add("coupon.createdAt <= :afterCreatedAt AND (coupon.createdAt < :afterCreatedAt OR coupon.id < :afterId)");
+            parameters.put("afterCreatedAt", afterCreatedAt);
+            parameters.put("afterId", afterId);
+        }
+
+        TypedQuery<CouponDTO> query = entityManager.createQuery(
+                CouponRepository.SELECT_COUPON_DTO
+                        + "WHERE " + String.join(" AND ", conditions)
+                        + " ORDER BY coupon.createdAt DESC, coupon.id DESC",
+                CouponDTO.class);
+
+        parameters.forEach(query::setParameter);
+
+        return query.setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,499 @@
+package com.coupon.api.services;
+
+import com.coupon.api.dtos.coupons.mappers.CouponMapper;
+import com.coupon.api.dtos.coupons.request.CreateCouponDTO;
+import com.coupon.api.dtos.coupons.request.GenerateCouponsDTO;
+import com.coupon.api.dtos.coupons.response.CouponBatchItemDTO;
+import com.coupon.api.dtos.coupons.response.CouponBatchReportDTO;
+import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponImportReportDTO;
+import com.coupon.api.exceptions.BadRequestException;
+import com.coupon.api.exceptions.NotFoundException;
+import com.coupon.api.metrics.CouponMetrics;
+import com.coupon.api.models.Coupon;
+import com.coupon.api.models.enums.CouponFileFormat;
+import com.coupon.api.repositories.CouponRepository;
+import com.coupon.api.services.codes.CouponCodeGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+public class CouponBatchService {
+
+    private final CouponService couponService;
+    private final CouponRepository couponRepository;
+    private final CouponCodeGenerator couponCodeGenerator;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final CouponMetrics couponMetrics;
+    private final ObjectWriter importErrorWriter;
+    private final CsvMapper csvMapper;
+    private final int chunkSize;
+    private final int maxGenerated;
+    private final Path importErrorDirectory;
+    private final Duration importErrorRetention;
+    private final int importMaxLineLength;
+
+    @Autowired
+    public CouponBatchService(CouponService couponService,
+                              CouponRepository couponRepository,
+                              CouponCodeGenerator couponCodeGenerator,
+                              TransactionTemplate transactionTemplate,
+                              ObjectMapper objectMapper,
+                              Validator validator,
+                              CouponMetrics couponMetrics,
+                              @Value("${coupon.batch.chunk-size:500}") int chunkSize,
+                              @Value("${coupon.codes.max-generated:10000}") int maxGenerated,
+                              @Value("${coupon.import.error-dir:${java.io.tmpdir}/coupon-imports}") Path importErrorDirectory,
+                              @Value("${coupon.import.error-retention:P1D}") Duration importErrorRetention,
+                              @Value("${coupon.import.max-line-length:65536}") int importMaxLineLength) {
+        this.couponService = couponService;
+        this.couponRepository = couponRepository;
+        this.couponCodeGenerator = couponCodeGenerator;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.couponMetrics = couponMetrics;
+        this.importErrorWriter = objectMapper.writerFor(CouponBatchItemDTO.class);
+        this.csvMapper = CsvMapper.builder().enable(CsvParser.Feature.EMPTY_STRING_AS_NULL).build();
+        this.chunkSize = chunkSize;
+        this.maxGenerated = maxGenerated;
+        this.importErrorDirectory = importErrorDirectory;
+        this.importErrorRetention = importErrorRetention;
+        this.importMaxLineLength = importMaxLineLength;
+    }
+
+    public CouponBatchReportDTO create(InputStream body) throws IOException {
+        List<CouponBatchItemDTO> items = new ArrayList<>();
+        List<PendingCoupon> chunk = new ArrayList<>(chunkSize);
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BadRequestException("O corpo da requisição deve ser uma lista de cupons");
+            }
+
+            int index = 0;
+
+            try {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    JsonNode element = parser.readValueAsTree();
+
+                    prepare(index++, element, chunk, items);
+
+                    if (chunk.size() == chunkSize) {
+                        items.addAll(write(chunk));
+                        chunk.clear();
+                    }
+                }
+            } catch (JsonProcessingException exception) {
+                items.add(rejected(index, null, List.of("Lista de cupons malformada a partir deste item, os itens seguintes não foram processados")));
+            }
+        }
+
+        items.addAll(write(chunk));
+        items.sort((first, second) -> Integer.compare(first.index(), second.index()));
+
+        int created = (int) items.stream().filter(CouponBatchItemDTO::created).count();
+
+        return new CouponBatchReportDTO(items.size(), created, items.size() - created, items);
+    }
+
+    public CouponImportReportDTO importCoupons(CouponFileFormat format, InputStream body) throws IOException {
+        long start = System.nanoTime();
+        UUID id = UUID.randomUUID();
+
+        Files.createDirectories(importErrorDirectory);
+
+        ImportProgress progress = new ImportProgress(Files.newBufferedWriter(importErrors(id), StandardCharsets.UTF_8));
+
+        try (progress) {
+            if (format == CouponFileFormat.CSV) {
+                importCsv(body, progress);
+            } else {
+                importNdjson(body, progress);
+            }
+
+            progress.accept(write(progress.chunk));
+        } catch (IOException | RuntimeException exception) {
+            // Rows from earlier chunks stay committed, but with no report to point at it the error file would only be left behind.
+            deleteImportErrors(id, exception);
+            couponMetrics.imported(progress.imported, progress.rejected);
+
+            throw exception;
+        }
+
+        if (progress.rejected == 0) {
+            Files.deleteIfExists(importErrors(id));
+        }
+
+        couponMetrics.imported(progress.imported, progress.rejected);
+
+        long elapsedNanos = Math.max(System.nanoTime() - start, 1);
+
+        return new CouponImportReportDTO(
+                id,
+                progress.imported + progress.rejected,
+                progress.imported,
+                progress.rejected,
+                elapsedNanos / 1_000_000,
+                (progress.imported + progress.rejected) * 1e9 / elapsedNanos
+        );
+    }
+
+    public Path findImportErrors(UUID id) {
+        Path errors = importErrors(id);
+
+        if (!Files.isRegularFile(errors)) {
+            throw new NotFoundException("Arquivo de erros da importação não encontrado");
+        }
+
+        return errors;
+    }
+
+    @Scheduled(fixedDelayString = "${coupon.import.error-sweep-interval:PT1H}", initialDelayString = "${coupon.import.error-sweep-interval:PT1H}")
+    public int sweepImportErrors() throws IOException {
+        if (!Files.isDirectory(importErrorDirectory)) {
+            return 0;
+        }
+
+        Instant writtenBefore = Instant.now().minus(importErrorRetention);
+        int deleted = 0;
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(importErrorDirectory, "*.ndjson")) {
+            for (Path file : files) {
+                try {
+                    if (Files.getLastModifiedTime(file).toInstant().isBefore(writtenBefore) && Files.deleteIfExists(file)) {
+                        deleted++;
+                    }
+                } catch (NoSuchFileException exception) {
+                    // Removed by a concurrent sweep or by a failed import.
+                }
+            }
+        }
+
+        return deleted;
+    }
+
+    public List<CouponDTO> generate(int count, GenerateCouponsDTO generateCouponsDTO) {
+        if (count < 1 || count > maxGenerated) {
+            throw new BadRequestException("A quantidade de cupons gerados deve estar entre 1 e " + maxGenerated);
+        }
+
+        List<CouponDTO> generated = new ArrayList<>(count);
+
+        while (generated.size() < count) {
+            List<String> codes = couponCodeGenerator.nextCodes(Math.min(chunkSize, count - generated.size()));
+            List<PendingCoupon> chunk = new ArrayList<>(codes.size());
+
+            for (int index = 0; index < codes.size(); index++) {
+                chunk.add(new PendingCoupon(index, couponService.newCoupon(new CreateCouponDTO(
+                        codes.get(index),
+                        generateCouponsDTO.description(),
+                        generateCouponsDTO.discountValue(),
+                        generateCouponsDTO.expirationDate(),
+                        generateCouponsDTO.published(),
+                        generateCouponsDTO.maxRedemptions()
+                ))));
+            }
+
+            for (CouponBatchItemDTO item : write(chunk)) {
+                if (item.created()) {
+                    generated.add(CouponMapper.toCouponDTO(chunk.get(item.index()).coupon()));
+                }
+            }
+        }
+
+        return generated;
+    }
+
+    private void importNdjson(InputStream body, ImportProgress progress) throws IOException {
+        BoundedLineReader lines = new BoundedLineReader(new InputStreamReader(body, StandardCharsets.UTF_8), importMaxLineLength);
+        int index = 0;
+        String line;
+
+        while ((line = lines.readLine()) != null) {
+            if (lines.truncated()) {
+                progress.accept(List.of(rejected(index++, null, List.of("Linha maior que o limite de " + importMaxLineLength + " caracteres"))));
+            } else if (!line.isBlank()) {
+                importRow(index++, readLine(line), progress);
+            }
+        }
+    }
+
+    private void importCsv(InputStream body, ImportProgress progress) throws IOException {
+        int index = 0;
+
+        try (MappingIterator<JsonNode> rows = csvMapper.readerFor(JsonNode.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .readValues(body)) {
+            while (rows.hasNextValue()) {
+                importRow(index, rows.nextValue(), progress);
+                index++;
+            }
+        } catch (JsonProcessingException | RuntimeJsonMappingException exception) {
+            progress.accept(List.of(rejected(index, null, List.of("Arquivo malformado a partir desta linha, as linhas seguintes não foram processadas"))));
+        }
+    }
+
+    private JsonNode readLine(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (JsonProcessingException exception) {
+            return NullNode.getInstance();
+        }
+    }
+
+    private void importRow(int index, JsonNode element, ImportProgress progress) throws IOException {
+        List<CouponBatchItemDTO> items = new ArrayList<>(1);
+
+        prepare(index, element, progress.chunk, items);
+        progress.accept(items);
+
+        if (progress.chunk.size() == chunkSize) {
+            progress.accept(write(progress.chunk));
+            progress.chunk.clear();
+        }
+    }
+
+    private Path importErrors(UUID id) {
+        return importErrorDirectory.resolve(id + ".ndjson");
+    }
+
+    private void deleteImportErrors(UUID id, Exception cause) {
+        try {
+            Files.deleteIfExists(importErrors(id));
+        } catch (IOException exception) {
+            cause.addSuppressed(exception);
+        }
+    }
+
+    private void prepare(int index, JsonNode element, List<PendingCoupon> chunk, List<CouponBatchItemDTO> items) {
+        CreateCouponDTO createCouponDTO;
+
+        try {
+            createCouponDTO = objectMapper.treeToValue(element, CreateCouponDTO.class);
+        } catch (JsonProcessingException | IllegalArgumentException exception) {
+            items.add(rejected(index, null, List.of("Formato do cupom inválido")));
+            return;
+        }
+
+        if (createCouponDTO == null) {
+            items.add(rejected(index, null, List.of("Formato do cupom inválido")));
+            return;
+        }
+
+        Set<ConstraintViolation<CreateCouponDTO>> violations = validator.validate(createCouponDTO);
+
+        if (!violations.isEmpty()) {
+            items.add(rejected(index, createCouponDTO.code(), violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .toList()));
+            return;
+        }
+
+        try {
+            chunk.add(new PendingCoupon(index, couponService.newCoupon(createCouponDTO)));
+        } catch (BadRequestException exception) {
+            items.add(rejected(index, createCouponDTO.code(), List.of(exception.getMessage())));
+        }
+    }
+
+    private List<CouponBatchItemDTO> write(List<PendingCoupon> chunk) {
+        if (chunk.isEmpty()) {
+            return List.of();
+        }
+
+        List<CouponBatchItemDTO> items = new ArrayList<>(chunk.size());
+        List<PendingCoupon> writable = new ArrayList<>(chunk.size());
+        Set<String> existingCodes = new HashSet<>(couponRepository.findActiveCodesIn(
+                chunk.stream().map(pending -> pending.coupon().getCode()).toList()));
+        Set<String> chunkCodes = new HashSet<>();
+
+        for (PendingCoupon pending : chunk) {
+            String code = pending.coupon().getCode();
+
+            if (existingCodes.contains(code) || !chunkCodes.add(code)) {
+                items.add(rejected(pending.index(), code, List.of("Já existe um cupom ativo com este código")));
+            } else {
+                writable.add(pending);
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    couponRepository.saveAll(writable.stream().map(PendingCoupon::coupon).toList()));
+
+            writable.forEach(pending -> items.add(created(pending)));
+        } catch (DataIntegrityViolationException exception) {
+            writable.forEach(pending -> items.add(writeAlone(pending)));
+        }
+
+        return items;
+    }
+
+    private CouponBatchItemDTO writeAlone(PendingCoupon pending) {
+        pending.coupon().setId(null);
+        pending.coupon().setVersion(null);
+
+        try {
+            couponRepository.save(pending.coupon());
+
+            return created(pending);
+        } catch (DataIntegrityViolationException exception) {
+            if (!CouponService.isActiveCodeViolation(exception)) {
+                throw exception;
+            }
+
+            return rejected(pending.index(), pending.coupon().getCode(), List.of("Já existe um cupom ativo com este código"));
+        }
+    }
+
+    private CouponBatchItemDTO created(PendingCoupon pending) {
+        return new CouponBatchItemDTO(pending.index(), pending.coupon().getId(), pending.coupon().getCode(), true, List.of());
+    }
+
+    private CouponBatchItemDTO rejected(int index, String code, List<String> errors) {
+        return new CouponBatchItemDTO(index, null, code, false, errors);
+    }
+
+    private record PendingCoupon(int index, Coupon coupon) {
+    }
+
+    // Unlike BufferedReader.readLine, never holds more than maxLength characters of a line; longer lines are skipped and flagged.
+    private static final class BoundedLineReader {
+
+        private final Reader reader;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private int position;
+        private int limit;
+        private boolean truncated;
+
+        private BoundedLineReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        private String readLine() throws IOException {
+            StringBuilder line = null;
+
+            truncated = false;
+
+            while (true) {
+                if (position == limit && !fill()) {
+                    return line == null ? null : line.toString();
+                }
+
+                if (line == null) {
+                    line = new StringBuilder();
+                }
+
+                int start = position;
+
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+
+                if (!truncated && line.length() + position - start > maxLength) {
+                    truncated = true;
+                    line.setLength(0);
+                }
+
+                if (!truncated) {
+                    line.append(buffer, start, position - start);
+                }
+
+                if (position < limit) {
+                    position++;
+
+                    return line.toString();
+                }
+            }
+        }
+
+        private boolean truncated() {
+            return truncated;
+        }
+
+        private boolean fill() throws IOException {
+            int read = reader.read(buffer);
+
+            if (read <= 0) {
+                return false;
+            }
+
+            position = 0;
+            limit = read;
+
+            return true;
+        }
+    }
+
+    private final class ImportProgress implements Closeable {
+
+        private final List<PendingCoupon> chunk = new ArrayList<>(chunkSize);
+        private final BufferedWriter errors;
+        private long imported;
+        private long rejected;
+
+        private ImportProgress(BufferedWriter errors) {
+            this.errors = errors;
+        }
+
+        private void accept(List<CouponBatchItemDTO> items) throws IOException {
+            for (CouponBatchItemDTO item : items) {
+                if (item.created()) {
+                    imported++;
+                } else {
+                    rejected++;
+                    errors.write(importErrorWriter.writeValueAsString(item));
+                    errors.write('\n');
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            errors.close();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.coupon.api.services;
+
+import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.coupon.api.metrics.CouponMetrics;
+import com.coupon.api.models.enums.CouponFileFormat;
+import com.coupon.api.models.enums.CouponStatus;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Service
+public class CouponExportService {
+
+    private static final String SELECT_COUPONS = """
+            SELECT coupon.id, coupon.code, coupon.description, coupon.discount_value, coupon.expiration_date,
+                coupon.status, coupon.published, coupon.redeemed, coupon.max_redemptions,
+                CASE WHEN coupon.max_redemptions = 1 THEN (CASE WHEN coupon.redeemed THEN 1 ELSE 0 END)
+                ELSE coupon.max_redemptions - COALESCE((
+                    SELECT SUM(shard.remaining) FROM coupon_redemption_shard shard WHERE shard.coupon_id = coupon.id
+                ), coupon.max_redemptions) END,
+                coupon.created_at
+            FROM coupon
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CouponMetrics couponMetrics;
+    private final ObjectWriter jsonWriter;
+    private final ObjectWriter csvWriter;
+    private final int fetchSize;
+
+    @Autowired
+    public CouponExportService(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               CouponMetrics couponMetrics,
+                               ObjectMapper objectMapper,
+                               @Value("${coupon.export.fetch-size:1000}") int fetchSize) {
+        CsvMapper csvMapper = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.couponMetrics = couponMetrics;
+        this.jsonWriter = objectMapper.writerFor(CouponDTO.class)
+                .withRootValueSeparator((String) null)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.csvWriter = csvMapper.writer(csvMapper.schemaFor(CouponDTO.class).withHeader())
+                .forType(CouponDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.fetchSize = fetchSize;
+    }
+
+    public long export(CouponFileFormat format, OutputStream output) {
+        return couponMetrics.record(CouponMetrics.EXPORT, () -> transactionTemplate.execute(status ->
+                jdbcTemplate.execute((ConnectionCallback<Long>) connection -> export(connection, format, output))));
+    }
+
+    private long export(Connection connection, CouponFileFormat format, OutputStream output) throws SQLException {
+        try (Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            statement.setFetchSize(fetchSize);
+
+            try (ResultSet resultSet = statement.executeQuery(SELECT_COUPONS)) {
+                return write(resultSet, format, output);
+            }
+        }
+    }
+
+    private long write(ResultSet resultSet, CouponFileFormat format, OutputStream output) throws SQLException {
+        ObjectWriter writer = format == CouponFileFormat.CSV ? csvWriter : jsonWriter;
+        long rows = 0;
+
+        try (JsonGenerator generator = writer.createGenerator(output)) {
+            while (resultSet.next()) {
+                writer.writeValue(generator, toCouponDTO(resultSet));
+
+                if (format == CouponFileFormat.NDJSON) {
+                    generator.writeRaw('\n');
+                }
+
+                rows++;
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        return rows;
+    }
+
+    private CouponDTO toCouponDTO(ResultSet resultSet) throws SQLException {
+        return new CouponDTO(
+                resultSet.getObject(1, UUID.class),
+                resultSet.getString(2),
+                resultSet.getString(3),
+                resultSet.getBigDecimal(4).doubleValue(),
+                resultSet.getObject(5, LocalDateTime.class),
+                CouponStatus.valueOf(resultSet.getString(6)),
+                resultSet.getBoolean(7),
+                resultSet.getBoolean(8),
+                resultSet.getInt(9),
+                resultSet.getInt(10),
+                resultSet.getObject(11, LocalDateTime.class)
+        );
+    }
+}
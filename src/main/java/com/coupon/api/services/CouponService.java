@@ -1,36 +1,134 @@
 package com.coupon.api.services;
 
+import com.coupon.api.configs.CacheConfig;
+import com.coupon.api.dtos.coupons.mappers.CouponMapper;
+import com.coupon.api.dtos.coupons.request.CouponSearchDTO;
 import com.coupon.api.dtos.coupons.request.CreateCouponDTO;
 import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponPageDTO;
 import com.coupon.api.dtos.coupons.response.CouponRedeemDTO;
+import com.coupon.api.dtos.coupons.response.CouponSnapshotDTO;
+import com.coupon.api.dtos.coupons.response.CouponVersionDTO;
 import com.coupon.api.exceptions.BadRequestException;
+import com.coupon.api.exceptions.ConflictException;
 import com.coupon.api.exceptions.NotFoundException;
+import com.coupon.api.metrics.CouponMetrics;
 import com.coupon.api.models.Coupon;
+import com.coupon.api.models.CouponRedemption;
 import com.coupon.api.models.enums.CouponStatus;
+import com.coupon.api.models.enums.RedeemRejectionReason;
+import com.coupon.api.repositories.CouponArchiveRepository;
+import com.coupon.api.repositories.CouponRedemptionRepository;
 import com.coupon.api.repositories.CouponRepository;
+import com.coupon.api.services.codes.CouponCodeNormalizer;
+import com.coupon.api.services.lookups.CouponLookupFilter;
+import com.coupon.api.services.redemptions.CouponRedemptionBatcher;
+import com.coupon.api.services.redemptions.CouponHotRedemptions;
+import com.coupon.api.services.redemptions.CouponRedemptionCounter;
+import com.coupon.api.services.retry.OptimisticLockRetry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletionException;
 
 @Service
 public class CouponService {
 
-    private static final int CODE_LENGTH = 6;
+    private static final int IDEMPOTENCY_KEY_MAX_LENGTH = 100;
+    private static final int PAGE_MAX_SIZE = 500;
 
     private final CouponRepository couponRepository;
+    private final CouponCodeNormalizer couponCodeNormalizer;
+    private final OptimisticLockRetry optimisticLockRetry;
+    private final CouponMetrics couponMetrics;
+    private final CouponRedemptionCounter couponRedemptionCounter;
+    private final CouponRedemptionRepository couponRedemptionRepository;
+    private final CouponArchiveRepository couponArchiveRepository;
+    private final CouponRedemptionBatcher couponRedemptionBatcher;
+    private final CouponHotRedemptions couponHotRedemptions;
+    private final CouponLookupFilter couponLookupFilter;
+    private final Cache couponsCache;
+    private final Cache couponResponsesCache;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
-    public CouponService(CouponRepository couponRepository) {
+    public CouponService(CouponRepository couponRepository,
+                         CouponCodeNormalizer couponCodeNormalizer,
+                         OptimisticLockRetry optimisticLockRetry,
+                         CouponMetrics couponMetrics,
+                         CouponRedemptionCounter couponRedemptionCounter,
+                         CouponRedemptionRepository couponRedemptionRepository,
+                         CouponArchiveRepository couponArchiveRepository,
+                         CouponRedemptionBatcher couponRedemptionBatcher,
+                         CouponHotRedemptions couponHotRedemptions,
+                         CouponLookupFilter couponLookupFilter,
+                         CacheManager cacheManager,
+                         TransactionTemplate transactionTemplate) {
         this.couponRepository = couponRepository;
+        this.couponCodeNormalizer = couponCodeNormalizer;
+        this.optimisticLockRetry = optimisticLockRetry;
+        this.couponMetrics = couponMetrics;
+        this.couponRedemptionCounter = couponRedemptionCounter;
+        this.couponRedemptionRepository = couponRedemptionRepository;
+        this.couponArchiveRepository = couponArchiveRepository;
+        this.couponRedemptionBatcher = couponRedemptionBatcher;
+        this.couponHotRedemptions = couponHotRedemptions;
+        this.couponLookupFilter = couponLookupFilter;
+        this.couponsCache = cacheManager.getCache(CacheConfig.COUPONS_CACHE);
+        this.couponResponsesCache = cacheManager.getCache(CacheConfig.COUPON_RESPONSES_CACHE);
+        this.transactionTemplate = transactionTemplate;
     }
 
     public CouponDTO create(CreateCouponDTO createCouponDTO) {
-        String cleanCode = removeSpecialCharacters(createCouponDTO.code());
+        return couponMetrics.record(CouponMetrics.CREATE, () -> {
+            Coupon couponToCreate = newCoupon(createCouponDTO);
+            Coupon couponCreated;
 
-        if (cleanCode.length() != CODE_LENGTH) {
+            try {
+                couponCreated = couponRepository.save(couponToCreate);
+            } catch (DataIntegrityViolationException exception) {
+                if (!isActiveCodeViolation(exception)) {
+                    throw exception;
+                }
+
+                throw new ConflictException("Já existe um cupom ativo com este código");
+            }
+
+            return CouponMapper.toCouponDTO(couponCreated);
+        });
+    }
+
+    // Other violations (numeric overflow, NOT NULL, length) are not duplicate codes and go to the generic handler.
+    static boolean isActiveCodeViolation(DataIntegrityViolationException exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().toLowerCase(Locale.ROOT).contains(Coupon.ACTIVE_CODE_INDEX)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    Coupon newCoupon(CreateCouponDTO createCouponDTO) {
+        String cleanCode = couponCodeNormalizer.normalize(createCouponDTO.code());
+
+        if (cleanCode == null) {
             throw new BadRequestException("Código do cupom deve igual a 6 caracteres alfanuméricos");
         }
 
@@ -42,69 +140,373 @@ public class CouponService {
         couponToCreate.setExpirationDate(createCouponDTO.expirationDate());
         couponToCreate.setPublished(createCouponDTO.published());
 
-        Coupon couponCreated = couponRepository.save(couponToCreate);
+        if (createCouponDTO.maxRedemptions() != null) {
+            couponToCreate.setMaxRedemptions(createCouponDTO.maxRedemptions());
+        }
+
+        return couponToCreate;
+    }
 
-        return new CouponDTO(
-                couponCreated.getId(),
-                couponCreated.getCode(),
-                couponCreated.getDescription(),
-                couponCreated.getDiscountValue().doubleValue(),
-                couponCreated.getExpirationDate(),
-                couponCreated.getStatus(),
-                couponCreated.isPublished(),
-                couponCreated.isRedeemed()
-        );
+    @CacheEvict(cacheNames = {CacheConfig.COUPONS_CACHE, CacheConfig.COUPON_RESPONSES_CACHE}, key = "#result.id()")
+    public CouponRedeemDTO useByCode(String code) {
+        return useByCode(code, null);
     }
 
-    private String removeSpecialCharacters(String code) {
-        return code.replaceAll("[^A-Za-z0-9]", "");
+    @CacheEvict(cacheNames = {CacheConfig.COUPONS_CACHE, CacheConfig.COUPON_RESPONSES_CACHE}, key = "#result.id()")
+    public CouponRedeemDTO useByCode(String code, String idempotencyKey) {
+        return couponMetrics.record(CouponMetrics.REDEEM, () -> {
+            validateIdempotencyKey(idempotencyKey);
+
+            String cleanCode = couponCodeNormalizer.normalize(code);
+
+            if (cleanCode == null) {
+                throw rejected(RedeemRejectionReason.NOT_FOUND);
+            }
+
+            if (!couponLookupFilter.mightContainCode(cleanCode)) {
+                throw rejectedUnknown(CouponLookupFilter.CODE);
+            }
+
+            UUID id = couponRepository.findIdByCode(cleanCode).orElseThrow(() -> {
+                couponLookupFilter.falsePositive(CouponLookupFilter.CODE);
+
+                return rejected(RedeemRejectionReason.NOT_FOUND);
+            });
+
+            return replay(id, idempotencyKey).orElseGet(() -> redeemWithRetry(id, idempotencyKey));
+        });
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.COUPONS_CACHE, CacheConfig.COUPON_RESPONSES_CACHE}, key = "#id")
     public CouponRedeemDTO use(UUID id) {
-        Coupon coupon = couponRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Cupom não encontrado"));
+        return use(id, null);
+    }
+
+    @CacheEvict(cacheNames = {CacheConfig.COUPONS_CACHE, CacheConfig.COUPON_RESPONSES_CACHE}, key = "#id")
+    public CouponRedeemDTO use(UUID id, String idempotencyKey) {
+        return couponMetrics.record(CouponMetrics.REDEEM, () -> {
+            validateIdempotencyKey(idempotencyKey);
+
+            if (!couponLookupFilter.mightContainId(id)) {
+                throw rejectedUnknown(CouponLookupFilter.ID);
+            }
+
+            return replay(id, idempotencyKey).orElseGet(() -> redeemWithRetry(id, idempotencyKey));
+        });
+    }
+
+    public void validateRedeem(UUID id, String idempotencyKey) {
+        validateIdempotencyKey(idempotencyKey);
+
+        if (!couponLookupFilter.mightContainId(id)) {
+            throw rejectedUnknown(CouponLookupFilter.ID);
+        }
+
+        if (!couponRepository.existsById(id)) {
+            throw rejected(couponArchiveRepository.existsById(id) ? RedeemRejectionReason.INACTIVE : notFound(id));
+        }
+    }
+
+    private void validateIdempotencyKey(String idempotencyKey) {
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > IDEMPOTENCY_KEY_MAX_LENGTH)) {
+            throw new BadRequestException("A chave de idempotência deve ter entre 1 e " + IDEMPOTENCY_KEY_MAX_LENGTH + " caracteres");
+        }
+    }
+
+    private Optional<CouponRedeemDTO> replay(UUID id, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return Optional.empty();
+        }
+
+        return couponRedemptionRepository.findByIdempotencyKey(idempotencyKey).map(redemption -> {
+            if (!redemption.getCouponId().equals(id)) {
+                throw new ConflictException("A chave de idempotência já foi usada para outro cupom");
+            }
+
+            couponMetrics.redeemReplayed();
+
+            return new CouponRedeemDTO(redemption.getCouponId(), true);
+        });
+    }
+
+    private CouponRedeemDTO redeemWithRetry(UUID id, String idempotencyKey) {
+        if (couponHotRedemptions.isEnabled()) {
+            Optional<RedeemRejectionReason> soldOut = couponHotRedemptions.admit(id);
+
+            if (soldOut.isPresent()) {
+                throw rejected(soldOut.get());
+            }
+
+            try {
+                if (couponHotRedemptions.redeem(id, idempotencyKey)) {
+                    return new CouponRedeemDTO(id, true);
+                }
+            } catch (DataIntegrityViolationException exception) {
+                return replay(id, idempotencyKey).orElseThrow(() -> exception);
+            }
+        }
+
+        if (couponRedemptionBatcher.isEnabled()) {
+            return redeemBehind(id, idempotencyKey);
+        }
+
+        return optimisticLockRetry.execute(() -> redeem(id, idempotencyKey));
+    }
+
+    private CouponRedeemDTO redeemBehind(UUID id, String idempotencyKey) {
+        boolean redeemed;
+
+        try {
+            redeemed = couponRedemptionBatcher.submit(id, idempotencyKey).join();
+        } catch (CompletionException exception) {
+            // The whole batch was rolled back, so this redeem is retried on its own.
+            return optimisticLockRetry.execute(() -> redeem(id, idempotencyKey));
+        }
+
+        if (redeemed) {
+            return new CouponRedeemDTO(id, true);
+        }
+
+        Optional<CouponRedeemDTO> replayed = replay(id, idempotencyKey);
+
+        if (replayed.isPresent()) {
+            return replayed.get();
+        }
+
+        RedeemRejectionReason reason = explainRejectedRedeem(id, LocalDateTime.now());
+
+        if (reason == null) {
+            // Still redeemable, e.g. a multi-use coupon whose shards were not opened yet.
+            return optimisticLockRetry.execute(() -> redeem(id, idempotencyKey));
+        }
+
+        throw rejected(id, reason);
+    }
+
+    private CouponRedeemDTO redeem(UUID id, String idempotencyKey) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean redeemed;
+
+        try {
+            redeemed = tryRedeem(id, idempotencyKey, now)
+                    || (couponRedemptionCounter.open(id) && tryRedeem(id, idempotencyKey, now));
+        } catch (DataIntegrityViolationException exception) {
+            return replay(id, idempotencyKey).orElseThrow(() -> exception);
+        }
+
+        if (redeemed) {
+            return new CouponRedeemDTO(id, true);
+        }
+
+        Optional<CouponRedeemDTO> replayed = replay(id, idempotencyKey);
+
+        if (replayed.isPresent()) {
+            return replayed.get();
+        }
+
+        RedeemRejectionReason reason = explainRejectedRedeem(id, now);
+
+        if (reason == null) {
+            throw new OptimisticLockingFailureException("O cupom foi alterado durante o resgate");
+        }
+
+        throw rejected(id, reason);
+    }
+
+    private boolean tryRedeem(UUID id, String idempotencyKey, LocalDateTime now) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (couponRepository.redeem(id, now) == 1 || couponRedemptionCounter.take(id, now)) {
+                couponRedemptionRepository.saveAndFlush(new CouponRedemption(id, idempotencyKey, now));
+
+                return true;
+            }
+
+            return false;
+        }));
+    }
+
+    private RedeemRejectionReason explainRejectedRedeem(UUID id, LocalDateTime now) {
+        Coupon coupon = couponRepository.findById(id).orElse(null);
+
+        if (coupon == null) {
+            return couponArchiveRepository.existsById(id) ? RedeemRejectionReason.INACTIVE : notFound(id);
+        }
+
+        boolean expired = coupon.getExpirationDate() != null && !coupon.getExpirationDate().isAfter(now);
+
+        if (CouponStatus.INACTIVE.equals(coupon.getStatus()) && expired) {
+            return RedeemRejectionReason.EXPIRED;
+        }
 
         if (!CouponStatus.ACTIVE.equals(coupon.getStatus())) {
-            throw new BadRequestException("Você não pode utilizar um cupom que não está ativo");
+            return RedeemRejectionReason.INACTIVE;
         }
 
         if (!coupon.isPublished()) {
-            throw new BadRequestException("Você não pode utilizar um cupom que não está publicado");
+            return RedeemRejectionReason.UNPUBLISHED;
+        }
+
+        if (expired) {
+            return RedeemRejectionReason.EXPIRED;
         }
 
-        if (coupon.getExpirationDate().isBefore(LocalDateTime.now())) {
-            throw new BadRequestException("O cupom já está vencido/expirado");
+        if (coupon.isRedeemed()) {
+            return coupon.getMaxRedemptions() > 1 ? RedeemRejectionReason.LIMIT_REACHED : RedeemRejectionReason.ALREADY_REDEEMED;
         }
 
-        coupon.setRedeemed(true);
+        if (coupon.getMaxRedemptions() > 1 && couponRedemptionCounter.isExhausted(id)) {
+            if (couponRepository.markRedeemed(id, now) == 1) {
+                // The redeem throws, so the @CacheEvict on use/useByCode never runs for this change.
+                couponsCache.evict(id);
+                couponResponsesCache.evict(id);
+            }
+
+            return RedeemRejectionReason.LIMIT_REACHED;
+        }
+
+        return null;
+    }
+
+    private RedeemRejectionReason notFound(UUID id) {
+        couponLookupFilter.falsePositive(CouponLookupFilter.ID);
+
+        return RedeemRejectionReason.NOT_FOUND;
+    }
+
+    private RuntimeException rejected(UUID id, RedeemRejectionReason reason) {
+        couponHotRedemptions.soldOut(id, reason);
+
+        return rejected(reason);
+    }
+
+    private RuntimeException rejectedUnknown(String key) {
+        couponMetrics.redeemRejected(RedeemRejectionReason.NOT_FOUND);
+
+        return couponLookupFilter.rejected(key, RedeemRejectionReason.NOT_FOUND);
+    }
 
-        coupon = couponRepository.save(coupon);
+    private RuntimeException rejected(RedeemRejectionReason reason) {
+        couponMetrics.redeemRejected(reason);
 
-        return new CouponRedeemDTO(coupon.getId(), coupon.isRedeemed());
+        return reason.toException();
     }
 
+    @Cacheable(cacheNames = CacheConfig.COUPONS_CACHE, key = "#id")
     public CouponDTO findById(UUID id) {
-        Coupon coupon = couponRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Cupom não encontrado"));
+        return couponMetrics.record(CouponMetrics.FIND, () -> {
+            requireKnownId(id, "Cupom não encontrado");
+
+            Coupon coupon = couponRepository.findById(id).orElse(null);
+
+            if (coupon == null) {
+                return couponArchiveRepository.findById(id)
+                        .map(CouponMapper::toCouponDTO)
+                        .orElseThrow(() -> notFound(CouponLookupFilter.ID, "Cupom não encontrado"));
+            }
+
+            return CouponMapper.toCouponDTO(coupon, couponRedemptionCounter.redemptions(coupon));
+        });
+    }
+
+    public CouponVersionDTO findVersionById(UUID id) {
+        return couponMetrics.record(CouponMetrics.FIND, () -> {
+            requireKnownId(id, "Cupom não encontrado");
+
+            return couponRepository.findVersionById(id)
+                    .or(() -> couponArchiveRepository.findVersionById(id))
+                    .orElseThrow(() -> notFound(CouponLookupFilter.ID, "Cupom não encontrado"));
+        });
+    }
+
+    public CouponSnapshotDTO findSnapshotById(UUID id) {
+        return couponMetrics.record(CouponMetrics.FIND, () -> {
+            requireKnownId(id, "Cupom não encontrado");
+
+            return couponRepository.findSnapshotById(id)
+                    .or(() -> couponArchiveRepository.findById(id).map(archive -> new CouponSnapshotDTO(
+                            CouponMapper.toCouponDTO(archive),
+                            new CouponVersionDTO(archive.getId(), archive.getDeletedAt())
+                    )))
+                    .orElseThrow(() -> notFound(CouponLookupFilter.ID, "Cupom não encontrado"));
+        });
+    }
+
+    public CouponDTO findByCode(String code) {
+        return couponMetrics.record(CouponMetrics.FIND, () -> {
+            String cleanCode = couponCodeNormalizer.normalize(code);
+
+            if (cleanCode == null) {
+                throw new NotFoundException("Cupom não encontrado");
+            }
+
+            if (!couponLookupFilter.mightContainCode(cleanCode)) {
+                throw couponLookupFilter.rejected(CouponLookupFilter.CODE, "Cupom não encontrado");
+            }
+
+            return couponRepository.findByCode(cleanCode)
+                    .orElseThrow(() -> notFound(CouponLookupFilter.CODE, "Cupom não encontrado"));
+        });
+    }
 
-        return new CouponDTO(
-                coupon.getId(),
-                coupon.getCode(),
-                coupon.getDescription(),
-                coupon.getDiscountValue().doubleValue(),
-                coupon.getExpirationDate(),
-                coupon.getStatus(),
-                coupon.isPublished(),
-                coupon.isRedeemed()
-        );
+    private void requireKnownId(UUID id, String message) {
+        if (!couponLookupFilter.mightContainId(id)) {
+            throw couponLookupFilter.rejected(CouponLookupFilter.ID, message);
+        }
+    }
+
+    private NotFoundException notFound(String key, String message) {
+        couponLookupFilter.falsePositive(key);
+
+        return new NotFoundException(message);
+    }
+
+    public CouponPageDTO search(CouponSearchDTO search, String cursor, int size) {
+        if (size < 1 || size > PAGE_MAX_SIZE) {
+            throw new BadRequestException("O tamanho da página deve estar entre 1 e " + PAGE_MAX_SIZE);
+        }
+
+        return couponMetrics.record(CouponMetrics.LIST, () -> {
+            LocalDateTime afterCreatedAt = null;
+            UUID afterId = null;
+
+            if (cursor != null) {
+                try {
+                    String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+
+                    afterCreatedAt = LocalDateTime.parse(position[0]);
+                    afterId = UUID.fromString(position[1]);
+                } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException exception) {
+                    throw new BadRequestException("Cursor de paginação inválido");
+                }
+            }
+
+            List<CouponDTO> coupons = couponRepository.findPage(search, afterCreatedAt, afterId, size + 1);
+
+            if (coupons.size() <= size) {
+                return new CouponPageDTO(coupons, null);
+            }
+
+            CouponDTO last = coupons.get(size - 1);
+            String nextCursor = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((last.createdAt() + "|" + last.id()).getBytes(StandardCharsets.UTF_8));
+
+            return new CouponPageDTO(coupons.subList(0, size), nextCursor);
+        });
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.COUPONS_CACHE, CacheConfig.COUPON_RESPONSES_CACHE}, key = "#id")
     public void delete(UUID id) {
-        Coupon coupon = couponRepository.findByIdAndIsNotDelete(id)
-                .orElseThrow(() -> new NotFoundException("Cupom não encontrado ou já excluído"));
+        couponMetrics.record(CouponMetrics.DELETE, () -> optimisticLockRetry.execute(() -> {
+            requireKnownId(id, "Cupom não encontrado ou já excluído");
+
+            Coupon coupon = couponRepository.findByIdAndIsNotDelete(id)
+                    .orElseThrow(() -> new NotFoundException("Cupom não encontrado ou já excluído"));
+
+            coupon.setStatus(CouponStatus.DELETED);
 
-        coupon.setStatus(CouponStatus.DELETED);
+            couponRepository.save(coupon);
+        }));
 
-        couponRepository.save(coupon);
+        couponHotRedemptions.release(id);
     }
 }
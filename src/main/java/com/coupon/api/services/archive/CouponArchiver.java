@@ -0,0 +1,92 @@
+package com.coupon.api.services.archive;
+
+import com.coupon.api.configs.CacheConfig;
+import com.coupon.api.metrics.CouponMetrics;
+import com.coupon.api.repositories.CouponArchiveRepository;
+import com.coupon.api.repositories.CouponRedemptionShardRepository;
+import com.coupon.api.repositories.CouponRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+public class CouponArchiver {
+
+    private final CouponRepository couponRepository;
+    private final CouponArchiveRepository couponArchiveRepository;
+    private final CouponRedemptionShardRepository shardRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CouponMetrics couponMetrics;
+    private final Cache couponsCache;
+    private final Cache couponResponsesCache;
+    private final Duration retention;
+    private final int chunkSize;
+    private final int maxChunks;
+
+    @Autowired
+    public CouponArchiver(CouponRepository couponRepository,
+                          CouponArchiveRepository couponArchiveRepository,
+                          CouponRedemptionShardRepository shardRepository,
+                          TransactionTemplate transactionTemplate,
+                          CouponMetrics couponMetrics,
+                          CacheManager cacheManager,
+                          @Value("${coupon.archive.retention:P30D}") Duration retention,
+                          @Value("${coupon.archive.chunk-size:500}") int chunkSize,
+                          @Value("${coupon.archive.max-chunks:100}") int maxChunks) {
+        this.couponRepository = couponRepository;
+        this.couponArchiveRepository = couponArchiveRepository;
+        this.shardRepository = shardRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.couponMetrics = couponMetrics;
+        this.couponsCache = cacheManager.getCache(CacheConfig.COUPONS_CACHE);
+        this.couponResponsesCache = cacheManager.getCache(CacheConfig.COUPON_RESPONSES_CACHE);
+        this.retention = retention;
+        this.chunkSize = chunkSize;
+        this.maxChunks = maxChunks;
+    }
+
+    @Scheduled(fixedDelayString = "${coupon.archive.interval:PT1H}", initialDelayString = "${coupon.archive.interval:PT1H}")
+    public int archive() {
+        return couponMetrics.record(CouponMetrics.ARCHIVE, () -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime deletedBefore = now.minus(retention);
+            int archived = 0;
+
+            for (int chunk = 0; chunk < maxChunks; chunk++) {
+                List<UUID> ids = couponRepository.findDeletedIdsBefore(deletedBefore, Limit.of(chunkSize));
+
+                if (ids.isEmpty()) {
+                    break;
+                }
+
+                int purged = transactionTemplate.execute(status -> {
+                    couponArchiveRepository.archive(ids, now);
+                    shardRepository.deleteByCouponIds(ids);
+
+                    return couponRepository.purge(ids);
+                });
+
+                ids.forEach(couponsCache::evict);
+                ids.forEach(couponResponsesCache::evict);
+                couponMetrics.archived(purged);
+                archived += purged;
+
+                if (ids.size() < chunkSize) {
+                    break;
+                }
+            }
+
+            return archived;
+        });
+    }
+}
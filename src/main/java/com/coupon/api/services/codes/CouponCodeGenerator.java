@@ -0,0 +1,80 @@
+package com.coupon.api.services.codes;
+
+import com.coupon.api.exceptions.ConflictException;
+import com.coupon.api.repositories.CouponCodeAllocationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class CouponCodeGenerator {
+
+    private static final String ALLOCATION_NAME = "coupon-code";
+
+    private final CouponCodeAllocationRepository allocationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CouponCodePermutation permutation;
+    private final int blockSize;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long next;
+    private long blockEnd;
+
+    @Autowired
+    public CouponCodeGenerator(CouponCodeAllocationRepository allocationRepository,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${coupon.codes.permutation-key:0}") long permutationKey,
+                               @Value("${coupon.codes.block-size:1000}") int blockSize) {
+        this.allocationRepository = allocationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.permutation = new CouponCodePermutation(permutationKey);
+        this.blockSize = blockSize;
+    }
+
+    public List<String> nextCodes(int count) {
+        List<String> codes = new ArrayList<>(count);
+
+        lock.lock();
+
+        try {
+            while (codes.size() < count) {
+                if (next == blockEnd) {
+                    next = reserveBlock();
+                    blockEnd = Math.min(next + blockSize, CouponCodePermutation.KEYSPACE);
+                }
+
+                if (next >= CouponCodePermutation.KEYSPACE) {
+                    throw new ConflictException("Todos os códigos de cupom disponíveis já foram gerados");
+                }
+
+                codes.add(permutation.encode(next++));
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        return codes;
+    }
+
+    private long reserveBlock() {
+        try {
+            return transactionTemplate.execute(status -> {
+                if (allocationRepository.reserve(ALLOCATION_NAME, blockSize) == 0) {
+                    allocationRepository.start(ALLOCATION_NAME, blockSize);
+
+                    return 0L;
+                }
+
+                return allocationRepository.findNextValue(ALLOCATION_NAME) - blockSize;
+            });
+        } catch (DataIntegrityViolationException exception) {
+            return reserveBlock();
+        }
+    }
+}
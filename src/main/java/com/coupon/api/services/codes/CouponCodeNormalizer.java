@@ -0,0 +1,74 @@
+package com.coupon.api.services.codes;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CouponCodeNormalizer {
+
+    public static final int CODE_LENGTH = 6;
+
+    public enum CasePolicy {
+        PRESERVE,
+        UPPER
+    }
+
+    private final CasePolicy casePolicy;
+
+    public CouponCodeNormalizer(@Value("${coupon.codes.case-policy:UPPER}") CasePolicy casePolicy) {
+        this.casePolicy = casePolicy;
+    }
+
+    public String normalize(String code) {
+        if (code == null) {
+            return null;
+        }
+
+        if (isNormalized(code)) {
+            return code;
+        }
+
+        char[] normalized = new char[CODE_LENGTH];
+        int length = 0;
+
+        for (int index = 0, size = code.length(); index < size; index++) {
+            char character = code.charAt(index);
+
+            if (character >= 'a' && character <= 'z') {
+                if (casePolicy == CasePolicy.UPPER) {
+                    character = (char) (character - ('a' - 'A'));
+                }
+            } else if (!(character >= 'A' && character <= 'Z') && !(character >= '0' && character <= '9')) {
+                continue;
+            }
+
+            if (length == CODE_LENGTH) {
+                return null;
+            }
+
+            normalized[length++] = character;
+        }
+
+        return length == CODE_LENGTH ? new String(normalized) : null;
+    }
+
+    private boolean isNormalized(String code) {
+        if (code.length() != CODE_LENGTH) {
+            return false;
+        }
+
+        for (int index = 0; index < CODE_LENGTH; index++) {
+            char character = code.charAt(index);
+
+            boolean allowed = (character >= '0' && character <= '9')
+                    || (character >= 'A' && character <= 'Z')
+                    || (casePolicy == CasePolicy.PRESERVE && character >= 'a' && character <= 'z');
+
+            if (!allowed) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
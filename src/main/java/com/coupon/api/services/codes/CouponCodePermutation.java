@@ -0,0 +1,58 @@
+package com.coupon.api.services.codes;
+
+public final class CouponCodePermutation {
+
+    public static final long KEYSPACE = 2_176_782_336L;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+    private static final int HALF = 46_656;
+    private static final int ROUNDS = 4;
+
+    private final long key;
+
+    public CouponCodePermutation(long key) {
+        this.key = key;
+    }
+
+    // Balanced Feistel network over Z_46656 x Z_46656 (36^3 x 36^3): every round is invertible,
+    // so distinct indexes always map to distinct codes without cycle walking or retries.
+    public long permute(long index) {
+        if (index < 0 || index >= KEYSPACE) {
+            throw new IllegalArgumentException("Index out of the coupon code keyspace: " + index);
+        }
+
+        long left = index / HALF;
+        long right = index % HALF;
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long mixed = (left + round(right, round)) % HALF;
+
+            left = right;
+            right = mixed;
+        }
+
+        return left * HALF + right;
+    }
+
+    public String encode(long index) {
+        long value = permute(index);
+        char[] code = new char[CouponCodeNormalizer.CODE_LENGTH];
+
+        for (int position = CouponCodeNormalizer.CODE_LENGTH - 1; position >= 0; position--) {
+            code[position] = ALPHABET[(int) (value % ALPHABET.length)];
+            value /= ALPHABET.length;
+        }
+
+        return new String(code);
+    }
+
+    private long round(long half, int round) {
+        long mixed = half + key + (round + 1) * 0x9E3779B97F4A7C15L;
+
+        mixed = (mixed ^ (mixed >>> 30)) * 0xBF58476D1CE4E5B9L;
+        mixed = (mixed ^ (mixed >>> 27)) * 0x94D049BB133111EBL;
+        mixed = mixed ^ (mixed >>> 31);
+
+        return Math.floorMod(mixed, HALF);
+    }
+}
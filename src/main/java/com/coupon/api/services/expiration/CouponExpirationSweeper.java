@@ -0,0 +1,90 @@
+package com.coupon.api.services.expiration;
+
+import com.coupon.api.configs.CacheConfig;
+import com.coupon.api.metrics.CouponMetrics;
+import com.coupon.api.repositories.CouponRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+public class CouponExpirationSweeper {
+
+    private final CouponRepository couponRepository;
+    private final CouponMetrics couponMetrics;
+    private final Cache couponsCache;
+    private final Cache couponResponsesCache;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Duration batchPause;
+
+    @Autowired
+    public CouponExpirationSweeper(CouponRepository couponRepository,
+                                   CouponMetrics couponMetrics,
+                                   CacheManager cacheManager,
+                                   @Value("${coupon.expiration.batch-size:500}") int batchSize,
+                                   @Value("${coupon.expiration.max-batches:200}") int maxBatches,
+                                   @Value("${coupon.expiration.batch-pause:PT0.05S}") Duration batchPause) {
+        this.couponRepository = couponRepository;
+        this.couponMetrics = couponMetrics;
+        this.couponsCache = cacheManager.getCache(CacheConfig.COUPONS_CACHE);
+        this.couponResponsesCache = cacheManager.getCache(CacheConfig.COUPON_RESPONSES_CACHE);
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.batchPause = batchPause;
+    }
+
+    @Scheduled(fixedDelayString = "${coupon.expiration.sweep-interval:PT1M}", initialDelayString = "${coupon.expiration.sweep-interval:PT1M}")
+    public int sweep() {
+        return couponMetrics.record(CouponMetrics.EXPIRE, () -> {
+            LocalDateTime now = LocalDateTime.now();
+            int swept = 0;
+
+            for (int batch = 0; batch < maxBatches; batch++) {
+                List<UUID> ids = couponRepository.findExpiredIds(now, Limit.of(batchSize));
+
+                if (ids.isEmpty()) {
+                    break;
+                }
+
+                int expired = couponRepository.expire(ids, now);
+
+                ids.forEach(couponsCache::evict);
+                ids.forEach(couponResponsesCache::evict);
+                couponMetrics.expired(expired);
+                swept += expired;
+
+                if (ids.size() < batchSize || !pause()) {
+                    break;
+                }
+            }
+
+            couponMetrics.expirationLag(couponRepository.findOldestExpiration(now)
+                    .map(oldest -> Duration.between(oldest, now))
+                    .orElse(Duration.ZERO));
+
+            return swept;
+        });
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(batchPause);
+
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+
+            return false;
+        }
+    }
+}
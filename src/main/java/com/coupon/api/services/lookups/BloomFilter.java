@@ -0,0 +1,88 @@
+package com.coupon.api.services.lookups;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+    private final AtomicLong setBits = new AtomicLong();
+
+    BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long insertions = Math.max(1, expectedInsertions);
+        long optimalBits = (long) Math.ceil(-insertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+
+        this.words = new AtomicLongArray(Math.toIntExact((Math.max(64, optimalBits) + 63) / 64));
+        this.bits = words.length() * 64L;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / insertions * Math.log(2)));
+    }
+
+    void put(long hash) {
+        int first = (int) hash;
+        int second = (int) (hash >>> 32);
+
+        for (int index = 1; index <= hashes; index++) {
+            set(Math.floorMod(first + (long) index * second, bits));
+        }
+    }
+
+    boolean mightContain(long hash) {
+        int first = (int) hash;
+        int second = (int) (hash >>> 32);
+
+        for (int index = 1; index <= hashes; index++) {
+            long bit = Math.floorMod(first + (long) index * second, bits);
+
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    // Probability that a key never added is reported as present, given how many bits are set now.
+    double falsePositiveRate() {
+        return Math.pow((double) setBits.get() / bits, hashes);
+    }
+
+    static long hash(UUID id) {
+        return mix(id.getMostSignificantBits() ^ mix(id.getLeastSignificantBits()));
+    }
+
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+
+        for (int index = 0; index < value.length(); index++) {
+            hash = (hash ^ value.charAt(index)) * 0x100000001b3L;
+        }
+
+        return mix(hash);
+    }
+
+    private void set(long bit) {
+        int word = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        long current;
+
+        do {
+            current = words.get(word);
+
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!words.compareAndSet(word, current, current | mask));
+
+        setBits.incrementAndGet();
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,127 @@
+package com.coupon.api.services.lookups;
+
+import com.coupon.api.exceptions.UnknownCouponException;
+import com.coupon.api.metrics.CouponMetrics;
+import com.coupon.api.models.enums.RedeemRejectionReason;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.UUID;
+
+@Component
+public class CouponLookupFilter {
+
+    public static final String ID = "id";
+    public static final String CODE = "code";
+
+    private static final String SELECT_KEYS = """
+            SELECT id, code FROM coupon
+            UNION ALL
+            SELECT id, NULL FROM coupon_archive
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CouponMetrics couponMetrics;
+    private final boolean enabled;
+    private final int fetchSize;
+    private final BloomFilter ids;
+    private final BloomFilter codes;
+    private volatile boolean ready;
+
+    @Autowired
+    public CouponLookupFilter(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              CouponMetrics couponMetrics,
+                              @Value("${coupon.lookups.filter.enabled:true}") boolean enabled,
+                              @Value("${coupon.lookups.filter.expected-coupons:1000000}") long expectedCoupons,
+                              @Value("${coupon.lookups.filter.false-positive-rate:0.01}") double falsePositiveRate,
+                              @Value("${coupon.lookups.filter.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.couponMetrics = couponMetrics;
+        this.enabled = enabled;
+        this.fetchSize = fetchSize;
+        this.ids = new BloomFilter(enabled ? expectedCoupons : 1, falsePositiveRate);
+        this.codes = new BloomFilter(enabled ? expectedCoupons : 1, falsePositiveRate);
+
+        if (enabled) {
+            couponMetrics.lookupFilter(ID, ids::falsePositiveRate);
+            couponMetrics.lookupFilter(CODE, codes::falsePositiveRate);
+        }
+    }
+
+    // Keys are only ever added, so coupons purged from the archive keep answering "maybe" until the next restart.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_KEYS, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+
+            statement.setFetchSize(fetchSize);
+
+            return statement;
+        }, (RowCallbackHandler) resultSet -> {
+            addId(resultSet.getObject(1, UUID.class));
+
+            String code = resultSet.getString(2);
+
+            if (code != null) {
+                addCode(code);
+            }
+        }));
+
+        ready = true;
+    }
+
+    public void addId(UUID id) {
+        if (enabled) {
+            ids.put(BloomFilter.hash(id));
+        }
+    }
+
+    public void addCode(String code) {
+        if (enabled) {
+            codes.put(BloomFilter.hash(code));
+        }
+    }
+
+    public boolean mightContainId(UUID id) {
+        return !ready || ids.mightContain(BloomFilter.hash(id));
+    }
+
+    public boolean mightContainCode(String code) {
+        return !ready || codes.mightContain(BloomFilter.hash(code));
+    }
+
+    public UnknownCouponException rejected(String key, String message) {
+        couponMetrics.lookupRejected(key);
+
+        return new UnknownCouponException(message);
+    }
+
+    public UnknownCouponException rejected(String key, RedeemRejectionReason reason) {
+        couponMetrics.lookupRejected(key);
+
+        return new UnknownCouponException(reason);
+    }
+
+    public void falsePositive(String key) {
+        if (ready) {
+            couponMetrics.lookupFalsePositive(key);
+        }
+    }
+}
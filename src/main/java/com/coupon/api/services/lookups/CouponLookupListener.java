@@ -0,0 +1,28 @@
+package com.coupon.api.services.lookups;
+
+import com.coupon.api.models.Coupon;
+import jakarta.persistence.PostPersist;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// Runs after the insert but before the commit, so a coupon is in the filter before anyone can read it.
+@Component
+public class CouponLookupListener {
+
+    // Resolved on use: the filter needs the data source, which is built after the entity listeners, and JPA-only test slices have no filter.
+    private final ObjectProvider<CouponLookupFilter> couponLookupFilter;
+
+    @Autowired
+    public CouponLookupListener(ObjectProvider<CouponLookupFilter> couponLookupFilter) {
+        this.couponLookupFilter = couponLookupFilter;
+    }
+
+    @PostPersist
+    public void inserted(Coupon coupon) {
+        couponLookupFilter.ifAvailable(filter -> {
+            filter.addId(coupon.getId());
+            filter.addCode(coupon.getCode());
+        });
+    }
+}
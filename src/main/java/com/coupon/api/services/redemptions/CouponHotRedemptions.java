@@ -0,0 +1,294 @@
+package com.coupon.api.services.redemptions;
+
+import com.coupon.api.configs.CacheConfig;
+import com.coupon.api.metrics.CouponMetrics;
+import com.coupon.api.models.Coupon;
+import com.coupon.api.models.CouponRedemption;
+import com.coupon.api.models.enums.RedeemRejectionReason;
+import com.coupon.api.repositories.CouponRedemptionRepository;
+import com.coupon.api.repositories.CouponRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Component
+public class CouponHotRedemptions {
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final Duration IDLE_TTL = Duration.ofMinutes(1);
+
+    private final CouponRepository couponRepository;
+    private final CouponRedemptionRepository couponRedemptionRepository;
+    private final CouponRedemptionCounter couponRedemptionCounter;
+    private final CouponMetrics couponMetrics;
+    private final Cache couponsCache;
+    private final Cache couponResponsesCache;
+    private final boolean enabled;
+    private final int threshold;
+    private final int blockSize;
+    private final long blockTtlNanos;
+    private final ConcurrentMap<UUID, HotCoupon> coupons;
+
+    @Autowired
+    public CouponHotRedemptions(CouponRepository couponRepository,
+                                CouponRedemptionRepository couponRedemptionRepository,
+                                CouponRedemptionCounter couponRedemptionCounter,
+                                CouponMetrics couponMetrics,
+                                CacheManager cacheManager,
+                                @Value("${coupon.redemptions.hot.enabled:false}") boolean enabled,
+                                @Value("${coupon.redemptions.hot.threshold:50}") int threshold,
+                                @Value("${coupon.redemptions.hot.block-size:100}") int blockSize,
+                                @Value("${coupon.redemptions.hot.block-ttl:PT1S}") Duration blockTtl,
+                                @Value("${coupon.redemptions.hot.max-coupons:10000}") long maxCoupons) {
+        this.couponRepository = couponRepository;
+        this.couponRedemptionRepository = couponRedemptionRepository;
+        this.couponRedemptionCounter = couponRedemptionCounter;
+        this.couponMetrics = couponMetrics;
+        this.couponsCache = cacheManager.getCache(CacheConfig.COUPONS_CACHE);
+        this.couponResponsesCache = cacheManager.getCache(CacheConfig.COUPON_RESPONSES_CACHE);
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.blockSize = blockSize;
+        this.blockTtlNanos = blockTtl.toNanos();
+        this.coupons = Caffeine.newBuilder()
+                .expireAfterAccess(IDLE_TTL)
+                .maximumSize(maxCoupons)
+                .executor(Runnable::run)
+                .removalListener((UUID couponId, HotCoupon coupon, RemovalCause cause) -> {
+                    if (couponId != null && coupon != null) {
+                        release(couponId, coupon);
+                    }
+                })
+                .<UUID, HotCoupon>build()
+                .asMap();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Optional<RedeemRejectionReason> admit(UUID couponId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        long nanos = System.nanoTime();
+        HotCoupon coupon = coupons.computeIfAbsent(couponId, id -> new HotCoupon());
+        SoldOut soldOut = coupon.soldOut;
+
+        coupon.hit(nanos);
+
+        if (soldOut == null || nanos - soldOut.since() >= blockTtlNanos) {
+            return Optional.empty();
+        }
+
+        couponMetrics.redeemHot("sold_out");
+
+        return Optional.of(soldOut.reason());
+    }
+
+    public void soldOut(UUID couponId, RedeemRejectionReason reason) {
+        if (reason != RedeemRejectionReason.LIMIT_REACHED && reason != RedeemRejectionReason.ALREADY_REDEEMED) {
+            return;
+        }
+
+        HotCoupon coupon = coupons.get(couponId);
+
+        if (coupon != null && coupon.isHot(threshold)) {
+            coupon.soldOut = new SoldOut(reason, System.nanoTime());
+        }
+    }
+
+    public boolean redeem(UUID couponId, String idempotencyKey) {
+        if (!enabled) {
+            return false;
+        }
+
+        HotCoupon coupon = coupons.computeIfAbsent(couponId, id -> new HotCoupon());
+        long nanos = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        Block block = current(couponId, coupon, now, nanos);
+
+        if (block == null && !coupon.singleUse && coupon.isHot(threshold)) {
+            block = allocate(couponId, coupon, now, nanos);
+        }
+
+        if (block == null) {
+            return false;
+        }
+
+        // Tokens outlive the checks made when the block was reserved, so a coupon deleted, expired or
+        // unpublished on another node hands its block back and leaves the rejection to the database.
+        if (!couponRepository.isRedeemable(couponId, now)) {
+            retire(couponId, coupon, block);
+            couponMetrics.redeemHot("not_redeemable");
+
+            return false;
+        }
+
+        if (!block.take()) {
+            return false;
+        }
+
+        try {
+            couponRedemptionRepository.saveAndFlush(new CouponRedemption(couponId, idempotencyKey, now));
+        } catch (RuntimeException exception) {
+            couponRedemptionCounter.release(couponId, 1, now);
+
+            throw exception;
+        }
+
+        couponMetrics.redeemHot("redeemed");
+
+        return true;
+    }
+
+    public void release(UUID couponId) {
+        HotCoupon coupon = coupons.get(couponId);
+
+        if (coupon != null) {
+            coupon.soldOut = null;
+            release(couponId, coupon);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${coupon.redemptions.hot.block-ttl:PT1S}")
+    public void reconcile() {
+        long nanos = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+
+        coupons.forEach((couponId, coupon) -> current(couponId, coupon, now, nanos));
+    }
+
+    @PreDestroy
+    public void stop() {
+        coupons.forEach(this::release);
+    }
+
+    private Block current(UUID couponId, HotCoupon coupon, LocalDateTime now, long nanos) {
+        Block block = coupon.block.get();
+
+        if (block == null || block.isUsable(now, nanos)) {
+            return block;
+        }
+
+        retire(couponId, coupon, block);
+
+        return null;
+    }
+
+    private Block allocate(UUID couponId, HotCoupon coupon, LocalDateTime now, long nanos) {
+        synchronized (coupon) {
+            Block block = current(couponId, coupon, now, nanos);
+
+            if (block != null) {
+                return block;
+            }
+
+            Coupon entity = couponRepository.findById(couponId).orElse(null);
+
+            if (entity == null) {
+                return null;
+            }
+
+            if (entity.getMaxRedemptions() <= 1) {
+                // Single-use coupons have no shards to reserve from; only their sold-out answer is kept locally.
+                coupon.singleUse = true;
+
+                return null;
+            }
+
+            int reserved = couponRedemptionCounter.reserve(couponId, blockSize, now);
+
+            if (reserved == 0) {
+                return null;
+            }
+
+            couponMetrics.hotTokens("reserved", reserved);
+            block = new Block(new AtomicInteger(reserved), entity.getExpirationDate(), nanos + blockTtlNanos);
+            coupon.block.set(block);
+
+            return block;
+        }
+    }
+
+    private void release(UUID couponId, HotCoupon coupon) {
+        Block block = coupon.block.get();
+
+        if (block != null) {
+            retire(couponId, coupon, block);
+        }
+    }
+
+    private void retire(UUID couponId, HotCoupon coupon, Block block) {
+        if (!coupon.block.compareAndSet(block, null)) {
+            return;
+        }
+
+        int leftover = block.drain();
+
+        if (leftover > 0) {
+            couponRedemptionCounter.release(couponId, leftover, LocalDateTime.now());
+            couponMetrics.hotTokens("released", leftover);
+            couponsCache.evict(couponId);
+            couponResponsesCache.evict(couponId);
+        }
+    }
+
+    private static final class HotCoupon {
+
+        private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+        private final AtomicInteger windowRedeems = new AtomicInteger();
+        private final AtomicReference<Block> block = new AtomicReference<>();
+        private volatile SoldOut soldOut;
+        private volatile boolean singleUse;
+
+        void hit(long nanos) {
+            long start = windowStart.get();
+
+            if (nanos - start >= WINDOW_NANOS && windowStart.compareAndSet(start, nanos)) {
+                windowRedeems.set(0);
+            }
+
+            windowRedeems.incrementAndGet();
+        }
+
+        boolean isHot(int threshold) {
+            return System.nanoTime() - windowStart.get() < WINDOW_NANOS && windowRedeems.get() >= threshold;
+        }
+    }
+
+    private record Block(AtomicInteger tokens, LocalDateTime expirationDate, long expiresAt) {
+
+        boolean take() {
+            return tokens.getAndDecrement() > 0;
+        }
+
+        int drain() {
+            return Math.max(0, tokens.getAndSet(0));
+        }
+
+        boolean isUsable(LocalDateTime now, long nanos) {
+            return tokens.get() > 0 && nanos < expiresAt && (expirationDate == null || expirationDate.isAfter(now));
+        }
+    }
+
+    private record SoldOut(RedeemRejectionReason reason, long since) {
+    }
+}
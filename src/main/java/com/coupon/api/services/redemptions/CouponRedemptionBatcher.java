@@ -0,0 +1,197 @@
+package com.coupon.api.services.redemptions;
+
+import com.coupon.api.exceptions.TooManyRequestsException;
+import com.coupon.api.metrics.CouponMetrics;
+import com.coupon.api.models.CouponRedemption;
+import com.coupon.api.repositories.CouponRedemptionRepository;
+import com.coupon.api.repositories.CouponRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class CouponRedemptionBatcher {
+
+    private final CouponRepository couponRepository;
+    private final CouponRedemptionRepository couponRedemptionRepository;
+    private final CouponRedemptionCounter couponRedemptionCounter;
+    private final TransactionTemplate transactionTemplate;
+    private final CouponMetrics couponMetrics;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration maxDelay;
+    private final BlockingQueue<PendingRedeem> queue;
+    private final Thread worker;
+    private volatile boolean running;
+
+    @Autowired
+    public CouponRedemptionBatcher(CouponRepository couponRepository,
+                                   CouponRedemptionRepository couponRedemptionRepository,
+                                   CouponRedemptionCounter couponRedemptionCounter,
+                                   TransactionTemplate transactionTemplate,
+                                   CouponMetrics couponMetrics,
+                                   @Value("${coupon.redemptions.write-behind.enabled:false}") boolean enabled,
+                                   @Value("${coupon.redemptions.write-behind.batch-size:100}") int batchSize,
+                                   @Value("${coupon.redemptions.write-behind.max-delay:PT0.005S}") Duration maxDelay,
+                                   @Value("${coupon.redemptions.write-behind.queue-capacity:10000}") int queueCapacity) {
+        this.couponRepository = couponRepository;
+        this.couponRedemptionRepository = couponRedemptionRepository;
+        this.couponRedemptionCounter = couponRedemptionCounter;
+        this.transactionTemplate = transactionTemplate;
+        this.couponMetrics = couponMetrics;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxDelay = maxDelay;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.running = enabled;
+        this.worker = enabled ? Thread.ofPlatform().name("coupon-redeem-batcher").daemon().start(this::run) : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CompletableFuture<Boolean> submit(UUID couponId, String idempotencyKey) {
+        PendingRedeem redeem = new PendingRedeem(couponId, idempotencyKey, new CompletableFuture<>());
+
+        if (!running || !queue.offer(redeem)) {
+            couponMetrics.redeemThrottled();
+
+            throw new TooManyRequestsException("Muitos resgates em andamento, tente novamente em instantes");
+        }
+
+        return redeem.result();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+
+        if (worker != null) {
+            worker.join();
+        }
+    }
+
+    private void run() {
+        List<PendingRedeem> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException exception) {
+                running = false;
+            }
+
+            if (!batch.isEmpty()) {
+                apply(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void collect(List<PendingRedeem> batch) throws InterruptedException {
+        PendingRedeem first = queue.poll(100, TimeUnit.MILLISECONDS);
+
+        if (first == null) {
+            return;
+        }
+
+        batch.add(first);
+
+        long deadline = System.nanoTime() + maxDelay.toNanos();
+
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+
+            long remaining = deadline - System.nanoTime();
+
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+
+            PendingRedeem next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+
+            if (next == null) {
+                return;
+            }
+
+            batch.add(next);
+        }
+    }
+
+    private void apply(List<PendingRedeem> batch) {
+        try {
+            List<Boolean> outcomes = transactionTemplate.execute(status -> redeem(batch, LocalDateTime.now()));
+
+            couponMetrics.redeemBatch(batch.size());
+
+            for (int index = 0; index < batch.size(); index++) {
+                batch.get(index).result().complete(outcomes.get(index));
+            }
+        } catch (RuntimeException exception) {
+            batch.forEach(redeem -> redeem.result().completeExceptionally(exception));
+        }
+    }
+
+    private List<Boolean> redeem(List<PendingRedeem> batch, LocalDateTime now) {
+        Set<String> idempotencyKeys = new HashSet<>();
+        List<Boolean> accepted = new ArrayList<>(batch.size());
+        Set<UUID> couponIds = new LinkedHashSet<>();
+
+        for (PendingRedeem redeem : batch) {
+            // A key repeated inside the batch is left to the caller, who replays it once the first one is committed.
+            boolean unique = redeem.idempotencyKey() == null || idempotencyKeys.add(redeem.idempotencyKey());
+
+            accepted.add(unique);
+
+            if (unique) {
+                couponIds.add(redeem.couponId());
+            }
+        }
+
+        List<UUID> lockedIds = couponRepository.lockRedeemable(couponIds, now);
+
+        if (!lockedIds.isEmpty()) {
+            couponRepository.redeemAll(lockedIds, now);
+        }
+
+        Set<UUID> redeemable = new HashSet<>(lockedIds);
+
+        List<Boolean> outcomes = new ArrayList<>(batch.size());
+        List<CouponRedemption> redemptions = new ArrayList<>(batch.size());
+
+        for (int index = 0; index < batch.size(); index++) {
+            PendingRedeem redeem = batch.get(index);
+            boolean redeemed = accepted.get(index)
+                    && (redeemable.remove(redeem.couponId()) || couponRedemptionCounter.take(redeem.couponId(), now));
+
+            if (redeemed) {
+                redemptions.add(new CouponRedemption(redeem.couponId(), redeem.idempotencyKey(), now));
+            }
+
+            outcomes.add(redeemed);
+        }
+
+        couponRedemptionRepository.saveAllAndFlush(redemptions);
+
+        return outcomes;
+    }
+
+    private record PendingRedeem(UUID couponId, String idempotencyKey, CompletableFuture<Boolean> result) {
+    }
+}
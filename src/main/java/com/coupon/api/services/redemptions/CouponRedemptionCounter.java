@@ -0,0 +1,129 @@
+package com.coupon.api.services.redemptions;
+
+import com.coupon.api.models.Coupon;
+import com.coupon.api.models.CouponRedemptionShard;
+import com.coupon.api.repositories.CouponRedemptionShardRepository;
+import com.coupon.api.repositories.CouponRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Component
+public class CouponRedemptionCounter {
+
+    private final CouponRedemptionShardRepository shardRepository;
+    private final CouponRepository couponRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int shards;
+
+    @Autowired
+    public CouponRedemptionCounter(CouponRedemptionShardRepository shardRepository,
+                                   CouponRepository couponRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${coupon.redemptions.shards:16}") int shards) {
+        this.shardRepository = shardRepository;
+        this.couponRepository = couponRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.shards = shards;
+    }
+
+    public boolean take(UUID couponId, LocalDateTime now) {
+        List<Integer> available = shardRepository.findAvailableShards(couponId);
+
+        if (available.isEmpty()) {
+            return false;
+        }
+
+        int start = ThreadLocalRandom.current().nextInt(available.size());
+
+        for (int offset = 0; offset < available.size(); offset++) {
+            if (shardRepository.take(couponId, available.get((start + offset) % available.size()), now) == 1) {
+                if (shardRepository.sumRemaining(couponId) == 0) {
+                    couponRepository.markRedeemed(couponId, now);
+                }
+
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public int reserve(UUID couponId, int count, LocalDateTime now) {
+        open(couponId);
+
+        Integer reserved = transactionTemplate.execute(status -> {
+            List<CouponRedemptionShard> available = shardRepository.findAvailable(couponId);
+            int start = available.isEmpty() ? 0 : ThreadLocalRandom.current().nextInt(available.size());
+            int taken = 0;
+
+            for (int offset = 0; offset < available.size() && taken < count; offset++) {
+                CouponRedemptionShard shard = available.get((start + offset) % available.size());
+                int amount = Math.min(count - taken, shard.getRemaining());
+
+                if (shardRepository.takeBlock(couponId, shard.getId().getShard(), amount, now) == 1) {
+                    taken += amount;
+                }
+            }
+
+            return taken;
+        });
+
+        return reserved == null ? 0 : reserved;
+    }
+
+    public void release(UUID couponId, int count, LocalDateTime now) {
+        transactionTemplate.executeWithoutResult(status -> {
+            shardRepository.giveBack(couponId, 0, count, now);
+            // A redeem elsewhere may have seen the shards drained while these tokens were reserved.
+            couponRepository.reopen(couponId, now);
+        });
+    }
+
+    public boolean isExhausted(UUID couponId) {
+        Long remaining = shardRepository.sumRemaining(couponId);
+
+        return remaining != null && remaining == 0;
+    }
+
+    public int redemptions(Coupon coupon) {
+        if (coupon.getMaxRedemptions() <= 1) {
+            return coupon.isRedeemed() ? 1 : 0;
+        }
+
+        Long remaining = shardRepository.sumRemaining(coupon.getId());
+
+        return remaining == null ? 0 : coupon.getMaxRedemptions() - remaining.intValue();
+    }
+
+    public boolean open(UUID couponId) {
+        int maxRedemptions = couponRepository.findMaxRedemptionsById(couponId).orElse(1);
+
+        if (maxRedemptions <= 1 || shardRepository.sumRemaining(couponId) != null) {
+            return false;
+        }
+
+        int count = Math.min(shards, maxRedemptions);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Concurrent opens of the same coupon queue on its row, so the later ones find the shards instead of colliding on their keys.
+            couponRepository.lockMaxRedemptions(couponId);
+
+            if (shardRepository.sumRemaining(couponId) != null) {
+                return;
+            }
+
+            for (int shard = 0; shard < count; shard++) {
+                shardRepository.open(couponId, shard, maxRedemptions / count + (shard < maxRedemptions % count ? 1 : 0));
+            }
+        });
+
+        return true;
+    }
+}
@@ -0,0 +1,106 @@
+package com.coupon.api.services.redemptions;
+
+import com.coupon.api.dtos.coupons.response.CouponRedemptionTicketDTO;
+import com.coupon.api.exceptions.BadRequestException;
+import com.coupon.api.exceptions.ConflictException;
+import com.coupon.api.exceptions.NotFoundException;
+import com.coupon.api.exceptions.TooManyRequestsException;
+import com.coupon.api.metrics.CouponMetrics;
+import com.coupon.api.models.enums.RedeemRejectionReason;
+import com.coupon.api.services.CouponService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class CouponRedemptionTickets {
+
+    private final CouponService couponService;
+    private final CouponMetrics couponMetrics;
+    private final ThreadPoolExecutor executor;
+    private final Cache<UUID, CouponRedemptionTicketDTO> tickets;
+
+    @Autowired
+    public CouponRedemptionTickets(CouponService couponService,
+                                   CouponMetrics couponMetrics,
+                                   @Value("${coupon.redemptions.async.pool-size:4}") int poolSize,
+                                   @Value("${coupon.redemptions.async.queue-capacity:1000}") int queueCapacity,
+                                   @Value("${coupon.redemptions.async.ticket-ttl:PT1H}") Duration ticketTtl,
+                                   @Value("${coupon.redemptions.async.max-tickets:100000}") long maxTickets) {
+        this.couponService = couponService;
+        this.couponMetrics = couponMetrics;
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("coupon-redeem-async-", 0).daemon().factory()
+        );
+        this.tickets = Caffeine.newBuilder()
+                .expireAfterWrite(ticketTtl)
+                .maximumSize(maxTickets)
+                .build();
+    }
+
+    public CouponRedemptionTicketDTO submit(UUID couponId, String idempotencyKey) {
+        couponService.validateRedeem(couponId, idempotencyKey);
+
+        CouponRedemptionTicketDTO ticket = CouponRedemptionTicketDTO.pending(UUID.randomUUID(), couponId);
+
+        tickets.put(ticket.ticket(), ticket);
+
+        try {
+            executor.execute(() -> tickets.put(ticket.ticket(), redeem(ticket, idempotencyKey)));
+        } catch (RejectedExecutionException exception) {
+            tickets.invalidate(ticket.ticket());
+            couponMetrics.redeemThrottled();
+
+            throw new TooManyRequestsException("Muitos resgates em andamento, tente novamente em instantes");
+        }
+
+        return ticket;
+    }
+
+    public CouponRedemptionTicketDTO findByTicket(UUID ticket) {
+        return Optional.ofNullable(tickets.getIfPresent(ticket))
+                .orElseThrow(() -> new NotFoundException("Resgate não encontrado"));
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private CouponRedemptionTicketDTO redeem(CouponRedemptionTicketDTO ticket, String idempotencyKey) {
+        try {
+            couponService.use(ticket.couponId(), idempotencyKey);
+
+            return ticket.redeemed();
+        } catch (BadRequestException exception) {
+            return ticket.rejected(tag(exception.getReason()), exception.getMessage());
+        } catch (NotFoundException exception) {
+            return ticket.rejected(tag(exception.getReason()), exception.getMessage());
+        } catch (ConflictException exception) {
+            return ticket.rejected(null, exception.getMessage());
+        } catch (RuntimeException exception) {
+            return ticket.failed(exception.getMessage());
+        }
+    }
+
+    private String tag(RedeemRejectionReason reason) {
+        return reason == null ? null : reason.getTag();
+    }
+}
@@ -0,0 +1,66 @@
+package com.coupon.api.services.responses;
+
+import com.coupon.api.configs.CacheConfig;
+import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponSnapshotDTO;
+import com.coupon.api.dtos.coupons.response.CouponVersionDTO;
+import com.coupon.api.services.CouponService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.UUID;
+
+@Component
+public class CouponResponseCache {
+
+    private final CouponService couponService;
+    private final ObjectWriter couponWriter;
+    private final Cache responsesCache;
+
+    @Autowired
+    public CouponResponseCache(CouponService couponService, ObjectMapper objectMapper, CacheManager cacheManager) {
+        this.couponService = couponService;
+        this.couponWriter = objectMapper.writerFor(CouponDTO.class);
+        this.responsesCache = cacheManager.getCache(CacheConfig.COUPON_RESPONSES_CACHE);
+    }
+
+    public CouponVersionDTO findVersionById(UUID id) {
+        CouponResponse cached = responsesCache.get(id, CouponResponse.class);
+
+        // A cached version is only ever stored next to the body it was read with, so a 304 never vouches for another body.
+        return cached != null ? cached.version() : couponService.findVersionById(id);
+    }
+
+    public CouponResponse findById(UUID id) {
+        CouponResponse cached = responsesCache.get(id, CouponResponse.class);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        // Body and version come from one read that bypasses the coupons cache, so a cached version always matches its body.
+        CouponSnapshotDTO snapshot = couponService.findSnapshotById(id);
+        CouponResponse response = new CouponResponse(serialize(snapshot.coupon()), snapshot.version());
+
+        responsesCache.put(id, response);
+
+        return response;
+    }
+
+    private byte[] serialize(CouponDTO coupon) {
+        try {
+            return couponWriter.writeValueAsBytes(coupon);
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    public record CouponResponse(byte[] body, CouponVersionDTO version) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.coupon.api.services.retry;
+
+import com.coupon.api.exceptions.ConflictException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+@Component
+public class OptimisticLockRetry {
+
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    public OptimisticLockRetry(@Value("${coupon.retry.max-attempts:3}") int maxAttempts,
+                               @Value("${coupon.retry.backoff-millis:10}") long backoffMillis) {
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+    }
+
+    public <T> T execute(Supplier<T> operation) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return operation.get();
+            } catch (ConcurrencyFailureException exception) {
+                // Lost optimistic locks and deadlocks both roll the whole transaction back, so either is safe to retry.
+                if (attempt >= maxAttempts) {
+                    throw new ConflictException("O cupom foi alterado por outra requisição, tente novamente");
+                }
+
+                sleepWithJitter(attempt);
+            }
+        }
+    }
+
+    public void execute(Runnable operation) {
+        execute(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    private void sleepWithJitter(int attempt) {
+        long ceiling = backoffMillis << Math.min(attempt - 1, 10);
+
+        if (ceiling <= 0) {
+            return;
+        }
+
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("O cupom foi alterado por outra requisição, tente novamente");
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.coupon.api.reactive.controllers;
+
+import com.coupon.api.dtos.coupons.request.CreateCouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponRedeemDTO;
+import com.coupon.api.dtos.exceptions.response.ResponseEntityException;
+import com.coupon.api.models.enums.CouponStatus;
+import com.coupon.api.models.enums.RedeemRejectionReason;
+import com.coupon.api.reactive.ReactiveApiApplication;
+import com.coupon.api.reactive.services.ReactiveCouponService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@SpringBootTest(classes = ReactiveApiApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@ActiveProfiles("reactive")
+public class ReactiveCouponControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @Autowired
+    private ReactiveCouponService couponService;
+    @Autowired
+    private DatabaseClient databaseClient;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Value("${base-path}/coupons")
+    private String basePath;
+
+    @Test
+    void integrationTestCreateCoupon_GivenValidCoupon_ShouldCreateAndFindItByIdAndCode() {
+        String code = newCode();
+        CouponDTO created = create(new CreateCouponDTO(code.toLowerCase(), "Foo Bar", 0.8, LocalDateTime.now().plusDays(1), true));
+
+        Assertions.assertEquals(code, created.code());
+        Assertions.assertEquals(CouponStatus.ACTIVE, created.status());
+        Assertions.assertFalse(created.redeemed());
+
+        webTestClient.get().uri(basePath + "/" + created.id())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(CouponDTO.class)
+                .isEqualTo(created);
+
+        webTestClient.get().uri(basePath + "/code/" + code)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(created.id().toString());
+    }
+
+    @Test
+    void integrationTestCreateCoupon_GivenInvalidFields_ShouldReturnTheSameValidationErrorAsTheServletApi() {
+        webTestClient.post().uri(basePath)
+                .bodyValue(new CreateCouponDTO(newCode(), "", 0.1, LocalDateTime.now().plusDays(1), true))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Algo está errado na validação dos campos")
+                .jsonPath("$.details.length()").isEqualTo(2);
+    }
+
+    @Test
+    void integrationTestCreateCoupon_GivenCodeOfAnActiveCoupon_ShouldReturnConflictHttpCode() {
+        String code = newCode();
+
+        create(new CreateCouponDTO(code, "Foo Bar", 0.8, LocalDateTime.now().plusDays(1), true));
+
+        ResponseEntityException response = webTestClient.post().uri(basePath)
+                .bodyValue(new CreateCouponDTO(code, "Foo Bar", 0.8, LocalDateTime.now().plusDays(1), true))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody(ResponseEntityException.class)
+                .returnResult()
+                .getResponseBody();
+
+        Assertions.assertEquals("Já existe um cupom ativo com este código", response.getMessage());
+        Assertions.assertEquals("uri=" + basePath, response.getDetails());
+    }
+
+    @Test
+    void integrationTestUse_GivenSingleUseCoupon_ShouldRedeemOnceReplayTheKeyAndRejectTheRest() {
+        CouponDTO created = create(new CreateCouponDTO(newCode(), "Foo Bar", 0.8, LocalDateTime.now().plusDays(1), true));
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            webTestClient.post().uri(basePath + "/" + created.id() + "/redeem")
+                    .header("Idempotency-Key", idempotencyKey)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(CouponRedeemDTO.class)
+                    .isEqualTo(new CouponRedeemDTO(created.id(), true));
+        }
+
+        webTestClient.post().uri(basePath + "/code/" + created.code() + "/redeem")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("O cupom já foi utilizado");
+    }
+
+    @Test
+    void integrationTestUse_GivenMultiUseCoupon_ShouldRejectOnceTheLimitIsReached() {
+        CouponDTO created = create(new CreateCouponDTO(newCode(), "Foo Bar", 0.8, LocalDateTime.now().plusDays(1), true, 2));
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            webTestClient.post().uri(basePath + "/" + created.id() + "/redeem")
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+
+        webTestClient.post().uri(basePath + "/" + created.id() + "/redeem")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("O cupom atingiu o limite de utilizações");
+
+        webTestClient.get().uri(basePath + "/" + created.id())
+                .exchange()
+                .expectBody()
+                .jsonPath("$.redemptions").isEqualTo(2)
+                .jsonPath("$.redeemed").isEqualTo(true);
+    }
+
+    @Test
+    void integrationTestUse_GivenConcurrentRedeemsOfMultiUseCoupon_ShouldTakeThemFromTheShardsUpToTheLimit() {
+        CouponDTO created = create(new CreateCouponDTO(newCode(), "Foo Bar", 0.8, LocalDateTime.now().plusDays(1), true, 20));
+
+        List<Boolean> redeems = Flux.range(0, 30)
+                .flatMap(attempt -> couponService.use(created.id(), null)
+                        .map(CouponRedeemDTO::redeemed)
+                        .onErrorReturn(false))
+                .collectList()
+                .block();
+
+        Assertions.assertEquals(20, redeems.stream().filter(Boolean::booleanValue).count());
+
+        webTestClient.post().uri(basePath + "/" + created.id() + "/redeem")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("O cupom atingiu o limite de utilizações");
+
+        Assertions.assertEquals(16L, databaseClient.sql("SELECT COUNT(*) AS shards FROM coupon_redemption_shard WHERE coupon_id = :couponId")
+                .bind("couponId", created.id())
+                .map(row -> row.get("shards", Long.class))
+                .one()
+                .block());
+
+        webTestClient.get().uri(basePath + "/" + created.id())
+                .exchange()
+                .expectBody()
+                .jsonPath("$.redemptions").isEqualTo(20)
+                .jsonPath("$.redeemed").isEqualTo(true);
+    }
+
+    @Test
+    void integrationTestUse_GivenUnpublishedCoupon_ShouldReturnBadRequestHttpCode() {
+        CouponDTO created = create(new CreateCouponDTO(newCode(), "Foo Bar", 0.8, LocalDateTime.now().plusDays(1), false));
+
+        webTestClient.post().uri(basePath + "/" + created.id() + "/redeem")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Você não pode utilizar um cupom que não está publicado");
+    }
+
+    @Test
+    void integrationTestUse_GivenRejectedRedeem_ShouldRecordTheSameMetricsAsTheServletApi() {
+        CouponDTO created = create(new CreateCouponDTO(newCode(), "Foo Bar", 0.8, LocalDateTime.now().plusDays(1), false));
+        double rejections = meterRegistry.counter("coupon.redeem.rejections", "reason", RedeemRejectionReason.UNPUBLISHED.getTag()).count();
+
+        webTestClient.post().uri(basePath + "/" + created.id() + "/redeem")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        Assertions.assertEquals(rejections + 1, meterRegistry.counter("coupon.redeem.rejections", "reason", RedeemRejectionReason.UNPUBLISHED.getTag()).count());
+        Assertions.assertTrue(meterRegistry.get("coupon.operations").tag("operation", "redeem").tag("exception", "BadRequestException").timer().count() >= 1);
+        Assertions.assertTrue(meterRegistry.get("coupon.operations").tag("operation", "create").tag("exception", "none").timer().count() >= 1);
+    }
+
+    @Test
+    void integrationTestDelete_GivenValidId_ShouldDeleteOnceAndFreeTheCode() {
+        String code = newCode();
+        CouponDTO created = create(new CreateCouponDTO(code, "Foo Bar", 0.8, LocalDateTime.now().plusDays(1), true));
+
+        webTestClient.delete().uri(basePath + "/" + created.id())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.delete().uri(basePath + "/" + created.id())
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Cupom não encontrado ou já excluído");
+
+        webTestClient.get().uri(basePath + "/code/" + code)
+                .exchange()
+                .expectStatus().isNotFound();
+
+        create(new CreateCouponDTO(code, "Foo Bar", 0.8, LocalDateTime.now().plusDays(1), true));
+    }
+
+    @Test
+    void integrationTestFindCouponById_GivenInvalidId_ShouldReturnNotFoundHttpCode() {
+        webTestClient.get().uri(basePath + "/" + UUID.randomUUID())
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Cupom não encontrado");
+    }
+
+    private CouponDTO create(CreateCouponDTO createCouponDTO) {
+        return webTestClient.post().uri(basePath)
+                .bodyValue(createCouponDTO)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(CouponDTO.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private String newCode() {
+        return UUID.randomUUID().toString().substring(0, 6).toUpperCase();
+    }
+}
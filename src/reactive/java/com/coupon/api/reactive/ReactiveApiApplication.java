@@ -0,0 +1,30 @@
+package com.coupon.api.reactive;
+
+import com.coupon.api.metrics.CouponMetrics;
+import com.coupon.api.services.codes.CouponCodeNormalizer;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+
+@Profile("reactive")
+@SpringBootApplication(exclude = {
+		DataSourceAutoConfiguration.class,
+		DataSourceTransactionManagerAutoConfiguration.class,
+		HibernateJpaAutoConfiguration.class
+})
+@Import({CouponCodeNormalizer.class, CouponMetrics.class})
+public class ReactiveApiApplication {
+
+	public static void main(String[] args) {
+		new SpringApplicationBuilder(ReactiveApiApplication.class)
+				.profiles("reactive")
+				.web(WebApplicationType.REACTIVE)
+				.run(args);
+	}
+
+}
@@ -0,0 +1,35 @@
+package com.coupon.api.reactive.configs;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import reactor.core.scheduler.Schedulers;
+
+@Profile("reactive")
+@Configuration
+public class ReactiveDatabaseConfig {
+
+    // r2dbc-h2 runs every statement on the thread that got the connection. Without a scheduler, releasing a connection
+    // hands it to the next waiting request on the releasing thread, so under load one Netty event loop kept serving
+    // the pool's queue and the requests on its own sockets waited until the queue emptied.
+    @Bean(destroyMethod = "dispose")
+    ConnectionPool connectionFactory(R2dbcProperties properties) {
+        ConnectionFactory connectionFactory = ConnectionFactoryBuilder.withUrl(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .build();
+        R2dbcProperties.Pool pool = properties.getPool();
+
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .customizer(builder -> builder.acquisitionScheduler(Schedulers.boundedElastic()))
+                .build());
+    }
+}
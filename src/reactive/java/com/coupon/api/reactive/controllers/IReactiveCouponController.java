@@ -0,0 +1,18 @@
+package com.coupon.api.reactive.controllers;
+
+import com.coupon.api.dtos.coupons.request.CreateCouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponRedeemDTO;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+public interface IReactiveCouponController {
+    Mono<ResponseEntity<CouponDTO>> create(CreateCouponDTO createCouponDTO);
+    Mono<ResponseEntity<CouponRedeemDTO>> use(UUID id, String idempotencyKey);
+    Mono<ResponseEntity<CouponRedeemDTO>> useByCode(String code, String idempotencyKey);
+    Mono<ResponseEntity<CouponDTO>> findById(UUID id);
+    Mono<ResponseEntity<CouponDTO>> findByCode(String code);
+    Mono<ResponseEntity<Void>> delete(UUID id);
+}
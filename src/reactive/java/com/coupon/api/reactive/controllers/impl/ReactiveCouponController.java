@@ -0,0 +1,74 @@
+package com.coupon.api.reactive.controllers.impl;
+
+import com.coupon.api.dtos.coupons.request.CreateCouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponRedeemDTO;
+import com.coupon.api.reactive.controllers.IReactiveCouponController;
+import com.coupon.api.reactive.services.ReactiveCouponService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@Profile("reactive")
+@RestController
+@RequestMapping("${base-path}/coupons")
+public class ReactiveCouponController implements IReactiveCouponController {
+
+    private final ReactiveCouponService couponService;
+
+    @Autowired
+    public ReactiveCouponController(ReactiveCouponService couponService) {
+        this.couponService = couponService;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<CouponDTO>> create(@Valid @RequestBody CreateCouponDTO createCouponDTO) {
+        return couponService.create(createCouponDTO)
+                .map(couponCreated -> ResponseEntity.status(HttpStatus.CREATED).body(couponCreated));
+    }
+
+    @PostMapping("/{id}/redeem")
+    public Mono<ResponseEntity<CouponRedeemDTO>> use(@PathVariable UUID id,
+                                                     @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return couponService.use(id, idempotencyKey)
+                .map(redeemCoupon -> ResponseEntity.status(HttpStatus.OK).body(redeemCoupon));
+    }
+
+    @PostMapping("/code/{code}/redeem")
+    public Mono<ResponseEntity<CouponRedeemDTO>> useByCode(@PathVariable String code,
+                                                           @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return couponService.useByCode(code, idempotencyKey)
+                .map(redeemCoupon -> ResponseEntity.status(HttpStatus.OK).body(redeemCoupon));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<CouponDTO>> findById(@PathVariable UUID id) {
+        return couponService.findById(id)
+                .map(coupon -> ResponseEntity.status(HttpStatus.OK).body(coupon));
+    }
+
+    @GetMapping("/code/{code}")
+    public Mono<ResponseEntity<CouponDTO>> findByCode(@PathVariable String code) {
+        return couponService.findByCode(code)
+                .map(coupon -> ResponseEntity.status(HttpStatus.OK).body(coupon));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> delete(@PathVariable UUID id) {
+        return couponService.delete(id)
+                .then(Mono.fromSupplier(() -> ResponseEntity.status(HttpStatus.NO_CONTENT).build()));
+    }
+}
@@ -0,0 +1,74 @@
+package com.coupon.api.reactive.exceptions.handler;
+
+import com.coupon.api.dtos.exceptions.response.ResponseEntityException;
+import com.coupon.api.exceptions.BadRequestException;
+import com.coupon.api.exceptions.ConflictException;
+import com.coupon.api.exceptions.NotFoundException;
+import com.coupon.api.exceptions.TooManyRequestsException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Mirrors CustomizeExceptionHandler so both runtimes answer with the same status codes and bodies.
+@Profile("reactive")
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ResponseEntityException> handlerAllExceptions(Exception exception, ServerWebExchange exchange) {
+        return response(HttpStatus.INTERNAL_SERVER_ERROR, exception, exchange);
+    }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ResponseEntityException> handlerAllExceptions(BadRequestException exception, ServerWebExchange exchange) {
+        return response(HttpStatus.BAD_REQUEST, exception, exchange);
+    }
+
+    @ExceptionHandler(NotFoundException.class)
+    public ResponseEntity<ResponseEntityException> handlerAllExceptions(NotFoundException exception, ServerWebExchange exchange) {
+        return response(HttpStatus.NOT_FOUND, exception, exchange);
+    }
+
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ResponseEntityException> handlerAllExceptions(ConflictException exception, ServerWebExchange exchange) {
+        return response(HttpStatus.CONFLICT, exception, exchange);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ResponseEntityException> handlerAllExceptions(TooManyRequestsException exception, ServerWebExchange exchange) {
+        return response(HttpStatus.TOO_MANY_REQUESTS, exception, exchange);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Object> handleValidationException(WebExchangeBindException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("moment", Instant.now());
+        response.put("message", "Algo está errado na validação dos campos");
+        response.put("details", ex.getBindingResult()
+                .getFieldErrors()
+                .stream()
+                .map(error -> {
+                    Map<String, String> fieldError = new HashMap<>();
+                    fieldError.put("field", error.getField());
+                    fieldError.put("message", error.getDefaultMessage());
+                    return fieldError;
+                }).collect(Collectors.toList()));
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+    private ResponseEntity<ResponseEntityException> response(HttpStatus status, Exception exception, ServerWebExchange exchange) {
+        ResponseEntityException responseEntityException = new ResponseEntityException(Instant.now(), exception.getMessage(), "uri=" + exchange.getRequest().getPath().value());
+
+        return ResponseEntity.status(status).body(responseEntityException);
+    }
+}
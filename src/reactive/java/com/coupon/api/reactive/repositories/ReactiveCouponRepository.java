@@ -0,0 +1,219 @@
+package com.coupon.api.reactive.repositories;
+
+import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.coupon.api.models.enums.CouponStatus;
+import io.r2dbc.spi.Parameters;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Profile("reactive")
+@Repository
+public class ReactiveCouponRepository {
+
+    // Same redemption count as CouponRepository.SELECT_COUPON_DTO: the flag for single-use coupons, the drained shards otherwise.
+    private static final String SELECT_COUPON = """
+            SELECT id, code, description, discount_value, expiration_date, status, published, redeemed, max_redemptions,
+                CASE WHEN max_redemptions = 1 THEN (CASE WHEN redeemed THEN 1 ELSE 0 END)
+                ELSE max_redemptions - COALESCE((
+                    SELECT CAST(SUM(shard.remaining) AS INTEGER) FROM coupon_redemption_shard shard WHERE shard.coupon_id = coupon.id
+                ), max_redemptions) END AS redemptions,
+                created_at
+            FROM coupon
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public ReactiveCouponRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Void> insert(UUID id, String code, String description, BigDecimal discountValue, LocalDateTime expirationDate,
+                             boolean published, int maxRedemptions, LocalDateTime now) {
+        return databaseClient.sql("""
+                        INSERT INTO coupon (id, code, description, discount_value, expiration_date, created_at, updated_at, status, published, redeemed, max_redemptions, version)
+                        VALUES (:id, :code, :description, :discountValue, :expirationDate, :now, :now, 'ACTIVE', :published, FALSE, :maxRedemptions, 0)
+                        """)
+                .bind("id", id)
+                .bind("code", code)
+                .bind("description", description)
+                .bind("discountValue", discountValue)
+                .bind("expirationDate", nullable(expirationDate, LocalDateTime.class))
+                .bind("now", now)
+                .bind("published", published)
+                .bind("maxRedemptions", maxRedemptions)
+                .then();
+    }
+
+    public Mono<CouponDTO> findById(UUID id) {
+        return databaseClient.sql(SELECT_COUPON + "WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveCouponRepository::toCouponDTO)
+                .one();
+    }
+
+    public Mono<CouponDTO> findByCode(String code) {
+        return databaseClient.sql(SELECT_COUPON + "WHERE active_code = :code")
+                .bind("code", code)
+                .map(ReactiveCouponRepository::toCouponDTO)
+                .one();
+    }
+
+    public Mono<UUID> findIdByCode(String code) {
+        return databaseClient.sql("SELECT id FROM coupon WHERE active_code = :code")
+                .bind("code", code)
+                .map(row -> row.get("id", UUID.class))
+                .one();
+    }
+
+    public Mono<Integer> findMaxRedemptionsById(UUID id) {
+        return databaseClient.sql("SELECT max_redemptions FROM coupon WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get("max_redemptions", Integer.class))
+                .one();
+    }
+
+    public Mono<Integer> lockMaxRedemptions(UUID id) {
+        return databaseClient.sql("SELECT max_redemptions FROM coupon WHERE id = :id FOR UPDATE")
+                .bind("id", id)
+                .map(row -> row.get("max_redemptions", Integer.class))
+                .one();
+    }
+
+    public Mono<Long> redeem(UUID id, LocalDateTime now) {
+        return databaseClient.sql("""
+                        UPDATE coupon SET redeemed = TRUE, updated_at = :now, version = version + 1
+                        WHERE id = :id
+                        AND status = 'ACTIVE'
+                        AND published = TRUE
+                        AND (expiration_date IS NULL OR expiration_date > :now)
+                        AND redeemed = FALSE
+                        AND max_redemptions = 1
+                        """)
+                .bind("id", id)
+                .bind("now", now)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> markDrained(UUID id, LocalDateTime now) {
+        return databaseClient.sql("""
+                        UPDATE coupon SET redeemed = TRUE, updated_at = :now, version = version + 1
+                        WHERE id = :id AND redeemed = FALSE
+                        AND EXISTS (SELECT 1 FROM coupon_redemption_shard WHERE coupon_id = :id)
+                        AND NOT EXISTS (SELECT 1 FROM coupon_redemption_shard WHERE coupon_id = :id AND remaining > 0)
+                        """)
+                .bind("id", id)
+                .bind("now", now)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Flux<Integer> findAvailableShards(UUID couponId) {
+        return databaseClient.sql("SELECT shard FROM coupon_redemption_shard WHERE coupon_id = :couponId AND remaining > 0")
+                .bind("couponId", couponId)
+                .map(row -> row.get("shard", Integer.class))
+                .all();
+    }
+
+    public Mono<Long> countShards(UUID couponId) {
+        return databaseClient.sql("SELECT COUNT(*) AS shards FROM coupon_redemption_shard WHERE coupon_id = :couponId")
+                .bind("couponId", couponId)
+                .map(row -> row.get("shards", Long.class))
+                .one();
+    }
+
+    public Mono<Long> takeShard(UUID couponId, int shard, LocalDateTime now) {
+        return databaseClient.sql("""
+                        UPDATE coupon_redemption_shard SET remaining = remaining - 1, updated_at = :now
+                        WHERE coupon_id = :couponId
+                        AND shard = :shard
+                        AND remaining > 0
+                        AND EXISTS (
+                            SELECT 1 FROM coupon
+                            WHERE id = :couponId
+                            AND status = 'ACTIVE'
+                            AND published = TRUE
+                            AND (expiration_date IS NULL OR expiration_date > :now)
+                            AND redeemed = FALSE
+                        )
+                        """)
+                .bind("couponId", couponId)
+                .bind("shard", shard)
+                .bind("now", now)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> openShard(UUID couponId, int shard, int remaining) {
+        return databaseClient.sql("""
+                        INSERT INTO coupon_redemption_shard (coupon_id, shard, remaining)
+                        SELECT :couponId, :shard, :remaining
+                        WHERE NOT EXISTS (SELECT 1 FROM coupon_redemption_shard WHERE coupon_id = :couponId AND shard = :shard)
+                        """)
+                .bind("couponId", couponId)
+                .bind("shard", shard)
+                .bind("remaining", remaining)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> delete(UUID id, LocalDateTime now) {
+        return databaseClient.sql("""
+                        UPDATE coupon SET status = 'DELETED', updated_at = :now, version = version + 1
+                        WHERE id = :id AND status <> 'DELETED'
+                        """)
+                .bind("id", id)
+                .bind("now", now)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Void> insertRedemption(UUID id, UUID couponId, String idempotencyKey, LocalDateTime redeemedAt) {
+        return databaseClient.sql("""
+                        INSERT INTO coupon_redemption (id, coupon_id, idempotency_key, redeemed_at)
+                        VALUES (:id, :couponId, :idempotencyKey, :redeemedAt)
+                        """)
+                .bind("id", id)
+                .bind("couponId", couponId)
+                .bind("idempotencyKey", nullable(idempotencyKey, String.class))
+                .bind("redeemedAt", redeemedAt)
+                .then();
+    }
+
+    public Mono<UUID> findCouponIdByIdempotencyKey(String idempotencyKey) {
+        return databaseClient.sql("SELECT coupon_id FROM coupon_redemption WHERE idempotency_key = :idempotencyKey")
+                .bind("idempotencyKey", idempotencyKey)
+                .map(row -> row.get("coupon_id", UUID.class))
+                .one();
+    }
+
+    private static Object nullable(Object value, Class<?> type) {
+        return value == null ? Parameters.in(type) : value;
+    }
+
+    private static CouponDTO toCouponDTO(Readable row) {
+        return new CouponDTO(
+                row.get("id", UUID.class),
+                row.get("code", String.class),
+                row.get("description", String.class),
+                row.get("discount_value", BigDecimal.class).doubleValue(),
+                row.get("expiration_date", LocalDateTime.class),
+                CouponStatus.valueOf(row.get("status", String.class)),
+                Boolean.TRUE.equals(row.get("published", Boolean.class)),
+                Boolean.TRUE.equals(row.get("redeemed", Boolean.class)),
+                row.get("max_redemptions", Integer.class),
+                row.get("redemptions", Integer.class),
+                row.get("created_at", LocalDateTime.class)
+        );
+    }
+}
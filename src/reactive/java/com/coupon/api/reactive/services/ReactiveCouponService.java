@@ -0,0 +1,230 @@
+package com.coupon.api.reactive.services;
+
+import com.coupon.api.dtos.coupons.request.CreateCouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponRedeemDTO;
+import com.coupon.api.exceptions.BadRequestException;
+import com.coupon.api.exceptions.ConflictException;
+import com.coupon.api.exceptions.NotFoundException;
+import com.coupon.api.metrics.CouponMetrics;
+import com.coupon.api.models.enums.CouponStatus;
+import com.coupon.api.models.enums.RedeemRejectionReason;
+import com.coupon.api.models.ids.UuidV7Generator;
+import com.coupon.api.reactive.repositories.ReactiveCouponRepository;
+import com.coupon.api.reactive.services.redemptions.ReactiveCouponRedemptionCounter;
+import com.coupon.api.services.codes.CouponCodeNormalizer;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Profile("reactive")
+@Service
+public class ReactiveCouponService {
+
+    private static final int IDEMPOTENCY_KEY_MAX_LENGTH = 100;
+
+    private final ReactiveCouponRepository couponRepository;
+    private final ReactiveCouponRedemptionCounter couponRedemptionCounter;
+    private final CouponCodeNormalizer couponCodeNormalizer;
+    private final CouponMetrics couponMetrics;
+    private final TransactionalOperator transactionalOperator;
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    @Autowired
+    public ReactiveCouponService(ReactiveCouponRepository couponRepository,
+                                 ReactiveCouponRedemptionCounter couponRedemptionCounter,
+                                 CouponCodeNormalizer couponCodeNormalizer,
+                                 CouponMetrics couponMetrics,
+                                 TransactionalOperator transactionalOperator,
+                                 @Value("${coupon.retry.max-attempts:3}") int maxAttempts,
+                                 @Value("${coupon.retry.backoff-millis:10}") long backoffMillis) {
+        this.couponRepository = couponRepository;
+        this.couponRedemptionCounter = couponRedemptionCounter;
+        this.couponCodeNormalizer = couponCodeNormalizer;
+        this.couponMetrics = couponMetrics;
+        this.transactionalOperator = transactionalOperator;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+    }
+
+    public Mono<CouponDTO> create(CreateCouponDTO createCouponDTO) {
+        return record(CouponMetrics.CREATE, Mono.defer(() -> {
+            String cleanCode = couponCodeNormalizer.normalize(createCouponDTO.code());
+
+            if (cleanCode == null) {
+                return Mono.error(new BadRequestException("Código do cupom deve igual a 6 caracteres alfanuméricos"));
+            }
+
+            UUID id = UuidV7Generator.generate();
+            int maxRedemptions = createCouponDTO.maxRedemptions() != null ? createCouponDTO.maxRedemptions() : 1;
+
+            return couponRepository.insert(
+                            id,
+                            cleanCode,
+                            createCouponDTO.description(),
+                            BigDecimal.valueOf(createCouponDTO.discountValue()),
+                            createCouponDTO.expirationDate(),
+                            createCouponDTO.published(),
+                            maxRedemptions,
+                            LocalDateTime.now()
+                    )
+                    .onErrorMap(DataIntegrityViolationException.class, exception -> new ConflictException("Já existe um cupom ativo com este código"))
+                    .then(couponRepository.findById(id));
+        }));
+    }
+
+    public Mono<CouponDTO> findById(UUID id) {
+        return record(CouponMetrics.FIND, couponRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Cupom não encontrado"))));
+    }
+
+    public Mono<CouponDTO> findByCode(String code) {
+        return record(CouponMetrics.FIND, Mono.justOrEmpty(couponCodeNormalizer.normalize(code))
+                .flatMap(couponRepository::findByCode)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Cupom não encontrado"))));
+    }
+
+    public Mono<CouponRedeemDTO> use(UUID id, String idempotencyKey) {
+        return record(CouponMetrics.REDEEM, validateIdempotencyKey(idempotencyKey)
+                .then(replay(id, idempotencyKey))
+                .switchIfEmpty(Mono.defer(() -> redeem(id, idempotencyKey))));
+    }
+
+    public Mono<CouponRedeemDTO> useByCode(String code, String idempotencyKey) {
+        return record(CouponMetrics.REDEEM, validateIdempotencyKey(idempotencyKey)
+                .then(Mono.justOrEmpty(couponCodeNormalizer.normalize(code)))
+                .flatMap(couponRepository::findIdByCode)
+                .switchIfEmpty(Mono.error(() -> rejected(RedeemRejectionReason.NOT_FOUND)))
+                .flatMap(id -> replay(id, idempotencyKey).switchIfEmpty(Mono.defer(() -> redeem(id, idempotencyKey)))));
+    }
+
+    public Mono<Void> delete(UUID id) {
+        return record(CouponMetrics.DELETE, couponRepository.delete(id, LocalDateTime.now())
+                .filter(updated -> updated == 1)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Cupom não encontrado ou já excluído")))
+                .then());
+    }
+
+    private <T> Mono<T> record(String operation, Mono<T> action) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = couponMetrics.start();
+
+            return action
+                    .doOnSuccess(value -> couponMetrics.stop(sample, operation, null))
+                    .doOnError(exception -> couponMetrics.stop(sample, operation, exception));
+        });
+    }
+
+    private Mono<Void> validateIdempotencyKey(String idempotencyKey) {
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > IDEMPOTENCY_KEY_MAX_LENGTH)) {
+            return Mono.error(new BadRequestException("A chave de idempotência deve ter entre 1 e " + IDEMPOTENCY_KEY_MAX_LENGTH + " caracteres"));
+        }
+
+        return Mono.empty();
+    }
+
+    private Mono<CouponRedeemDTO> replay(UUID id, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return Mono.empty();
+        }
+
+        return couponRepository.findCouponIdByIdempotencyKey(idempotencyKey).flatMap(couponId -> {
+            if (!couponId.equals(id)) {
+                return Mono.error(new ConflictException("A chave de idempotência já foi usada para outro cupom"));
+            }
+
+            couponMetrics.redeemReplayed();
+
+            return Mono.just(new CouponRedeemDTO(couponId, true));
+        });
+    }
+
+    private Mono<CouponRedeemDTO> redeem(UUID id, String idempotencyKey) {
+        return Mono.defer(() -> redeemOnce(id, idempotencyKey, LocalDateTime.now()))
+                .retryWhen(Retry.backoff(maxAttempts - 1, Duration.ofMillis(backoffMillis))
+                        .filter(ConcurrencyFailureException.class::isInstance)
+                        .onRetryExhaustedThrow((spec, signal) -> new ConflictException("O cupom foi alterado por outra requisição, tente novamente")));
+    }
+
+    private Mono<CouponRedeemDTO> redeemOnce(UUID id, String idempotencyKey, LocalDateTime now) {
+        return tryRedeem(id, idempotencyKey, now)
+                .filter(Boolean::booleanValue)
+                .switchIfEmpty(Mono.defer(() -> couponRedemptionCounter.open(id)
+                        .flatMap(opened -> opened ? tryRedeem(id, idempotencyKey, now) : Mono.just(false))))
+                .flatMap(redeemed -> redeemed
+                        ? Mono.just(new CouponRedeemDTO(id, true))
+                        : replay(id, idempotencyKey).switchIfEmpty(Mono.defer(() -> rejected(id, now))))
+                .onErrorResume(DataIntegrityViolationException.class, exception -> replay(id, idempotencyKey)
+                        .switchIfEmpty(Mono.error(exception)));
+    }
+
+    private Mono<Boolean> tryRedeem(UUID id, String idempotencyKey, LocalDateTime now) {
+        return couponRepository.redeem(id, now)
+                .flatMap(updated -> updated == 1 ? Mono.just(true) : couponRedemptionCounter.take(id, now))
+                .flatMap(redeemed -> redeemed
+                        ? couponRepository.insertRedemption(UuidV7Generator.generate(), id, idempotencyKey, now).thenReturn(true)
+                        : Mono.just(false))
+                .as(transactionalOperator::transactional);
+    }
+
+    private Mono<CouponRedeemDTO> rejected(UUID id, LocalDateTime now) {
+        return couponRepository.findById(id)
+                .flatMap(coupon -> {
+                    RedeemRejectionReason reason = explainRejectedRedeem(coupon, now);
+
+                    if (!RedeemRejectionReason.LIMIT_REACHED.equals(reason) || coupon.redeemed()) {
+                        return Mono.just(reason);
+                    }
+
+                    // Redeems draining the last shards at once can each miss the other's take, so the rejection sets the flag
+                    // they left unset; shards that still have uses mean this redeem lost a race and is retried.
+                    return couponRepository.markDrained(id, now).flatMap(updated -> updated == 1
+                            ? Mono.just(reason)
+                            : Mono.error(new OptimisticLockingFailureException("O cupom foi alterado durante o resgate")));
+                })
+                .defaultIfEmpty(RedeemRejectionReason.NOT_FOUND)
+                .flatMap(reason -> Mono.error(rejected(reason)));
+    }
+
+    private RuntimeException rejected(RedeemRejectionReason reason) {
+        couponMetrics.redeemRejected(reason);
+
+        return reason.toException();
+    }
+
+    private RedeemRejectionReason explainRejectedRedeem(CouponDTO coupon, LocalDateTime now) {
+        boolean expired = coupon.expirationDate() != null && !coupon.expirationDate().isAfter(now);
+
+        if (CouponStatus.INACTIVE.equals(coupon.status()) && expired) {
+            return RedeemRejectionReason.EXPIRED;
+        }
+
+        if (!CouponStatus.ACTIVE.equals(coupon.status())) {
+            return RedeemRejectionReason.INACTIVE;
+        }
+
+        if (!coupon.published()) {
+            return RedeemRejectionReason.UNPUBLISHED;
+        }
+
+        if (expired) {
+            return RedeemRejectionReason.EXPIRED;
+        }
+
+        return coupon.maxRedemptions() > 1 ? RedeemRejectionReason.LIMIT_REACHED : RedeemRejectionReason.ALREADY_REDEEMED;
+    }
+}
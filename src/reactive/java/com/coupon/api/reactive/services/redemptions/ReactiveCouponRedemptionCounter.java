@@ -0,0 +1,75 @@
+package com.coupon.api.reactive.services.redemptions;
+
+import com.coupon.api.reactive.repositories.ReactiveCouponRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Profile("reactive")
+@Component
+public class ReactiveCouponRedemptionCounter {
+
+    private final ReactiveCouponRepository couponRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final int shards;
+
+    @Autowired
+    public ReactiveCouponRedemptionCounter(ReactiveCouponRepository couponRepository,
+                                           TransactionalOperator transactionalOperator,
+                                           @Value("${coupon.redemptions.shards:16}") int shards) {
+        this.couponRepository = couponRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.shards = shards;
+    }
+
+    public Mono<Boolean> take(UUID couponId, LocalDateTime now) {
+        return couponRepository.findAvailableShards(couponId).collectList().flatMap(available -> {
+            if (available.isEmpty()) {
+                return Mono.just(false);
+            }
+
+            return takeAny(couponId, available, now).flatMap(taken -> taken
+                    ? couponRepository.markDrained(couponId, now).thenReturn(true)
+                    : Mono.just(false));
+        });
+    }
+
+    public Mono<Boolean> open(UUID couponId) {
+        return couponRepository.findMaxRedemptionsById(couponId)
+                .filter(maxRedemptions -> maxRedemptions > 1)
+                .filterWhen(maxRedemptions -> couponRepository.countShards(couponId).map(count -> count == 0))
+                .flatMap(maxRedemptions -> couponRepository.lockMaxRedemptions(couponId)
+                        // Concurrent opens of the same coupon queue on its row, so the later ones find the shards instead of colliding on their keys.
+                        .then(couponRepository.countShards(couponId))
+                        .filter(count -> count == 0)
+                        .flatMap(count -> openShards(couponId, maxRedemptions))
+                        .as(transactionalOperator::transactional)
+                        .thenReturn(true))
+                .defaultIfEmpty(false);
+    }
+
+    private Mono<Boolean> takeAny(UUID couponId, List<Integer> available, LocalDateTime now) {
+        int start = ThreadLocalRandom.current().nextInt(available.size());
+
+        return Flux.range(0, available.size())
+                .concatMap(offset -> couponRepository.takeShard(couponId, available.get((start + offset) % available.size()), now))
+                .any(updated -> updated == 1);
+    }
+
+    private Mono<Void> openShards(UUID couponId, int maxRedemptions) {
+        int count = Math.min(shards, maxRedemptions);
+
+        return Flux.range(0, count)
+                .concatMap(shard -> couponRepository.openShard(couponId, shard, maxRedemptions / count + (shard < maxRedemptions % count ? 1 : 0)))
+                .then();
+    }
+}
@@ -0,0 +1,68 @@
+-- Same DDL Hibernate generates for the JPA entities, so both applications share one schema.
+
+CREATE TABLE IF NOT EXISTS coupon (
+    discount_value numeric(10,2) not null,
+    max_redemptions integer not null,
+    published boolean not null,
+    redeemed boolean not null,
+    code varchar(6) not null,
+    created_at timestamp(6) not null,
+    expiration_date timestamp(6),
+    updated_at timestamp(6) not null,
+    version bigint not null,
+    id uuid not null,
+    description varchar(300) not null,
+    active_code varchar(6) generated always as (case when status <> 'DELETED' then code end),
+    status enum ('ACTIVE','DELETED','INACTIVE') not null,
+    primary key (id),
+    constraint ux_coupon_active_code unique (active_code)
+);
+
+CREATE TABLE IF NOT EXISTS coupon_archive (
+    discount_value numeric(10,2) not null,
+    max_redemptions integer not null,
+    published boolean not null,
+    redeemed boolean not null,
+    redemptions integer not null,
+    code varchar(6) not null,
+    archived_at timestamp(6) not null,
+    created_at timestamp(6) not null,
+    deleted_at timestamp(6) not null,
+    expiration_date timestamp(6),
+    id uuid not null,
+    description varchar(300) not null,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS coupon_code_allocation (
+    next_value bigint not null,
+    name varchar(50) not null,
+    primary key (name)
+);
+
+CREATE TABLE IF NOT EXISTS coupon_redemption (
+    redeemed_at timestamp(6) not null,
+    coupon_id uuid not null,
+    id uuid not null,
+    idempotency_key varchar(100),
+    primary key (id),
+    constraint ux_coupon_redemption_idempotency_key unique (idempotency_key)
+);
+
+CREATE TABLE IF NOT EXISTS coupon_redemption_shard (
+    remaining integer not null,
+    shard integer not null,
+    updated_at timestamp(6),
+    coupon_id uuid not null,
+    primary key (shard, coupon_id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_coupon_created_at_id ON coupon (created_at, id);
+
+CREATE INDEX IF NOT EXISTS ix_coupon_status_created_at_id ON coupon (status, created_at, id);
+
+CREATE INDEX IF NOT EXISTS ix_coupon_status_expiration_date ON coupon (status, expiration_date);
+
+CREATE INDEX IF NOT EXISTS ix_coupon_status_updated_at ON coupon (status, updated_at);
+
+CREATE INDEX IF NOT EXISTS ix_coupon_redemption_coupon_id ON coupon_redemption (coupon_id);
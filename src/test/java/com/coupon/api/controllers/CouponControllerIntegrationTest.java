@@ -1,11 +1,20 @@
 package com.coupon.api.controllers;
 
 import com.coupon.api.dtos.coupons.request.CreateCouponDTO;
+import com.coupon.api.dtos.coupons.request.GenerateCouponsDTO;
+import com.coupon.api.dtos.coupons.response.CouponBatchReportDTO;
 import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponImportReportDTO;
+import com.coupon.api.dtos.coupons.response.CouponRedeemDTO;
+import com.coupon.api.dtos.coupons.response.CouponRedemptionTicketDTO;
 import com.coupon.api.dtos.exceptions.response.ResponseEntityException;
 import com.coupon.api.models.enums.CouponStatus;
+import com.coupon.api.models.enums.RedemptionTicketStatus;
+import com.coupon.api.repositories.CouponRedemptionRepository;
+import com.coupon.api.services.CouponBatchService;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.EncoderConfig;
 import io.restassured.filter.log.LogDetail;
 import io.restassured.filter.log.RequestLoggingFilter;
 import io.restassured.filter.log.ResponseLoggingFilter;
@@ -13,12 +22,22 @@ import io.restassured.http.ContentType;
 import io.restassured.specification.RequestSpecification;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT)
@@ -33,6 +52,12 @@ public class CouponControllerIntegrationTest {
     private static LocalDateTime expirationDate;
     private static CreateCouponDTO couponToCreate;
 
+    @Autowired
+    private CouponRedemptionRepository couponRedemptionRepository;
+
+    @Autowired
+    private CouponBatchService couponBatchService;
+
     @BeforeAll
     void setUp() {
         basePath = "/api/v1/coupons";
@@ -44,10 +69,14 @@ public class CouponControllerIntegrationTest {
                 .addFilter(new ResponseLoggingFilter(LogDetail.ALL))
                 .build();
 
-        code = "ABC123";
         description = "Foo Bar";
         discountValue = 0.8;
         expirationDate = LocalDateTime.of(2050, 12, 1, 5, 5, 15);
+    }
+
+    @BeforeEach
+    void setUpCoupon() {
+        code = UUID.randomUUID().toString().substring(0, 6).toUpperCase();
         couponToCreate = new CreateCouponDTO(
                 code,
                 description,
@@ -83,6 +112,344 @@ public class CouponControllerIntegrationTest {
         Assertions.assertFalse(response.redeemed());
     }
 
+    @Test
+    void integrationTestCreateBatch_GivenMixedCoupons_ShouldCreateValidOnesAndReportTheRest() {
+        String otherCode = UUID.randomUUID().toString().substring(0, 6).toUpperCase();
+
+        List<Object> coupons = List.of(
+                couponToCreate,
+                new CreateCouponDTO(otherCode, description, discountValue, expirationDate, true),
+                couponToCreate,
+                new CreateCouponDTO("ABCD-123", description, discountValue, expirationDate, false),
+                new CreateCouponDTO("XYZ789", "", 0.1, expirationDate, false),
+                Map.of("discountValue", "foo")
+        );
+
+        CouponBatchReportDTO response = RestAssured
+                .given()
+                .spec(requestSpecification)
+                .basePath(basePath + "/batch")
+                .contentType(ContentType.JSON)
+                .body(coupons)
+                .when()
+                .post()
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .body()
+                .as(CouponBatchReportDTO.class);
+
+        Assertions.assertEquals(6, response.total());
+        Assertions.assertEquals(2, response.created());
+        Assertions.assertEquals(4, response.rejected());
+        Assertions.assertTrue(response.items().get(0).created());
+        Assertions.assertTrue(response.items().get(1).created());
+        Assertions.assertEquals(List.of("Já existe um cupom ativo com este código"), response.items().get(2).errors());
+        Assertions.assertEquals(List.of("Código do cupom deve igual a 6 caracteres alfanuméricos"), response.items().get(3).errors());
+        Assertions.assertEquals(2, response.items().get(4).errors().size());
+        Assertions.assertEquals(List.of("Formato do cupom inválido"), response.items().get(5).errors());
+
+        CouponDTO created = RestAssured
+                .given()
+                .spec(requestSpecification)
+                .basePath(basePath + "/" + response.items().get(1).id())
+                .when()
+                .get()
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .body()
+                .as(CouponDTO.class);
+
+        Assertions.assertEquals(otherCode, created.code());
+        Assertions.assertTrue(created.published());
+    }
+
+    @Test
+    void integrationTestCreateBatch_GivenValidCouponsFollowedByMalformedJson_ShouldCreateThemAndReportWhereReadingStopped() {
+        String otherCode = UUID.randomUUID().toString().substring(0, 6).toUpperCase();
+        String body = "["
+                + "{\"code\":\"" + code + "\",\"description\":\"Foo Bar\",\"discountValue\":0.8,\"expirationDate\":\"2050-12-01T05:05:15\"},"
+                + "{\"code\":\"" + otherCode + "\",\"description\":\"Foo Bar\",\"discountValue\":0.8,\"expirationDate\":\"2050-12-01T05:05:15\"},"
+                + "{not json";
+
+        CouponBatchReportDTO response = RestAssured
+                .given()
+                .spec(requestSpecification)
+                .basePath(basePath + "/batch")
+                .contentType(ContentType.JSON)
+                .body(body)
+                .when()
+                .post()
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .body()
+                .as(CouponBatchReportDTO.class);
+
+        Assertions.assertEquals(3, response.total());
+        Assertions.assertEquals(2, response.created());
+        Assertions.assertEquals(1, response.rejected());
+        Assertions.assertEquals(2, response.items().get(2).index());
+        Assertions.assertEquals(List.of("Lista de cupons malformada a partir deste item, os itens seguintes não foram processados"), response.items().get(2).errors());
+
+        RestAssured
+                .given()
+                .spec(requestSpecification)
+                .basePath(basePath + "/" + response.items().get(1).id())
+                .when()
+                .get()
+                .then()
+                .statusCode(HttpStatus.OK.value());
+    }
+
+    @Test
+    void integrationTestImport_GivenNdjsonFile_ShouldImportValidRowsAndWriteTheRestToTheErrorFile() {
+        String otherCode = UUID.randomUUID().toString().substring(0, 6).toUpperCase();
+        String body = String.join("\n",
+                "{\"code\":\"" + code + "\",\"description\":\"Foo Bar\",\"discountValue\":0.8,\"expirationDate\":\"2050-12-01T05:05:15\",\"published\":true}",
+                "{\"code\":\"" + otherCode.substring(0, 3) + "-" + otherCode.substring(3) + "\",\"description\":\"Foo Bar\",\"discountValue\":0.8,\"expirationDate\":\"2050-12-01T05:05:15\",\"published\":true}",
+                "",
+                "{\"code\":\"" + code + "\",\"description\":\"Foo Bar\",\"discountValue\":0.8,\"expirationDate\":\"2050-12-01T05:05:15\",\"published\":true}",
+                "{\"code\":\"ABCD-123\",\"description\":\"Foo Bar\",\"discountValue\":0.8,\"expirationDate\":\"2050-12-01T05:05:15\"}",
+                "{not json"
+        );
+
+        CouponImportReportDTO report = RestAssured
+                .given()
+                .spec(requestSpecification)
+                .basePath(basePath + "/import")
+                .config(RestAssured.config().encoderConfig(EncoderConfig.encoderConfig()
+                        .encodeContentTypeAs("application/x-ndjson", ContentType.TEXT)))
+                .contentType("application/x-ndjson")
+                .body(body)
+                .when()
+                .post()
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .body()
+                .as(CouponImportReportDTO.class);
+
+        Assertions.assertEquals(5, report.total());
+        Assertions.assertEquals(2, report.imported());
+        Assertions.assertEquals(3, report.rejected());
+        Assertions.assertTrue(report.rowsPerSecond() > 0);
+
+        List<String> errors = RestAssured
+                .given()
+                .spec(requestSpecification)
+                .basePath(basePath + "/import/" + report.id() + "/errors")
+                .when()
+                .get()
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .contentType("application/x-ndjson")
+                .extract()
+                .body()
+                .asString()
+                .lines()
+                .toList();
+
+        Assertions.assertEquals(3, errors.size());
+        Assertions.assertTrue(errors.stream().anyMatch(error -> error.contains("\"index\":2") && error.contains("Já existe um cupom ativo com este código")));
+        Assertions.assertTrue(errors.stream().anyMatch(error -> error.contains("\"index\":3") && error.contains("Código do cupom deve igual a 6 caracteres alfanuméricos")));
+        Assertions.assertTrue(errors.stream().anyMatch(error -> error.contains("\"index\":4") && error.contains("Formato do cupom inválido")));
+
+        RestAssured
+                .given()
+                .spec(requestSpecification)
+                .basePath(basePath + "/code/" + otherCode)
+                .when()
+                .get()
+                .then()
+                .statusCode(HttpStatus.OK.value());
+    }
+
+    @Test
+    void integrationTestImport_GivenNdjsonLineLongerThanTheLimit_ShouldRejectItAndKeepImporting() {
+        String otherCode = UUID.randomUUID().toString().substring(0, 6).toUpperCase();
+        String body = String.join("\n",
+                "{\"code\":\"" + code + "\",\"description\":\"Foo Bar\",\"discountValue\":0.8,\"expirationDate\":\"2050-12-01T05:05:15\"}",
+                "{\"code\":\"XYZ789\",\"description\":\"" + "x".repeat(100_000) + "\",\"discountValue\":0.8}",
+                "{\"code\":\"" + otherCode + "\",\"description\":\"Foo Bar\",\"discountValue\":0.8,\"expirationDate\":\"2050-12-01T05:05:15\"}"
+        );
+
+        CouponImportReportDTO report = RestAssured
+                .given()
+                .spec(requestSpecification)
+                .basePath(basePath + "/import")
+                .config(RestAssured.config().encoderConfig(EncoderConfig.encoderConfig()
+                        .encodeContentTypeAs("application/x-ndjson", ContentType.TEXT)))
+                .contentType("application/x-ndjson")
+                .body(body)
+                .when()
+                .post()
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .body()
+                .as(CouponImportReportDTO.class);
+
+        Assertions.assertEquals(3, report.total());
+        Assertions.assertEquals(2, report.imported());
+        Assertions.assertEquals(1, report.rejected());
+
+        String errors = RestAssured
+                .given()
+                .spec(requestSpecification)
+                .basePath(basePath + "/import/" + report.id() + "/errors")
+                .when()
+                .get()
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .body()
+                .asString();
+
+        Assertions.assertTrue(errors.contains("\"index\":1") && errors.contains("Linha maior que o limite de 65536 caracteres"), errors);
+    }
+
+    @Test
+    void integrationTestSweepImportErrors_GivenErrorFileOlderThanTheRetention_ShouldDeleteIt() throws IOException {
+        CouponImportReportDTO report = RestAssured
+                .given()
+                .spec(requestSpecification)
+                .basePath(basePath + "/import")
+                .config(RestAssured.config().encoderConfig(EncoderConfig.encoderConfig()
+                        .encodeContentTypeAs("application/x-ndjson", ContentType.TEXT)))
+                .contentType("application/x-ndjson")
+                .body("{not json")
+                .when()
+                .post()
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .body()
+                .as(CouponImportReportDTO.class);
+
+        Path errors = couponBatchService.findImportErrors(report.id());
+
+        couponBatchService.sweepImportErrors();
+
+        Assertions.assertTrue(Files.exists(errors));
+
+        Files.setLastModifiedTime(errors, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+
+        Assertions.assertTrue(couponBatchService.sweepImportErrors() >= 1);
+
+        RestAssured
+                .given()
+                .spec(requestSpecification)
+                .basePath(basePath + "/import/" + report.id() + "/errors")
+                .when()
+                .get()
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
+    @Test
+    void integrationTestImport_GivenCsvFileWithoutRejections_ShouldImportEveryRowAndKeepNoErrorFile() {
+        String otherCode = UUID.randomUUID().toString().substring(0, 6).toUpperCase();
+        String body = String.join("\n",
+                "code,description,discountValue,expirationDate,published,maxRedemptions",
+                code + ",Foo Bar,0.8,2050-12-01T05:05:15,true,",
+                otherCode + ",\"Foo, Bar\",0.5,2050-12-01T05:05:15,false,10"
+        );
+
+        CouponImportReportDTO report = RestAssured
+                .given()
+                .spec(requestSpecification)
+                .basePath(basePath + "/import")
+                .queryParam("format", "csv")
+                .contentType("text/csv")
+                .body(body)
+                .when()
+                .post()
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .body()
+                .as(CouponImportReportDTO.class);
+
+        Assertions.assertEquals(2, report.total());
+        Assertions.assertEquals(2, report.imported());
+        Assertions.assertEquals(0, report.rejected());
+
+        CouponDTO imported = RestAssured
+                .given()
+                .spec(requestSpecification)
+                .basePath(basePath + "/code/" + otherCode)
+                .when()
+                .get()
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .body()
+                .as(CouponDTO.class);
+
+        Assertions.assertEquals("Foo, Bar", imported.description());
+        Assertions.assertEquals(10, imported.maxRedemptions());
+        Assertions.assertFalse(imported.published());
+
+        RestAssured
+                .given()
+                .spec(requestSpecification)
+                .basePath(basePath + "/import/" + report.id() + "/errors")
+                .when()
+                .get()
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
+    @Test
+    void integrationTestGenerate_GivenCount_ShouldCreateThatManyCouponsWithDistinctCodes() {
+        GenerateCouponsDTO generateCouponsDTO = new GenerateCouponsDTO(description, discountValue, expirationDate, true);
+
+        List<CouponDTO> response = RestAssured
+                .given()
+                .spec(requestSpecification)
+                .basePath(basePath + "/generate")
+                .queryParam("count", 1500)
+                .contentType(ContentType.JSON)
+                .body(generateCouponsDTO)
+                .when()
+                .post()
+                .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .extract()
+                .body()
+                .jsonPath()
+                .getList(".", CouponDTO.class);
+
+        Assertions.assertEquals(1500, response.size());
+        Assertions.assertEquals(1500, response.stream().map(CouponDTO::code).distinct().count());
+        Assertions.assertTrue(response.stream().allMatch(coupon -> coupon.code().matches("[0-9A-Z]{6}")));
+        Assertions.assertTrue(response.stream().allMatch(CouponDTO::published));
+    }
+
+    @Test
+    void integrationTestGenerate_GivenCountAboveTheLimit_ShouldReturnBadRequestHttpCode() {
+        GenerateCouponsDTO generateCouponsDTO = new GenerateCouponsDTO(description, discountValue, expirationDate, true);
+
+        ResponseEntityException response = RestAssured
+                .given()
+                .spec(requestSpecification)
+                .basePath(basePath + "/generate")
+                .queryParam("count", 10001)
+                .contentType(ContentType.JSON)
+                .body(generateCouponsDTO)
+                .when()
+                .post()
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value())
+                .extract()
+                .body()
+                .as(ResponseEntityException.class);
+
+        Assertions.assertEquals("A quantidade de cupons gerados deve estar entre 1 e 10000", response.getMessage());
+    }
+
     @Test
     void integrationTestFindCouponById_GivenValidId_ShouldReturnACoupon() {
         CouponStatus status = CouponStatus.ACTIVE;
@@ -119,6 +486,297 @@ public class CouponControllerIntegrationTest {
         Assertions.assertFalse(response.redeemed());
     }
 
+    @Test
+    void integrationTestFindCouponById_GivenCurrentETag_ShouldReturnNotModifiedUntilTheCouponChanges() {
+        CouponDTO created = RestAssured
+                .given()
+                .spec(requestSpecification)
+                .contentType(ContentType.JSON)
+                .body(new CreateCouponDTO(code, description, discountValue, expirationDate, true))
+                .when()
+                .post()
+                .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .extract().as(CouponDTO.class);
+
+        String etag = RestAssured
+                .given()
+                .spec(requestSpecification)
+                .basePath(basePath + "/" + created.id())
+                .when()
+                .get()
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .header("ETag");
+
+        RestAssured
+                .given()
+                .spec(requestSpecification)
+                .basePath(basePath + "/" + created.id())
+                .header("If-None-Match", etag)
+                .when()
+                .get()
+                .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value());
+
+        RestAssured
+                .given()
+                .spec(requestSpecification)
+                .basePath(basePath + "/" + created.id() + "/redeem")
+                .when()
+                .post()
+                .then()
+                .statusCode(HttpStatus.OK.value());
+
+        CouponDTO response = RestAssured
+                .given()
+                .spec(requestSpecification)
+                .basePath(basePath + "/" + created.id())
+                .header("If-None-Match", etag)
+                .when()
+                .get()
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .body()
+                .as(CouponDTO.class);
+
+        Assertions.assertTrue(response.redeemed());
+    }
+
+    @Test
+    void integrationTestCreateCoupon_GivenCodeOfAnActiveCoupon_ShouldReturnConflictHttpCode() {
+        RestAssured
+                .given()
+                .spec(requestSpecification)
+                .contentType(ContentType.JSON)
+                .body(couponToCreate)
+                .when()
+                .post()
+                .then()
+                .statusCode(HttpStatus.CREATED.value());
+
+        ResponseEntityException response = RestAssured
+                .given()
+                .spec(requestSpecification)
+                .contentType(ContentType.JSON)
+                .body(couponToCreate)
+                .when()
+                .post()
+                .then()
+                .statusCode(HttpStatus.CONFLICT.value())
+                .extract()
+                .body()
+                .as(ResponseEntityException.class);
+
+        Assertions.assertEquals("Já existe um cupom ativo com este código", response.getMessage());
+    }
+
+    @Test
+    void integrationTestCreateCoupon_GivenDiscountValueThatOverflowsTheColumn_ShouldNotReturnConflictHttpCode() {
+        ResponseEntityException response = RestAssured
+                .given()
+                .spec(requestSpecification)
+                .contentType(ContentType.JSON)
+                .body(new CreateCouponDTO(code, description, 1e12, expirationDate, false))
+                .when()
+                .post()
+                .then()
+                .statusCode(HttpStatus.INTERNAL_SERVER_ERROR.value())
+                .extract()
+                .body()
+                .as(ResponseEntityException.class);
+
+        Assertions.assertNotEquals("Já existe um cupom ativo com este código", response.getMessage());
+    }
+
+    @Test
+    void integrationTestFindCouponByCode_GivenCodeOfAnActiveCoupon_ShouldReturnACoupon() {
+        CouponDTO created = RestAssured
+                .given()
+                .spec(requestSpecification)
+                .contentType(ContentType.JSON)
+                .body(couponToCreate)
+                .when()
+                .post()
+                .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .extract().as(CouponDTO.class);
+
+        CouponDTO response = RestAssured
+                .given()
+                .spec(requestSpecification)
+                .basePath(basePath + "/code/" + code)
+                .when()
+                .get()
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .body()
+                .as(CouponDTO.class);
+
+        Assertions.assertEquals(created.id(), response.id());
+        Assertions.assertEquals(code, response.code());
+        Assertions.assertEquals(discountValue, response.discountValue());
+    }
+
+    @Test
+    void integrationTestFindCouponByCode_GivenCodeOfADeletedCoupon_ShouldReturnNotFoundHttpCode() {
+        CouponDTO created = RestAssured
+                .given()
+                .spec(requestSpecification)
+                .contentType(ContentType.JSON)
+                .body(couponToCreate)
+                .when()
+                .post()
+                .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .extract().as(CouponDTO.class);
+
+        RestAssured
+                .given()
+                .spec(requestSpecification)
+                .basePath(basePath + "/" + created.id())
+                .when()
+                .delete()
+                .then()
+                .statusCode(HttpStatus.NO_CONTENT.value());
+
+        RestAssured
+                .given()
+                .spec(requestSpecification)
+                .basePath(basePath + "/code/" + code)
+                .when()
+                .get()
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+
+        RestAssured
+                .given()
+                .spec(requestSpecification)
+                .contentType(ContentType.JSON)
+                .body(couponToCreate)
+                .when()
+                .post()
+                .then()
+                .statusCode(HttpStatus.CREATED.value());
+    }
+
+    @Test
+    void integrationTestRedeem_GivenRepeatedIdempotencyKey_ShouldReplayTheOriginalRedeem() {
+        CouponDTO created = RestAssured
+                .given()
+                .spec(requestSpecification)
+                .contentType(ContentType.JSON)
+                .body(new CreateCouponDTO(code, description, discountValue, expirationDate, true))
+                .when()
+                .post()
+                .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .extract().as(CouponDTO.class);
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            CouponRedeemDTO response = RestAssured
+                    .given()
+                    .spec(requestSpecification)
+                    .basePath(basePath + "/" + created.id() + "/redeem")
+                    .header("Idempotency-Key", idempotencyKey)
+                    .when()
+                    .post()
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .extract()
+                    .body()
+                    .as(CouponRedeemDTO.class);
+
+            Assertions.assertEquals(created.id(), response.id());
+            Assertions.assertTrue(response.redeemed());
+        }
+
+        ResponseEntityException response = RestAssured
+                .given()
+                .spec(requestSpecification)
+                .basePath(basePath + "/" + created.id() + "/redeem")
+                .header("Idempotency-Key", UUID.randomUUID().toString())
+                .when()
+                .post()
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value())
+                .extract()
+                .body()
+                .as(ResponseEntityException.class);
+
+        Assertions.assertEquals("O cupom já foi utilizado", response.getMessage());
+        Assertions.assertEquals(1, couponRedemptionRepository.countByCouponId(created.id()));
+    }
+
+    @Test
+    void integrationTestUseAsync_GivenTwoRedeemsOfASingleUseCoupon_ShouldReportOneRedeemedAndOneRejected() throws InterruptedException {
+        CouponDTO created = RestAssured
+                .given()
+                .spec(requestSpecification)
+                .contentType(ContentType.JSON)
+                .body(new CreateCouponDTO(code, description, discountValue, expirationDate, true))
+                .when()
+                .post()
+                .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .extract().as(CouponDTO.class);
+
+        CouponRedemptionTicketDTO first = awaitRedemption(redeemAsync(created.id()));
+        CouponRedemptionTicketDTO second = awaitRedemption(redeemAsync(created.id()));
+
+        Assertions.assertEquals(RedemptionTicketStatus.REDEEMED, first.status());
+        Assertions.assertEquals(RedemptionTicketStatus.REJECTED, second.status());
+        Assertions.assertEquals("already_redeemed", second.reason());
+        Assertions.assertEquals("O cupom já foi utilizado", second.message());
+        Assertions.assertEquals(1, couponRedemptionRepository.countByCouponId(created.id()));
+    }
+
+    private UUID redeemAsync(UUID couponId) {
+        CouponRedemptionTicketDTO ticket = RestAssured
+                .given()
+                .spec(requestSpecification)
+                .basePath(basePath + "/" + couponId + "/redeem/async")
+                .when()
+                .post()
+                .then()
+                .statusCode(HttpStatus.ACCEPTED.value())
+                .extract()
+                .body()
+                .as(CouponRedemptionTicketDTO.class);
+
+        Assertions.assertEquals(couponId, ticket.couponId());
+
+        return ticket.ticket();
+    }
+
+    private CouponRedemptionTicketDTO awaitRedemption(UUID ticket) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            CouponRedemptionTicketDTO redemption = RestAssured
+                    .given()
+                    .spec(requestSpecification)
+                    .basePath("/api/v1/redemptions/" + ticket)
+                    .when()
+                    .get()
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .extract()
+                    .body()
+                    .as(CouponRedemptionTicketDTO.class);
+
+            if (redemption.status() != RedemptionTicketStatus.PENDING) {
+                return redemption;
+            }
+
+            Thread.sleep(50);
+        }
+
+        return Assertions.fail("O resgate " + ticket + " não foi concluído");
+    }
+
     @Test
     void integrationTestFindCouponById_GivenInvalidId_ShouldReturnNotFoundHttpCode() {
         ResponseEntityException response = RestAssured
@@ -1,18 +1,37 @@
 package com.coupon.api.controllers;
 
+import com.coupon.api.configs.CacheConfig;
 import com.coupon.api.controllers.coupons.impl.CouponController;
+import com.coupon.api.dtos.coupons.request.CouponSearchDTO;
 import com.coupon.api.dtos.coupons.request.CreateCouponDTO;
+import com.coupon.api.dtos.coupons.request.GenerateCouponsDTO;
+import com.coupon.api.dtos.coupons.response.CouponBatchItemDTO;
+import com.coupon.api.dtos.coupons.response.CouponBatchReportDTO;
 import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponImportReportDTO;
+import com.coupon.api.dtos.coupons.response.CouponPageDTO;
+import com.coupon.api.dtos.coupons.response.CouponRedemptionTicketDTO;
+import com.coupon.api.dtos.coupons.response.CouponSnapshotDTO;
+import com.coupon.api.dtos.coupons.response.CouponVersionDTO;
 import com.coupon.api.exceptions.BadRequestException;
+import com.coupon.api.exceptions.ConflictException;
 import com.coupon.api.exceptions.NotFoundException;
+import com.coupon.api.exceptions.TooManyRequestsException;
 import com.coupon.api.models.enums.CouponStatus;
+import com.coupon.api.models.enums.CouponFileFormat;
+import com.coupon.api.services.CouponBatchService;
+import com.coupon.api.services.CouponExportService;
 import com.coupon.api.services.CouponService;
+import com.coupon.api.services.redemptions.CouponRedemptionTickets;
+import com.coupon.api.services.responses.CouponResponseCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -20,10 +39,15 @@ import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.UUID;
 
 @WebMvcTest(controllers = CouponController.class)
+@Import({CouponResponseCache.class, CacheConfig.class})
 public class CouponControllerTest {
 
     @Autowired
@@ -36,6 +60,15 @@ public class CouponControllerTest {
     @MockitoBean
     private CouponService couponService;
 
+    @MockitoBean
+    private CouponBatchService couponBatchService;
+
+    @MockitoBean
+    private CouponExportService couponExportService;
+
+    @MockitoBean
+    private CouponRedemptionTickets couponRedemptionTickets;
+
     @Test
     void testCreate_ShouldReturnCreatedHttpCodeWithCreatedCouponOnBody() throws Exception {
         String code = "ABC-123";
@@ -86,6 +119,62 @@ public class CouponControllerTest {
         Mockito.verify(couponService).create(Mockito.any(CreateCouponDTO.class));
     }
 
+    @Test
+    void testCreateBatch_ShouldReturnOkHttpCodeWithPerItemReportOnBody() throws Exception {
+        UUID id = UUID.randomUUID();
+
+        CouponBatchReportDTO report = new CouponBatchReportDTO(2, 1, 1, List.of(
+                new CouponBatchItemDTO(0, id, "ABC123", true, List.of()),
+                new CouponBatchItemDTO(1, null, "ABCD-123", false, List.of("Código do cupom deve igual a 6 caracteres alfanuméricos"))
+        ));
+
+        Mockito.when(couponBatchService.create(Mockito.any(InputStream.class))).thenReturn(report);
+
+        ResultActions result = mockMvc
+                .perform(MockMvcRequestBuilders.post(basePath + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"));
+
+        result.andExpect(MockMvcResultMatchers.status().isOk());
+        result.andExpect(MockMvcResultMatchers.jsonPath("$.total").value(2));
+        result.andExpect(MockMvcResultMatchers.jsonPath("$.created").value(1));
+        result.andExpect(MockMvcResultMatchers.jsonPath("$.rejected").value(1));
+        result.andExpect(MockMvcResultMatchers.jsonPath("$.items[0].id").value(id.toString()));
+        result.andExpect(MockMvcResultMatchers.jsonPath("$.items[1].errors[0]").value("Código do cupom deve igual a 6 caracteres alfanuméricos"));
+
+        Mockito.verify(couponBatchService).create(Mockito.any(InputStream.class));
+    }
+
+    @Test
+    void testGenerate_ShouldReturnCreatedHttpCodeWithGeneratedCouponsOnBody() throws Exception {
+        LocalDateTime expirationDate = LocalDateTime.of(2050, 12, 1, 5, 5, 15);
+        GenerateCouponsDTO generateCouponsDTO = new GenerateCouponsDTO("Foo Bar", 0.8, expirationDate, true);
+
+        CouponDTO couponDTO = new CouponDTO(
+                UUID.randomUUID(),
+                "K3Z9QA",
+                "Foo Bar",
+                0.8,
+                expirationDate,
+                CouponStatus.ACTIVE,
+                true,
+                false
+        );
+
+        Mockito.when(couponBatchService.generate(Mockito.eq(1), Mockito.any(GenerateCouponsDTO.class))).thenReturn(List.of(couponDTO));
+
+        ResultActions result = mockMvc
+                .perform(MockMvcRequestBuilders.post(basePath + "/generate")
+                        .param("count", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(generateCouponsDTO)));
+
+        result.andExpect(MockMvcResultMatchers.status().isCreated());
+        result.andExpect(MockMvcResultMatchers.jsonPath("$[0].code").value("K3Z9QA"));
+
+        Mockito.verify(couponBatchService).generate(Mockito.eq(1), Mockito.any(GenerateCouponsDTO.class));
+    }
+
     @Test
     void testFindById_GivenValidId_ShouldReturnOkHttpCodeWithCouponOnBody() throws Exception {
         UUID id = UUID.randomUUID();
@@ -108,7 +197,10 @@ public class CouponControllerTest {
                 redeemed
         );
 
-        Mockito.when(couponService.findById(id)).thenReturn(couponDTO);
+        CouponVersionDTO version = new CouponVersionDTO(id, LocalDateTime.of(2025, 1, 1, 10, 0));
+
+        Mockito.when(couponService.findSnapshotById(id)).thenReturn(new CouponSnapshotDTO(couponDTO, version));
+        Mockito.when(couponService.findVersionById(id)).thenReturn(version);
 
         ResultActions result = mockMvc
                 .perform(MockMvcRequestBuilders.get(basePath + "/" + id)
@@ -123,8 +215,190 @@ public class CouponControllerTest {
         result.andExpect(MockMvcResultMatchers.jsonPath("$.status").value(status.toString()));
         result.andExpect(MockMvcResultMatchers.jsonPath("$.published").value(published));
         result.andExpect(MockMvcResultMatchers.jsonPath("$.redeemed").value(redeemed));
+        result.andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, version.etag()));
+        result.andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.LAST_MODIFIED));
+
+        Mockito.verify(couponService).findSnapshotById(id);
+    }
+
+    @Test
+    void testFindById_GivenMatchingIfNoneMatch_ShouldReturnNotModifiedWithoutLoadingTheCoupon() throws Exception {
+        UUID id = UUID.randomUUID();
+        CouponVersionDTO version = new CouponVersionDTO(id, LocalDateTime.of(2025, 1, 1, 10, 0));
+
+        Mockito.when(couponService.findVersionById(id)).thenReturn(version);
+
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.get(basePath + "/" + id)
+                .header(HttpHeaders.IF_NONE_MATCH, version.etag()));
+
+        result.andExpect(MockMvcResultMatchers.status().isNotModified());
+        result.andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, version.etag()));
+        result.andExpect(MockMvcResultMatchers.content().string(""));
+
+        Mockito.verify(couponService, Mockito.never()).findSnapshotById(id);
+    }
+
+    @Test
+    void testFindById_GivenIfModifiedSinceAfterTheLastChange_ShouldReturnNotModifiedWithoutLoadingTheCoupon() throws Exception {
+        UUID id = UUID.randomUUID();
+        CouponVersionDTO version = new CouponVersionDTO(id, LocalDateTime.of(2025, 1, 1, 10, 0));
+
+        Mockito.when(couponService.findVersionById(id)).thenReturn(version);
+
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.get(basePath + "/" + id)
+                .header(HttpHeaders.IF_MODIFIED_SINCE, DateTimeFormatter.RFC_1123_DATE_TIME
+                        .format(version.lastModifiedInstant().plusSeconds(60).atZone(ZoneOffset.UTC))));
+
+        result.andExpect(MockMvcResultMatchers.status().isNotModified());
+
+        Mockito.verify(couponService, Mockito.never()).findSnapshotById(id);
+    }
+
+    @Test
+    void testFindById_GivenStaleIfNoneMatch_ShouldReturnOkHttpCodeWithCouponOnBody() throws Exception {
+        UUID id = UUID.randomUUID();
+        CouponDTO couponDTO = new CouponDTO(
+                id,
+                "ABC123",
+                "Foo Bar",
+                0.8,
+                LocalDateTime.of(2050, 12, 1, 5, 5, 15),
+                CouponStatus.ACTIVE,
+                true,
+                true
+        );
+        CouponVersionDTO version = new CouponVersionDTO(id, LocalDateTime.of(2025, 1, 1, 10, 0));
+        CouponVersionDTO previousVersion = new CouponVersionDTO(id, version.lastModified().minusSeconds(5));
+
+        Mockito.when(couponService.findVersionById(id)).thenReturn(version);
+        Mockito.when(couponService.findSnapshotById(id)).thenReturn(new CouponSnapshotDTO(couponDTO, version));
+
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.get(basePath + "/" + id)
+                .header(HttpHeaders.IF_NONE_MATCH, previousVersion.etag()));
+
+        result.andExpect(MockMvcResultMatchers.status().isOk());
+        result.andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, version.etag()));
+        result.andExpect(MockMvcResultMatchers.jsonPath("$.redeemed").value(true));
+    }
+
+    @Test
+    void testFindById_GivenCouponChangedBetweenTheVersionCheckAndTheRead_ShouldSendTheETagOfTheBody() throws Exception {
+        UUID id = UUID.randomUUID();
+        CouponDTO couponDTO = new CouponDTO(
+                id,
+                "ABC123",
+                "Foo Bar",
+                0.8,
+                LocalDateTime.of(2050, 12, 1, 5, 5, 15),
+                CouponStatus.ACTIVE,
+                true,
+                true
+        );
+        CouponVersionDTO checkedVersion = new CouponVersionDTO(id, LocalDateTime.of(2025, 1, 1, 10, 0));
+        CouponVersionDTO bodyVersion = new CouponVersionDTO(id, checkedVersion.lastModified().plusSeconds(5));
+
+        Mockito.when(couponService.findVersionById(id)).thenReturn(checkedVersion);
+        Mockito.when(couponService.findSnapshotById(id)).thenReturn(new CouponSnapshotDTO(couponDTO, bodyVersion));
+
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.get(basePath + "/" + id));
+
+        result.andExpect(MockMvcResultMatchers.status().isOk());
+        result.andExpect(MockMvcResultMatchers.header().stringValues(HttpHeaders.ETAG, bodyVersion.etag()));
+        result.andExpect(MockMvcResultMatchers.header().dateValue(HttpHeaders.LAST_MODIFIED, bodyVersion.lastModifiedInstant().toEpochMilli()));
+        result.andExpect(MockMvcResultMatchers.jsonPath("$.redeemed").value(true));
+    }
+
+    @Test
+    void testSearch_GivenFiltersAndCursor_ShouldReturnOkHttpCodeWithThePage() throws Exception {
+        CouponDTO couponDTO = new CouponDTO(
+                UUID.randomUUID(),
+                "ABC123",
+                "Foo Bar",
+                0.8,
+                LocalDateTime.of(2050, 12, 1, 5, 5, 15),
+                CouponStatus.ACTIVE,
+                true,
+                false
+        );
+        CouponSearchDTO expectedSearch = new CouponSearchDTO(
+                CouponStatus.ACTIVE,
+                true,
+                null,
+                LocalDateTime.of(2050, 1, 1, 0, 0),
+                null
+        );
+
+        Mockito.when(couponService.search(expectedSearch, "previous", 1))
+                .thenReturn(new CouponPageDTO(List.of(couponDTO), "next"));
+
+        ResultActions result = mockMvc
+                .perform(MockMvcRequestBuilders.get(basePath)
+                        .param("status", "ACTIVE")
+                        .param("published", "true")
+                        .param("expiresFrom", "2050-01-01T00:00:00")
+                        .param("cursor", "previous")
+                        .param("size", "1"));
+
+        result.andExpect(MockMvcResultMatchers.status().isOk());
+        result.andExpect(MockMvcResultMatchers.jsonPath("$.items[0].id").value(couponDTO.id().toString()));
+        result.andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").value("next"));
 
-        Mockito.verify(couponService).findById(id);
+        Mockito.verify(couponService).search(expectedSearch, "previous", 1);
+    }
+
+    @Test
+    void testImport_GivenCsvFormat_ShouldReturnOkHttpCodeWithTheImportReport() throws Exception {
+        CouponImportReportDTO report = new CouponImportReportDTO(UUID.randomUUID(), 3, 2, 1, 10, 300.0);
+
+        Mockito.when(couponBatchService.importCoupons(Mockito.eq(CouponFileFormat.CSV), Mockito.any(InputStream.class)))
+                .thenReturn(report);
+
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.post(basePath + "/import")
+                .param("format", "csv")
+                .contentType("text/csv")
+                .content("code,description\n"));
+
+        result.andExpect(MockMvcResultMatchers.status().isOk());
+        result.andExpect(MockMvcResultMatchers.jsonPath("$.id").value(report.id().toString()));
+        result.andExpect(MockMvcResultMatchers.jsonPath("$.imported").value(2));
+        result.andExpect(MockMvcResultMatchers.jsonPath("$.rejected").value(1));
+    }
+
+    @Test
+    void testImportErrors_GivenUnknownImport_ShouldReturnNotFoundHttpCode() throws Exception {
+        UUID id = UUID.randomUUID();
+
+        Mockito.when(couponBatchService.findImportErrors(id))
+                .thenThrow(new NotFoundException("Arquivo de erros da importação não encontrado"));
+
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.get(basePath + "/import/" + id + "/errors"));
+
+        result.andExpect(MockMvcResultMatchers.status().isNotFound());
+        result.andExpect(MockMvcResultMatchers.jsonPath("$.message").value("Arquivo de erros da importação não encontrado"));
+    }
+
+    @Test
+    void testExport_GivenCsvFormat_ShouldStreamTheExportAsAnAttachment() throws Exception {
+        Mockito.when(couponExportService.export(Mockito.eq(CouponFileFormat.CSV), Mockito.any()))
+                .thenReturn(0L);
+
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.get(basePath + "/export").param("format", "csv"));
+
+        result.andExpect(MockMvcResultMatchers.status().isOk());
+        result.andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith("text/csv"));
+        result.andExpect(MockMvcResultMatchers.header().string("Content-Disposition", "attachment; filename=\"coupons.csv\""));
+
+        Mockito.verify(couponExportService).export(Mockito.eq(CouponFileFormat.CSV), Mockito.any());
+    }
+
+    @Test
+    void testExport_GivenUnknownFormat_ShouldReturnBadRequestHttpCode() throws Exception {
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.get(basePath + "/export").param("format", "xml"));
+
+        result.andExpect(MockMvcResultMatchers.status().isBadRequest());
+        result.andExpect(MockMvcResultMatchers.jsonPath("$.message").value("Formato de arquivo inválido, use ndjson ou csv"));
+
+        Mockito.verifyNoInteractions(couponExportService);
     }
 
     @Test
@@ -132,7 +406,7 @@ public class CouponControllerTest {
         UUID id = UUID.randomUUID();
         String exceptionMessage = "Cupom não encontrado";
 
-        Mockito.when(couponService.findById(id)).thenThrow(new NotFoundException(exceptionMessage));
+        Mockito.when(couponService.findVersionById(id)).thenThrow(new NotFoundException(exceptionMessage));
 
         ResultActions result = mockMvc
                 .perform(MockMvcRequestBuilders.get(basePath + "/" + id)
@@ -141,7 +415,35 @@ public class CouponControllerTest {
         result.andExpect(MockMvcResultMatchers.status().isNotFound());
         result.andExpect(MockMvcResultMatchers.jsonPath("$.message").value(exceptionMessage));
 
-        Mockito.verify(couponService).findById(id);
+        Mockito.verify(couponService).findVersionById(id);
+    }
+
+    @Test
+    void testFindByCode_GivenCodeOfAnActiveCoupon_ShouldReturnOkHttpCodeWithCouponOnBody() throws Exception {
+        String code = "ABC123";
+
+        CouponDTO couponDTO = new CouponDTO(
+                UUID.randomUUID(),
+                code,
+                "Foo Bar",
+                0.8,
+                LocalDateTime.of(2050, 12, 1, 5, 5, 15),
+                CouponStatus.ACTIVE,
+                true,
+                false
+        );
+
+        Mockito.when(couponService.findByCode(code)).thenReturn(couponDTO);
+
+        ResultActions result = mockMvc
+                .perform(MockMvcRequestBuilders.get(basePath + "/code/" + code)
+                        .contentType(MediaType.APPLICATION_JSON));
+
+        result.andExpect(MockMvcResultMatchers.status().isOk());
+        result.andExpect(MockMvcResultMatchers.jsonPath("$.id").value(couponDTO.id().toString()));
+        result.andExpect(MockMvcResultMatchers.jsonPath("$.code").value(code));
+
+        Mockito.verify(couponService).findByCode(code);
     }
 
     @Test
@@ -192,4 +494,64 @@ public class CouponControllerTest {
 
         Mockito.verify(couponService).delete(id);
     }
+
+    @Test
+    void testDelete_GivenConcurrentUpdatesExhaustingRetries_ShouldReturnConflictCode() throws Exception {
+        UUID id = UUID.randomUUID();
+        String exceptionMessage = "O cupom foi alterado por outra requisição, tente novamente";
+
+        Mockito.doThrow(new ConflictException(exceptionMessage)).when(couponService).delete(id);
+
+        ResultActions result = mockMvc
+                .perform(MockMvcRequestBuilders.delete(basePath + "/" + id)
+                        .contentType(MediaType.APPLICATION_JSON));
+
+        result.andExpect(MockMvcResultMatchers.status().isConflict());
+        result.andExpect(MockMvcResultMatchers.jsonPath("$.message").value(exceptionMessage));
+
+        Mockito.verify(couponService).delete(id);
+    }
+
+    @Test
+    void testUse_GivenFullWriteBehindQueue_ShouldReturnTooManyRequestsHttpCode() throws Exception {
+        UUID id = UUID.randomUUID();
+        String exceptionMessage = "Muitos resgates em andamento, tente novamente em instantes";
+
+        Mockito.when(couponService.use(id, null)).thenThrow(new TooManyRequestsException(exceptionMessage));
+
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.post(basePath + "/" + id + "/redeem"));
+
+        result.andExpect(MockMvcResultMatchers.status().isTooManyRequests());
+        result.andExpect(MockMvcResultMatchers.jsonPath("$.message").value(exceptionMessage));
+    }
+
+    @Test
+    void testUseAsync_GivenValidId_ShouldReturnAcceptedHttpCodeWithPendingTicketOnBody() throws Exception {
+        UUID id = UUID.randomUUID();
+        CouponRedemptionTicketDTO ticket = CouponRedemptionTicketDTO.pending(UUID.randomUUID(), id);
+
+        Mockito.when(couponRedemptionTickets.submit(id, "key-1")).thenReturn(ticket);
+
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.post(basePath + "/" + id + "/redeem/async")
+                .header("Idempotency-Key", "key-1"));
+
+        result.andExpect(MockMvcResultMatchers.status().isAccepted());
+        result.andExpect(MockMvcResultMatchers.jsonPath("$.ticket").value(ticket.ticket().toString()));
+        result.andExpect(MockMvcResultMatchers.jsonPath("$.couponId").value(id.toString()));
+        result.andExpect(MockMvcResultMatchers.jsonPath("$.status").value("PENDING"));
+
+        Mockito.verify(couponService, Mockito.never()).use(id, "key-1");
+    }
+
+    @Test
+    void testUseAsync_GivenUnknownId_ShouldReturnNotFoundHttpCode() throws Exception {
+        UUID id = UUID.randomUUID();
+
+        Mockito.when(couponRedemptionTickets.submit(id, null)).thenThrow(new NotFoundException("Cupom não encontrado"));
+
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.post(basePath + "/" + id + "/redeem/async"));
+
+        result.andExpect(MockMvcResultMatchers.status().isNotFound());
+        result.andExpect(MockMvcResultMatchers.jsonPath("$.message").value("Cupom não encontrado"));
+    }
 }
@@ -0,0 +1,87 @@
+package com.coupon.api.controllers;
+
+import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+@Tag("low-memory")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CouponExportLowMemoryTest {
+
+    private static final int ROWS = 400_000;
+
+    @TempDir
+    static Path databaseDirectory;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:h2:file:" + databaseDirectory.resolve("coupon-export") + ";CACHE_SIZE=8192");
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void integrationTestExport_GivenTableLargerThanTheHeap_ShouldStreamEveryCoupon() throws Exception {
+        jdbcTemplate.update("""
+                INSERT INTO coupon (id, code, description, discount_value, expiration_date, created_at, updated_at,
+                    status, published, redeemed, max_redemptions, version)
+                SELECT CAST(CONCAT('00000000-0000-4000-8000-', LPAD(CAST(X AS VARCHAR), 12, '0')) AS UUID), LPAD(CAST(X AS VARCHAR), 6, '0'), REPEAT('Cupom exportado ', 18), 0.8,
+                    DATEADD('YEAR', 1, LOCALTIMESTAMP), LOCALTIMESTAMP, LOCALTIMESTAMP, 'ACTIVE', TRUE, FALSE, 1, 0
+                FROM SYSTEM_RANGE(1, ?)
+                """, ROWS);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/coupons/export")).GET().build();
+        long lines = 0;
+        long bytes = 0;
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+
+            Assertions.assertEquals(200, response.statusCode());
+            Assertions.assertEquals("application/x-ndjson;charset=UTF-8", response.headers().firstValue("Content-Type").orElseThrow());
+
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+                String line;
+
+                while ((line = reader.readLine()) != null) {
+                    if (lines == 0) {
+                        Assertions.assertEquals(0.8, objectMapper.readValue(line, CouponDTO.class).discountValue());
+                    }
+
+                    lines++;
+                    bytes += line.length() + 1;
+                }
+            }
+        }
+
+        Assertions.assertEquals(ROWS, lines);
+        Assertions.assertTrue(bytes > Runtime.getRuntime().maxMemory(),
+                "The export should be larger than the heap to prove it is streamed, got " + bytes + " bytes");
+    }
+}
@@ -0,0 +1,59 @@
+package com.coupon.api.controllers;
+
+import com.coupon.api.controllers.redemptions.impl.RedemptionController;
+import com.coupon.api.dtos.coupons.response.CouponRedemptionTicketDTO;
+import com.coupon.api.exceptions.NotFoundException;
+import com.coupon.api.models.enums.RedeemRejectionReason;
+import com.coupon.api.services.redemptions.CouponRedemptionTickets;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.UUID;
+
+@WebMvcTest(controllers = RedemptionController.class)
+public class RedemptionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Value("${base-path}/redemptions")
+    private String basePath;
+
+    @MockitoBean
+    private CouponRedemptionTickets couponRedemptionTickets;
+
+    @Test
+    void testFindByTicket_GivenRejectedRedeem_ShouldReturnOkHttpCodeWithTheRejectionReason() throws Exception {
+        RedeemRejectionReason reason = RedeemRejectionReason.ALREADY_REDEEMED;
+        CouponRedemptionTicketDTO ticket = CouponRedemptionTicketDTO.pending(UUID.randomUUID(), UUID.randomUUID())
+                .rejected(reason.getTag(), reason.getMessage());
+
+        Mockito.when(couponRedemptionTickets.findByTicket(ticket.ticket())).thenReturn(ticket);
+
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.get(basePath + "/" + ticket.ticket()));
+
+        result.andExpect(MockMvcResultMatchers.status().isOk());
+        result.andExpect(MockMvcResultMatchers.jsonPath("$.status").value("REJECTED"));
+        result.andExpect(MockMvcResultMatchers.jsonPath("$.reason").value("already_redeemed"));
+        result.andExpect(MockMvcResultMatchers.jsonPath("$.message").value("O cupom já foi utilizado"));
+    }
+
+    @Test
+    void testFindByTicket_GivenUnknownTicket_ShouldReturnNotFoundHttpCode() throws Exception {
+        UUID ticket = UUID.randomUUID();
+
+        Mockito.when(couponRedemptionTickets.findByTicket(ticket)).thenThrow(new NotFoundException("Resgate não encontrado"));
+
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.get(basePath + "/" + ticket));
+
+        result.andExpect(MockMvcResultMatchers.status().isNotFound());
+        result.andExpect(MockMvcResultMatchers.jsonPath("$.message").value("Resgate não encontrado"));
+    }
+}
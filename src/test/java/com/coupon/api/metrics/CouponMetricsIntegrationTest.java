@@ -0,0 +1,55 @@
+package com.coupon.api.metrics;
+
+import com.coupon.api.dtos.coupons.request.CreateCouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.coupon.api.exceptions.BadRequestException;
+import com.coupon.api.services.CouponService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class CouponMetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CouponService couponService;
+
+    @Test
+    void integrationTestPrometheus_GivenCouponTraffic_ShouldExposeCouponPoolAndHibernateMetrics() throws Exception {
+        CouponDTO coupon = couponService.create(new CreateCouponDTO(
+                UUID.randomUUID().toString().substring(0, 6).toUpperCase(),
+                "Foo Bar",
+                0.8,
+                LocalDateTime.now().plusDays(1),
+                true
+        ));
+
+        couponService.use(coupon.id());
+        Assertions.assertThrows(BadRequestException.class, () -> couponService.use(coupon.id()));
+
+        String scrape = mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        Assertions.assertTrue(scrape.contains("coupon_operations_seconds_bucket{exception=\"none\",operation=\"create\""));
+        Assertions.assertTrue(scrape.contains("coupon_redeem_rejections_total{reason=\"already_redeemed\"}"));
+        Assertions.assertTrue(scrape.contains("hikaricp_connections_active"));
+        Assertions.assertTrue(scrape.contains("hibernate_statements_total"));
+    }
+}
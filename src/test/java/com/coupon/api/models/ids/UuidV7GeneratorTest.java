@@ -0,0 +1,36 @@
+package com.coupon.api.models.ids;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class UuidV7GeneratorTest {
+
+    @Test
+    void testGenerate_ShouldReturnAVersion7UuidCarryingTheCurrentTime() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7Generator.generate();
+        long after = System.currentTimeMillis();
+
+        Assertions.assertEquals(7, id.version());
+        Assertions.assertEquals(2, id.variant());
+        Assertions.assertTrue(id.getMostSignificantBits() >>> 16 >= before);
+        Assertions.assertTrue(id.getMostSignificantBits() >>> 16 <= after + 1);
+    }
+
+    @Test
+    void testGenerate_GivenManyIdsInTheSameMillisecond_ShouldKeepThemStrictlyOrdered() {
+        List<UUID> ids = new ArrayList<>();
+
+        for (int index = 0; index < 100_000; index++) {
+            ids.add(UuidV7Generator.generate());
+        }
+
+        for (int index = 1; index < ids.size(); index++) {
+            Assertions.assertTrue(ids.get(index - 1).compareTo(ids.get(index)) < 0, ids.get(index - 1) + " >= " + ids.get(index));
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.coupon.api.repositories;
 
+import com.coupon.api.dtos.coupons.request.CouponSearchDTO;
+import com.coupon.api.dtos.coupons.response.CouponDTO;
 import com.coupon.api.models.Coupon;
 import com.coupon.api.models.enums.CouponStatus;
 import jakarta.persistence.EntityManager;
@@ -8,9 +10,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -50,6 +56,7 @@ public class CouponRepositoryTest {
         Optional<Coupon> actualCoupon = couponRepository.findByIdAndIsNotDelete(id);
 
         Assertions.assertTrue(actualCoupon.isPresent());
+        Assertions.assertEquals(7, id.version());
     }
 
     @Test
@@ -73,4 +80,238 @@ public class CouponRepositoryTest {
 
         Assertions.assertTrue(actualCoupon.isEmpty());
     }
+
+    @Test
+    void testRedeem_GivenRedeemableCoupon_ShouldUpdateExactlyOneRow() {
+        coupon.setPublished(true);
+        coupon.setExpirationDate(LocalDateTime.now().plusDays(1));
+
+        entityManager.persist(coupon);
+
+        int updatedRows = couponRepository.redeem(coupon.getId(), LocalDateTime.now());
+
+        Assertions.assertEquals(1, updatedRows);
+        Assertions.assertTrue(couponRepository.findById(coupon.getId()).orElseThrow().isRedeemed());
+    }
+
+    @Test
+    void testRedeem_GivenAlreadyRedeemedCoupon_ShouldNotUpdateAnyRow() {
+        coupon.setPublished(true);
+        coupon.setRedeemed(true);
+        coupon.setExpirationDate(LocalDateTime.now().plusDays(1));
+
+        entityManager.persist(coupon);
+
+        int updatedRows = couponRepository.redeem(coupon.getId(), LocalDateTime.now());
+
+        Assertions.assertEquals(0, updatedRows);
+    }
+
+    @Test
+    void testRedeem_GivenExpiredCoupon_ShouldNotUpdateAnyRow() {
+        coupon.setPublished(true);
+        coupon.setExpirationDate(LocalDateTime.now().minusDays(1));
+
+        entityManager.persist(coupon);
+
+        int updatedRows = couponRepository.redeem(coupon.getId(), LocalDateTime.now());
+
+        Assertions.assertEquals(0, updatedRows);
+        Assertions.assertFalse(couponRepository.findById(coupon.getId()).orElseThrow().isRedeemed());
+    }
+
+    @Test
+    void testFindByCode_GivenCodeOfAnActiveCoupon_ShouldReturnAnOptionalWithCouponProjection() {
+        entityManager.flush();
+        entityManager.clear();
+
+        Optional<CouponDTO> actualCoupon = couponRepository.findByCode("ABC123");
+
+        Assertions.assertTrue(actualCoupon.isPresent());
+        Assertions.assertEquals(coupon.getId(), actualCoupon.get().id());
+        Assertions.assertEquals(0.5, actualCoupon.get().discountValue());
+    }
+
+    @Test
+    void testFindByCode_GivenCodeOfADeletedCoupon_ShouldReturnAnEmptyOptional() {
+        coupon.setStatus(CouponStatus.DELETED);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        Optional<CouponDTO> actualCoupon = couponRepository.findByCode("ABC123");
+
+        Assertions.assertTrue(actualCoupon.isEmpty());
+    }
+
+    @Test
+    void testSave_GivenCodeOfAnActiveCoupon_ShouldViolateTheUniqueIndex() {
+        Coupon duplicated = new Coupon(
+                null,
+                "ABC123",
+                "Foo Bar",
+                BigDecimal.valueOf(0.5),
+                LocalDateTime.now(),
+                LocalDateTime.now(),
+                LocalDateTime.now(),
+                CouponStatus.ACTIVE,
+                false,
+                false
+        );
+
+        Assertions.assertThrows(
+                DataIntegrityViolationException.class,
+                () -> couponRepository.saveAndFlush(duplicated)
+        );
+    }
+
+    @Test
+    void testSave_GivenCodeOfADeletedCoupon_ShouldAllowReusingTheCode() {
+        coupon.setStatus(CouponStatus.DELETED);
+
+        entityManager.flush();
+
+        Coupon reused = new Coupon(
+                null,
+                "ABC123",
+                "Foo Bar",
+                BigDecimal.valueOf(0.5),
+                LocalDateTime.now(),
+                LocalDateTime.now(),
+                LocalDateTime.now(),
+                CouponStatus.ACTIVE,
+                false,
+                false
+        );
+
+        Assertions.assertDoesNotThrow(() -> couponRepository.saveAndFlush(reused));
+    }
+
+    @Test
+    void testFindPage_GivenPreviousPagePosition_ShouldSeekPastItInCreationOrder() {
+        List<UUID> expectedOrder = new ArrayList<>(List.of(coupon.getId()));
+
+        for (int index = 0; index < 4; index++) {
+            Coupon newer = new Coupon(
+                    null,
+                    "PAG00" + index,
+                    "Foo Bar",
+                    BigDecimal.valueOf(0.5),
+                    LocalDateTime.now(),
+                    null,
+                    null,
+                    CouponStatus.ACTIVE,
+                    true,
+                    false
+            );
+
+            entityManager.persist(newer);
+            expectedOrder.add(0, newer.getId());
+        }
+
+        entityManager.flush();
+
+        CouponSearchDTO search = new CouponSearchDTO(null, null, null, null, null);
+        List<CouponDTO> firstPage = couponRepository.findPage(search, null, null, 3);
+        CouponDTO last = firstPage.get(firstPage.size() - 1);
+        List<CouponDTO> secondPage = couponRepository.findPage(search, last.createdAt(), last.id(), 3);
+
+        Assertions.assertEquals(expectedOrder.subList(0, 3), firstPage.stream().map(CouponDTO::id).toList());
+        Assertions.assertEquals(expectedOrder.subList(3, 5), secondPage.stream().map(CouponDTO::id).toList());
+    }
+
+    @Test
+    void testFindPage_GivenFilters_ShouldOnlyReturnMatchingCouponsAndSkipDeletedOnes() {
+        Coupon deleted = new Coupon(
+                null,
+                "DEL001",
+                "Foo Bar",
+                BigDecimal.valueOf(0.5),
+                LocalDateTime.now(),
+                null,
+                null,
+                CouponStatus.DELETED,
+                false,
+                false
+        );
+
+        entityManager.persist(deleted);
+        entityManager.flush();
+
+        List<UUID> active = couponRepository.findPage(new CouponSearchDTO(null, false, false, null, null), null, null, 10)
+                .stream().map(CouponDTO::id).toList();
+        List<UUID> onlyDeleted = couponRepository.findPage(new CouponSearchDTO(CouponStatus.DELETED, null, null, null, null), null, null, 10)
+                .stream().map(CouponDTO::id).toList();
+        List<UUID> published = couponRepository.findPage(new CouponSearchDTO(null, true, null, null, null), null, null, 10)
+                .stream().map(CouponDTO::id).toList();
+
+        Assertions.assertEquals(List.of(coupon.getId()), active);
+        Assertions.assertEquals(List.of(deleted.getId()), onlyDeleted);
+        Assertions.assertTrue(published.isEmpty());
+    }
+
+    @Test
+    void testExpire_GivenExpiredActiveCoupons_ShouldOnlyInactivateTheExpiredOnes() {
+        LocalDateTime now = LocalDateTime.now();
+        Coupon valid = new Coupon(null, "DEF456", "Foo Bar", BigDecimal.valueOf(0.5), now.plusDays(1), now, now, CouponStatus.ACTIVE, false, false);
+
+        entityManager.persist(valid);
+        entityManager.flush();
+
+        List<UUID> expiredIds = couponRepository.findExpiredIds(now.plusSeconds(1), Limit.of(10));
+
+        Assertions.assertEquals(List.of(coupon.getId()), expiredIds);
+        Assertions.assertTrue(couponRepository.findOldestExpiration(now.plusSeconds(1)).isPresent());
+        Assertions.assertEquals(1, couponRepository.expire(List.of(coupon.getId(), valid.getId()), now.plusSeconds(1)));
+        Assertions.assertEquals(CouponStatus.INACTIVE, couponRepository.findById(coupon.getId()).orElseThrow().getStatus());
+        Assertions.assertEquals(CouponStatus.ACTIVE, couponRepository.findById(valid.getId()).orElseThrow().getStatus());
+        Assertions.assertTrue(couponRepository.findOldestExpiration(now.plusSeconds(1)).isEmpty());
+    }
+
+    @Test
+    void testFindExpiredIds_ShouldSeekTheStatusExpirationIndex() {
+        String plan = entityManager
+                .createNativeQuery("""
+                        EXPLAIN SELECT id FROM coupon
+                        WHERE status = 'ACTIVE' AND expiration_date <= TIMESTAMP '2030-01-01 00:00:00'
+                        ORDER BY expiration_date
+                        """)
+                .getSingleResult()
+                .toString();
+
+        Assertions.assertTrue(plan.toUpperCase().contains("IX_COUPON_STATUS_EXPIRATION_DATE"), plan);
+    }
+
+    @Test
+    void testFindPage_ShouldSeekTheCreationOrderIndexes() {
+        String plan = entityManager
+                .createNativeQuery("""
+                        EXPLAIN SELECT id FROM coupon
+                        WHERE status <> 'DELETED' AND created_at <= TIMESTAMP '2030-01-01 00:00:00'
+                        ORDER BY created_at DESC, id DESC
+                        """)
+                .getSingleResult()
+                .toString();
+        String statusPlan = entityManager
+                .createNativeQuery("""
+                        EXPLAIN SELECT id FROM coupon
+                        WHERE status = 'ACTIVE' AND created_at <= TIMESTAMP '2030-01-01 00:00:00'
+                        ORDER BY created_at DESC, id DESC
+                        """)
+                .getSingleResult()
+                .toString();
+
+        Assertions.assertTrue(plan.toUpperCase().contains("IX_COUPON_CREATED_AT_ID"), plan);
+        Assertions.assertTrue(statusPlan.toUpperCase().contains("IX_COUPON_STATUS_CREATED_AT_ID"), statusPlan);
+    }
+
+    @Test
+    void testFindByCode_ShouldSeekTheUniqueActiveCodeIndex() {
+        String plan = entityManager
+                .createNativeQuery("EXPLAIN SELECT id FROM coupon WHERE active_code = 'ABC123'")
+                .getSingleResult()
+                .toString();
+
+        Assertions.assertTrue(plan.toUpperCase().contains("UX_COUPON_ACTIVE_CODE"), plan);
+    }
 }
@@ -0,0 +1,98 @@
+package com.coupon.api.services;
+
+import com.coupon.api.dtos.coupons.request.CreateCouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.coupon.api.models.enums.CouponFileFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@SpringBootTest
+public class CouponExportServiceTest {
+
+    @Autowired
+    private CouponExportService couponExportService;
+
+    @Autowired
+    private CouponService couponService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private CouponDTO coupon;
+
+    @BeforeEach
+    void setUp() {
+        coupon = couponService.create(new CreateCouponDTO(
+                UUID.randomUUID().toString().substring(0, 6).toUpperCase(),
+                "Foo Bar",
+                0.8,
+                LocalDateTime.now().plusDays(1),
+                true,
+                5
+        ));
+
+        couponService.use(coupon.id());
+    }
+
+    @Test
+    void testExport_GivenNdjsonFormat_ShouldWriteOneCouponPerLine() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long rows = couponExportService.export(CouponFileFormat.NDJSON, output);
+
+        String body = output.toString(StandardCharsets.UTF_8);
+        List<String> lines = body.lines().toList();
+
+        Assertions.assertEquals(rows, lines.size());
+        Assertions.assertTrue(body.endsWith("\n"));
+
+        CouponDTO exported = lines.stream()
+                .filter(line -> line.contains(coupon.id().toString()))
+                .map(this::read)
+                .findFirst()
+                .orElseThrow();
+
+        Assertions.assertEquals(coupon.code(), exported.code());
+        Assertions.assertEquals(5, exported.maxRedemptions());
+        Assertions.assertEquals(1, exported.redemptions());
+        Assertions.assertNotNull(exported.createdAt());
+    }
+
+    @Test
+    void testExport_GivenCsvFormat_ShouldWriteHeaderAndOneCouponPerRow() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long rows = couponExportService.export(CouponFileFormat.CSV, output);
+
+        List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+
+        Assertions.assertEquals(rows + 1, lines.size());
+        Assertions.assertEquals("id,code,description,discountValue,expirationDate,status,published,redeemed,maxRedemptions,redemptions,createdAt", lines.getFirst());
+
+        String row = lines.stream()
+                .filter(line -> line.startsWith("\"" + coupon.id() + "\","))
+                .findFirst()
+                .orElseThrow();
+
+        Assertions.assertTrue(row.contains("," + coupon.code() + ",\"Foo Bar\",0.8,"));
+        Assertions.assertTrue(row.contains(",ACTIVE,true,false,5,1,"));
+    }
+
+    private CouponDTO read(String line) {
+        try {
+            return objectMapper.readValue(line, CouponDTO.class);
+        } catch (Exception exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
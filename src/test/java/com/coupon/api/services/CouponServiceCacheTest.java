@@ -0,0 +1,132 @@
+package com.coupon.api.services;
+
+import com.coupon.api.configs.CacheConfig;
+import com.coupon.api.dtos.coupons.request.CreateCouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.coupon.api.exceptions.BadRequestException;
+import com.coupon.api.models.enums.CouponStatus;
+import com.coupon.api.repositories.CouponRepository;
+import com.coupon.api.services.redemptions.CouponRedemptionCounter;
+import com.coupon.api.services.responses.CouponResponseCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@SpringBootTest
+public class CouponServiceCacheTest {
+
+    @Autowired
+    private CouponService couponService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CouponResponseCache couponResponseCache;
+
+    @Autowired
+    private CouponRedemptionCounter couponRedemptionCounter;
+
+    @MockitoSpyBean
+    private CouponRepository couponRepository;
+
+    private CouponDTO coupon;
+
+    @BeforeEach
+    void setUp() {
+        coupon = couponService.create(new CreateCouponDTO(
+                UUID.randomUUID().toString().substring(0, 6),
+                "Foo Bar",
+                0.8,
+                LocalDateTime.now().plusDays(1),
+                true
+        ));
+
+        Mockito.clearInvocations(couponRepository);
+    }
+
+    @Test
+    void testFindById_GivenRepeatedReads_ShouldLoadTheCouponOnlyOnce() {
+        CacheStats statsBefore = nativeCache().stats();
+
+        CouponDTO firstRead = couponService.findById(coupon.id());
+        CouponDTO secondRead = couponService.findById(coupon.id());
+
+        Assertions.assertEquals(firstRead, secondRead);
+
+        CacheStats stats = nativeCache().stats().minus(statsBefore);
+
+        Assertions.assertEquals(1, stats.missCount());
+        Assertions.assertEquals(1, stats.hitCount());
+
+        Mockito.verify(couponRepository, Mockito.times(1)).findById(coupon.id());
+    }
+
+    @Test
+    void testUse_GivenCachedCoupon_ShouldEvictItBeforeReturning() {
+        Assertions.assertFalse(couponService.findById(coupon.id()).redeemed());
+
+        couponService.use(coupon.id());
+
+        Assertions.assertTrue(couponService.findById(coupon.id()).redeemed());
+
+        Mockito.verify(couponRepository, Mockito.times(2)).findById(coupon.id());
+    }
+
+    @Test
+    void testUseByCode_GivenCachedCoupon_ShouldEvictItBeforeReturning() {
+        Assertions.assertFalse(couponService.findById(coupon.id()).redeemed());
+
+        couponService.useByCode(coupon.code());
+
+        Assertions.assertTrue(couponService.findById(coupon.id()).redeemed());
+    }
+
+    @Test
+    void testUse_GivenCachedCouponWhoseShardsRanOut_ShouldEvictItWhenMarkingItRedeemed() {
+        CouponDTO multiUse = couponService.create(new CreateCouponDTO(
+                UUID.randomUUID().toString().substring(0, 6),
+                "Foo Bar",
+                0.8,
+                LocalDateTime.now().plusDays(1),
+                true,
+                2
+        ));
+
+        Assertions.assertFalse(couponService.findById(multiUse.id()).redeemed());
+        Assertions.assertNotNull(couponResponseCache.findById(multiUse.id()));
+
+        // Drains the shards without flagging the coupon, as a reserved block of hot tokens does.
+        Assertions.assertEquals(2, couponRedemptionCounter.reserve(multiUse.id(), 2, LocalDateTime.now()));
+
+        BadRequestException exception = Assertions.assertThrows(BadRequestException.class, () -> couponService.use(multiUse.id()));
+
+        Assertions.assertEquals("O cupom atingiu o limite de utilizações", exception.getMessage());
+        Assertions.assertNull(cacheManager.getCache(CacheConfig.COUPON_RESPONSES_CACHE).get(multiUse.id()));
+        Assertions.assertTrue(couponService.findById(multiUse.id()).redeemed());
+    }
+
+    @Test
+    void testDelete_GivenCachedCoupon_ShouldEvictItBeforeReturning() {
+        Assertions.assertEquals(CouponStatus.ACTIVE, couponService.findById(coupon.id()).status());
+
+        couponService.delete(coupon.id());
+
+        Assertions.assertEquals(CouponStatus.DELETED, couponService.findById(coupon.id()).status());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<Object, Object> nativeCache() {
+        return (Cache<Object, Object>) cacheManager.getCache(CacheConfig.COUPONS_CACHE).getNativeCache();
+    }
+}
@@ -0,0 +1,157 @@
+package com.coupon.api.services;
+
+import com.coupon.api.dtos.coupons.request.CreateCouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.coupon.api.exceptions.BadRequestException;
+import com.coupon.api.models.Coupon;
+import com.coupon.api.models.enums.CouponStatus;
+import com.coupon.api.repositories.CouponRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@SpringBootTest
+public class CouponServiceConcurrencyTest {
+
+    private static final int COUPONS = 20;
+    private static final int ATTEMPTS_PER_COUPON = 16;
+
+    @Autowired
+    private CouponService couponService;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Test
+    void testUse_GivenConcurrentRedeemsOfTheSameCoupons_ShouldHaveExactlyOneWinnerPerCoupon() throws Exception {
+        List<UUID> ids = new ArrayList<>();
+
+        for (int i = 0; i < COUPONS; i++) {
+            Coupon coupon = new Coupon(
+                    null,
+                    "CNC" + String.format("%03d", i),
+                    "Foo Bar",
+                    BigDecimal.valueOf(0.8),
+                    LocalDateTime.now().plusDays(1),
+                    null,
+                    null,
+                    CouponStatus.ACTIVE,
+                    true,
+                    false
+            );
+
+            ids.add(couponRepository.save(coupon).getId());
+        }
+
+        AtomicInteger[] winners = new AtomicInteger[COUPONS];
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < COUPONS; i++) {
+            winners[i] = new AtomicInteger();
+        }
+
+        for (int attempt = 0; attempt < ATTEMPTS_PER_COUPON; attempt++) {
+            for (int i = 0; i < COUPONS; i++) {
+                int index = i;
+
+                futures.add(executor.submit(() -> {
+                    start.await();
+
+                    try {
+                        if (couponService.use(ids.get(index)).redeemed()) {
+                            winners[index].incrementAndGet();
+                        }
+                    } catch (BadRequestException exception) {
+                        Assertions.assertEquals("O cupom já foi utilizado", exception.getMessage());
+                        rejected.incrementAndGet();
+                    }
+
+                    return null;
+                }));
+            }
+        }
+
+        start.countDown();
+
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+
+        executor.shutdown();
+
+        for (int i = 0; i < COUPONS; i++) {
+            Assertions.assertEquals(1, winners[i].get());
+            Assertions.assertTrue(couponRepository.findById(ids.get(i)).orElseThrow().isRedeemed());
+        }
+
+        Assertions.assertEquals(COUPONS * (ATTEMPTS_PER_COUPON - 1), rejected.get());
+    }
+
+    @Test
+    void testUse_GivenConcurrentRedeemsOfAMultiUseCoupon_ShouldNeverExceedItsLimit() throws Exception {
+        int maxRedemptions = 100;
+        int attempts = 400;
+        CouponDTO coupon = couponService.create(new CreateCouponDTO(
+                UUID.randomUUID().toString().substring(0, 6).toUpperCase(),
+                "Foo Bar",
+                0.8,
+                LocalDateTime.now().plusDays(1),
+                true,
+                maxRedemptions
+        ));
+
+        AtomicInteger winners = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int attempt = 0; attempt < attempts; attempt++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+
+                try {
+                    if (couponService.use(coupon.id()).redeemed()) {
+                        winners.incrementAndGet();
+                    }
+                } catch (BadRequestException exception) {
+                    Assertions.assertEquals("O cupom atingiu o limite de utilizações", exception.getMessage());
+                    rejected.incrementAndGet();
+                }
+
+                return null;
+            }));
+        }
+
+        start.countDown();
+
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+
+        executor.shutdown();
+
+        CouponDTO redeemedCoupon = couponService.findByCode(coupon.code());
+
+        Assertions.assertEquals(maxRedemptions, winners.get());
+        Assertions.assertEquals(attempts - maxRedemptions, rejected.get());
+        Assertions.assertEquals(maxRedemptions, redeemedCoupon.redemptions());
+        Assertions.assertTrue(redeemedCoupon.redeemed());
+    }
+}
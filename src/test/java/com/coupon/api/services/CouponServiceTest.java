@@ -1,24 +1,56 @@
 package com.coupon.api.services;
 
+import com.coupon.api.configs.CacheConfig;
+import com.coupon.api.dtos.coupons.request.CouponSearchDTO;
 import com.coupon.api.dtos.coupons.request.CreateCouponDTO;
 import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponPageDTO;
+import com.coupon.api.dtos.coupons.response.CouponRedeemDTO;
+import com.coupon.api.dtos.coupons.response.CouponVersionDTO;
 import com.coupon.api.exceptions.BadRequestException;
+import com.coupon.api.exceptions.ConflictException;
 import com.coupon.api.exceptions.NotFoundException;
+import com.coupon.api.exceptions.TooManyRequestsException;
+import com.coupon.api.exceptions.UnknownCouponException;
+import com.coupon.api.metrics.CouponMetrics;
 import com.coupon.api.models.Coupon;
+import com.coupon.api.models.CouponArchive;
+import com.coupon.api.models.CouponRedemption;
 import com.coupon.api.models.enums.CouponStatus;
+import com.coupon.api.models.enums.RedeemRejectionReason;
+import com.coupon.api.repositories.CouponArchiveRepository;
+import com.coupon.api.repositories.CouponRedemptionRepository;
 import com.coupon.api.repositories.CouponRepository;
+import com.coupon.api.services.codes.CouponCodeNormalizer;
+import com.coupon.api.services.lookups.CouponLookupFilter;
+import com.coupon.api.services.redemptions.CouponRedemptionBatcher;
+import com.coupon.api.services.redemptions.CouponHotRedemptions;
+import com.coupon.api.services.redemptions.CouponRedemptionCounter;
+import com.coupon.api.services.retry.OptimisticLockRetry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @ExtendWith(MockitoExtension.class)
 public class CouponServiceTest {
@@ -26,6 +58,49 @@ public class CouponServiceTest {
     @Mock
     private CouponRepository couponRepository;
 
+    @Spy
+    private CouponCodeNormalizer couponCodeNormalizer = new CouponCodeNormalizer(CouponCodeNormalizer.CasePolicy.UPPER);
+
+    @Spy
+    private OptimisticLockRetry optimisticLockRetry = new OptimisticLockRetry(3, 0);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private CouponMetrics couponMetrics = new CouponMetrics(meterRegistry);
+
+    @Mock
+    private CouponRedemptionCounter couponRedemptionCounter;
+
+    @Mock
+    private CouponRedemptionRepository couponRedemptionRepository;
+
+    @Mock
+    private CouponArchiveRepository couponArchiveRepository;
+
+    @Mock
+    private CouponRedemptionBatcher couponRedemptionBatcher;
+
+    @Mock
+    private CouponHotRedemptions couponHotRedemptions;
+
+    @Spy
+    private CouponLookupFilter couponLookupFilter = new CouponLookupFilter(
+            Mockito.mock(JdbcTemplate.class),
+            Mockito.mock(PlatformTransactionManager.class),
+            couponMetrics,
+            true,
+            1000,
+            0.01,
+            1000
+    );
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.COUPONS_CACHE, CacheConfig.COUPON_RESPONSES_CACHE);
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private CouponService couponService;
 
@@ -75,6 +150,23 @@ public class CouponServiceTest {
         Mockito.verify(couponRepository).save(Mockito.any(Coupon.class));
     }
 
+    @Test
+    void testCreate_GivenLowercaseCode_ShouldPersistTheUppercaseCode() {
+        CreateCouponDTO createCouponDTO = new CreateCouponDTO(
+                "abc-123",
+                "Foo Bar",
+                0.8,
+                LocalDateTime.now(),
+                false
+        );
+
+        Mockito.when(couponRepository.save(Mockito.any(Coupon.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        CouponDTO actualCoupon = couponService.create(createCouponDTO);
+
+        Assertions.assertEquals("ABC123", actualCoupon.code());
+    }
+
     @Test
     void testCreate_GivenDTOWithInvalidCode_ShouldThrowABadRequestException() {
         String code = "ABCD-123";
@@ -102,6 +194,421 @@ public class CouponServiceTest {
         Mockito.verify(couponRepository, Mockito.never()).save(Mockito.any(Coupon.class));
     }
 
+    @Test
+    void testUse_GivenRedeemableCoupon_ShouldRedeemWithASingleConditionalUpdate() {
+        UUID id = UUID.randomUUID();
+
+        Mockito.when(couponRepository.redeem(Mockito.eq(id), Mockito.any(LocalDateTime.class))).thenReturn(1);
+
+        CouponRedeemDTO actualRedeem = couponService.use(id);
+
+        Assertions.assertEquals(id, actualRedeem.id());
+        Assertions.assertTrue(actualRedeem.redeemed());
+
+        Mockito.verify(couponRepository).redeem(Mockito.eq(id), Mockito.any(LocalDateTime.class));
+        Mockito.verify(couponRedemptionRepository).saveAndFlush(Mockito.any(CouponRedemption.class));
+        Mockito.verify(couponRepository, Mockito.never()).findById(id);
+        Mockito.verify(couponRepository, Mockito.never()).save(Mockito.any(Coupon.class));
+    }
+
+    @Test
+    void testUse_GivenIdempotencyKeyAlreadyInTheLedger_ShouldReplayTheOriginalRedeem() {
+        UUID id = UUID.randomUUID();
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        Mockito.when(couponRedemptionRepository.findByIdempotencyKey(idempotencyKey))
+                .thenReturn(Optional.of(new CouponRedemption(id, idempotencyKey, LocalDateTime.now())));
+
+        CouponRedeemDTO actualRedeem = couponService.use(id, idempotencyKey);
+
+        Assertions.assertEquals(id, actualRedeem.id());
+        Assertions.assertTrue(actualRedeem.redeemed());
+
+        Mockito.verify(couponRepository, Mockito.never()).redeem(Mockito.any(UUID.class), Mockito.any(LocalDateTime.class));
+        Mockito.verify(couponRepository, Mockito.never()).findById(id);
+    }
+
+    @Test
+    void testUse_GivenIdempotencyKeyUsedForAnotherCoupon_ShouldThrowAConflictException() {
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        Mockito.when(couponRedemptionRepository.findByIdempotencyKey(idempotencyKey))
+                .thenReturn(Optional.of(new CouponRedemption(UUID.randomUUID(), idempotencyKey, LocalDateTime.now())));
+
+        ConflictException exception = Assertions.assertThrows(
+                ConflictException.class,
+                () -> couponService.use(UUID.randomUUID(), idempotencyKey)
+        );
+
+        Assertions.assertEquals("A chave de idempotência já foi usada para outro cupom", exception.getMessage());
+    }
+
+    @Test
+    void testUse_GivenConcurrentRequestWithTheSameIdempotencyKey_ShouldReplayTheRedeemThatWon() {
+        UUID id = UUID.randomUUID();
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        Mockito.when(couponRedemptionRepository.findByIdempotencyKey(idempotencyKey))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new CouponRedemption(id, idempotencyKey, LocalDateTime.now())));
+        Mockito.when(couponRepository.redeem(Mockito.eq(id), Mockito.any(LocalDateTime.class))).thenReturn(1);
+        Mockito.when(couponRedemptionRepository.saveAndFlush(Mockito.any(CouponRedemption.class)))
+                .thenThrow(new DataIntegrityViolationException("ux_coupon_redemption_idempotency_key"));
+
+        CouponRedeemDTO actualRedeem = couponService.use(id, idempotencyKey);
+
+        Assertions.assertEquals(id, actualRedeem.id());
+        Assertions.assertTrue(actualRedeem.redeemed());
+    }
+
+    @Test
+    void testUse_GivenMultiUseCoupon_ShouldTakeARedemptionFromTheCounter() {
+        UUID id = UUID.randomUUID();
+
+        Mockito.when(couponRepository.redeem(Mockito.eq(id), Mockito.any(LocalDateTime.class))).thenReturn(0);
+        Mockito.when(couponRedemptionCounter.take(Mockito.eq(id), Mockito.any(LocalDateTime.class))).thenReturn(true);
+
+        CouponRedeemDTO actualRedeem = couponService.use(id);
+
+        Assertions.assertEquals(id, actualRedeem.id());
+        Assertions.assertTrue(actualRedeem.redeemed());
+
+        Mockito.verify(couponRepository, Mockito.never()).findById(id);
+    }
+
+    @Test
+    void testUse_GivenWriteBehindEnabled_ShouldReturnOnceTheBatchIsCommitted() {
+        UUID id = UUID.randomUUID();
+
+        Mockito.when(couponRedemptionBatcher.isEnabled()).thenReturn(true);
+        Mockito.when(couponRedemptionBatcher.submit(id, null)).thenReturn(CompletableFuture.completedFuture(true));
+
+        CouponRedeemDTO actualRedeem = couponService.use(id);
+
+        Assertions.assertEquals(id, actualRedeem.id());
+        Assertions.assertTrue(actualRedeem.redeemed());
+
+        Mockito.verify(couponRepository, Mockito.never()).redeem(Mockito.any(UUID.class), Mockito.any(LocalDateTime.class));
+        Mockito.verify(couponRedemptionRepository, Mockito.never()).saveAndFlush(Mockito.any(CouponRedemption.class));
+    }
+
+    @Test
+    void testUse_GivenWriteBehindBatchRolledBack_ShouldRedeemOnItsOwn() {
+        UUID id = UUID.randomUUID();
+
+        Mockito.when(couponRedemptionBatcher.isEnabled()).thenReturn(true);
+        Mockito.when(couponRedemptionBatcher.submit(id, null))
+                .thenReturn(CompletableFuture.failedFuture(new DataIntegrityViolationException("ux_coupon_redemption_idempotency_key")));
+        Mockito.when(couponRepository.redeem(Mockito.eq(id), Mockito.any(LocalDateTime.class))).thenReturn(1);
+
+        CouponRedeemDTO actualRedeem = couponService.use(id);
+
+        Assertions.assertTrue(actualRedeem.redeemed());
+
+        Mockito.verify(couponRedemptionRepository).saveAndFlush(Mockito.any(CouponRedemption.class));
+    }
+
+    @Test
+    void testUse_GivenWriteBehindRejectedExpiredCoupon_ShouldThrowABadRequestException() {
+        UUID id = UUID.randomUUID();
+        Coupon coupon = redeemRejectedCoupon(id, CouponStatus.ACTIVE, true, LocalDateTime.now().minusDays(1), false);
+
+        Mockito.when(couponRedemptionBatcher.isEnabled()).thenReturn(true);
+        Mockito.when(couponRedemptionBatcher.submit(id, null)).thenReturn(CompletableFuture.completedFuture(false));
+        Mockito.when(couponRepository.findById(id)).thenReturn(Optional.of(coupon));
+
+        BadRequestException exception = Assertions.assertThrows(
+                BadRequestException.class,
+                () -> couponService.use(id)
+        );
+
+        Assertions.assertEquals("O cupom já está vencido/expirado", exception.getMessage());
+
+        Mockito.verify(couponRepository, Mockito.never()).redeem(Mockito.any(UUID.class), Mockito.any(LocalDateTime.class));
+    }
+
+    @Test
+    void testUse_GivenWriteBehindQueueFull_ShouldThrowATooManyRequestsException() {
+        UUID id = UUID.randomUUID();
+
+        Mockito.when(couponRedemptionBatcher.isEnabled()).thenReturn(true);
+        Mockito.when(couponRedemptionBatcher.submit(id, null))
+                .thenThrow(new TooManyRequestsException("Muitos resgates em andamento, tente novamente em instantes"));
+
+        Assertions.assertThrows(TooManyRequestsException.class, () -> couponService.use(id));
+
+        Mockito.verify(couponRepository, Mockito.never()).redeem(Mockito.any(UUID.class), Mockito.any(LocalDateTime.class));
+    }
+
+    @Test
+    void testUse_GivenHotCouponSoldOut_ShouldRejectWithoutQueryingTheDatabase() {
+        UUID id = UUID.randomUUID();
+
+        Mockito.when(couponHotRedemptions.isEnabled()).thenReturn(true);
+        Mockito.when(couponHotRedemptions.admit(id)).thenReturn(Optional.of(RedeemRejectionReason.LIMIT_REACHED));
+
+        BadRequestException exception = Assertions.assertThrows(BadRequestException.class, () -> couponService.use(id));
+
+        Assertions.assertEquals(RedeemRejectionReason.LIMIT_REACHED.toException().getMessage(), exception.getMessage());
+
+        Mockito.verifyNoInteractions(couponRepository, couponRedemptionCounter);
+    }
+
+    @Test
+    void testUse_GivenHotCouponWithReservedTokens_ShouldRedeemWithoutUpdatingTheCoupon() {
+        UUID id = UUID.randomUUID();
+
+        Mockito.when(couponHotRedemptions.isEnabled()).thenReturn(true);
+        Mockito.when(couponHotRedemptions.admit(id)).thenReturn(Optional.empty());
+        Mockito.when(couponHotRedemptions.redeem(id, null)).thenReturn(true);
+
+        CouponRedeemDTO couponRedeemDTO = couponService.use(id);
+
+        Assertions.assertEquals(id, couponRedeemDTO.id());
+        Assertions.assertTrue(couponRedeemDTO.redeemed());
+
+        Mockito.verifyNoInteractions(couponRepository, couponRedemptionCounter);
+    }
+
+    @Test
+    void testUse_GivenHotCouponRejectedByTheDatabase_ShouldRememberItAsSoldOut() {
+        UUID id = UUID.randomUUID();
+        Coupon coupon = redeemRejectedCoupon(id, CouponStatus.ACTIVE, true, LocalDateTime.now().plusDays(1), true);
+
+        Mockito.when(couponHotRedemptions.isEnabled()).thenReturn(true);
+        Mockito.when(couponHotRedemptions.admit(id)).thenReturn(Optional.empty());
+        Mockito.when(couponRepository.redeem(Mockito.eq(id), Mockito.any(LocalDateTime.class))).thenReturn(0);
+        Mockito.when(couponRepository.findById(id)).thenReturn(Optional.of(coupon));
+
+        Assertions.assertThrows(BadRequestException.class, () -> couponService.use(id));
+
+        Mockito.verify(couponHotRedemptions).soldOut(id, RedeemRejectionReason.ALREADY_REDEEMED);
+    }
+
+    @Test
+    void testFindById_GivenIdRuledOutByTheLookupFilter_ShouldThrowAStacklessNotFoundExceptionWithoutQuerying() {
+        couponLookupFilter.rebuild();
+
+        UnknownCouponException exception = Assertions.assertThrows(
+                UnknownCouponException.class,
+                () -> couponService.findById(UUID.randomUUID())
+        );
+
+        Assertions.assertEquals("Cupom não encontrado", exception.getMessage());
+        Assertions.assertEquals(0, exception.getStackTrace().length);
+        Assertions.assertEquals(1.0, meterRegistry.get("coupon.lookup.filter.rejections").tag("key", "id").counter().count());
+
+        Mockito.verifyNoInteractions(couponRepository, couponArchiveRepository);
+    }
+
+    @Test
+    void testUseByCode_GivenCodeRuledOutByTheLookupFilter_ShouldRejectAsNotFoundWithoutQuerying() {
+        couponLookupFilter.rebuild();
+
+        NotFoundException exception = Assertions.assertThrows(NotFoundException.class, () -> couponService.useByCode("ZZZ999"));
+
+        Assertions.assertEquals("Cupom não encontrado", exception.getMessage());
+        Assertions.assertEquals(1.0, meterRegistry.get("coupon.redeem.rejections")
+                .tag("reason", RedeemRejectionReason.NOT_FOUND.getTag())
+                .counter()
+                .count());
+        Assertions.assertEquals(1.0, meterRegistry.get("coupon.lookup.filter.rejections").tag("key", "code").counter().count());
+
+        Mockito.verifyNoInteractions(couponRepository);
+    }
+
+    @Test
+    void testFindByCode_GivenCodeInTheLookupFilterButNotInTheDatabase_ShouldCountAFalsePositive() {
+        couponLookupFilter.rebuild();
+        couponLookupFilter.addCode("ABC123");
+
+        Mockito.when(couponRepository.findByCode("ABC123")).thenReturn(Optional.empty());
+
+        NotFoundException exception = Assertions.assertThrows(NotFoundException.class, () -> couponService.findByCode("abc-123"));
+
+        Assertions.assertFalse(exception instanceof UnknownCouponException);
+        Assertions.assertEquals(1.0, meterRegistry.get("coupon.lookup.filter.false.positives").tag("key", "code").counter().count());
+    }
+
+    @Test
+    void testValidateRedeem_GivenArchivedId_ShouldThrowABadRequestExceptionWithoutRedeeming() {
+        UUID id = UUID.randomUUID();
+
+        Mockito.when(couponRepository.existsById(id)).thenReturn(false);
+        Mockito.when(couponArchiveRepository.existsById(id)).thenReturn(true);
+
+        BadRequestException exception = Assertions.assertThrows(
+                BadRequestException.class,
+                () -> couponService.validateRedeem(id, "key-1")
+        );
+
+        Assertions.assertEquals("Você não pode utilizar um cupom que não está ativo", exception.getMessage());
+
+        Mockito.verify(couponRepository, Mockito.never()).redeem(Mockito.any(UUID.class), Mockito.any(LocalDateTime.class));
+    }
+
+    @Test
+    void testValidateRedeem_GivenBlankIdempotencyKey_ShouldThrowABadRequestExceptionWithoutQuerying() {
+        UUID id = UUID.randomUUID();
+
+        Assertions.assertThrows(BadRequestException.class, () -> couponService.validateRedeem(id, " "));
+
+        Mockito.verify(couponRepository, Mockito.never()).existsById(id);
+    }
+
+    @Test
+    void testUse_GivenMultiUseCouponWithoutRemainingRedemptions_ShouldThrowABadRequestException() {
+        UUID id = UUID.randomUUID();
+        Coupon coupon = redeemRejectedCoupon(id, CouponStatus.ACTIVE, true, LocalDateTime.now().plusDays(1), false);
+
+        coupon.setMaxRedemptions(50);
+
+        Mockito.when(couponRepository.redeem(Mockito.eq(id), Mockito.any(LocalDateTime.class))).thenReturn(0);
+        Mockito.when(couponRepository.findById(id)).thenReturn(Optional.of(coupon));
+        Mockito.when(couponRedemptionCounter.isExhausted(id)).thenReturn(true);
+
+        BadRequestException exception = Assertions.assertThrows(
+                BadRequestException.class,
+                () -> couponService.use(id)
+        );
+
+        Assertions.assertEquals("O cupom atingiu o limite de utilizações", exception.getMessage());
+
+        Mockito.verify(couponRepository).markRedeemed(Mockito.eq(id), Mockito.any(LocalDateTime.class));
+    }
+
+    @Test
+    void testUse_GivenInvalidId_ShouldThrowANotFoundException() {
+        UUID id = UUID.randomUUID();
+
+        Mockito.when(couponRepository.redeem(Mockito.eq(id), Mockito.any(LocalDateTime.class))).thenReturn(0);
+        Mockito.when(couponRepository.findById(id)).thenReturn(Optional.empty());
+
+        NotFoundException exception = Assertions.assertThrows(
+                NotFoundException.class,
+                () -> couponService.use(id)
+        );
+
+        Assertions.assertEquals("Cupom não encontrado", exception.getMessage());
+    }
+
+    @Test
+    void testUse_GivenInactiveCoupon_ShouldThrowABadRequestException() {
+        UUID id = UUID.randomUUID();
+        Coupon coupon = redeemRejectedCoupon(id, CouponStatus.INACTIVE, true, LocalDateTime.now().plusDays(1), false);
+
+        Mockito.when(couponRepository.redeem(Mockito.eq(id), Mockito.any(LocalDateTime.class))).thenReturn(0);
+        Mockito.when(couponRepository.findById(id)).thenReturn(Optional.of(coupon));
+
+        BadRequestException exception = Assertions.assertThrows(
+                BadRequestException.class,
+                () -> couponService.use(id)
+        );
+
+        Assertions.assertEquals("Você não pode utilizar um cupom que não está ativo", exception.getMessage());
+    }
+
+    @Test
+    void testUse_GivenUnpublishedCoupon_ShouldThrowABadRequestException() {
+        UUID id = UUID.randomUUID();
+        Coupon coupon = redeemRejectedCoupon(id, CouponStatus.ACTIVE, false, LocalDateTime.now().plusDays(1), false);
+
+        Mockito.when(couponRepository.redeem(Mockito.eq(id), Mockito.any(LocalDateTime.class))).thenReturn(0);
+        Mockito.when(couponRepository.findById(id)).thenReturn(Optional.of(coupon));
+
+        BadRequestException exception = Assertions.assertThrows(
+                BadRequestException.class,
+                () -> couponService.use(id)
+        );
+
+        Assertions.assertEquals("Você não pode utilizar um cupom que não está publicado", exception.getMessage());
+    }
+
+    @Test
+    void testUse_GivenExpiredCoupon_ShouldThrowABadRequestException() {
+        UUID id = UUID.randomUUID();
+        Coupon coupon = redeemRejectedCoupon(id, CouponStatus.ACTIVE, true, LocalDateTime.now().minusDays(1), false);
+
+        Mockito.when(couponRepository.redeem(Mockito.eq(id), Mockito.any(LocalDateTime.class))).thenReturn(0);
+        Mockito.when(couponRepository.findById(id)).thenReturn(Optional.of(coupon));
+
+        BadRequestException exception = Assertions.assertThrows(
+                BadRequestException.class,
+                () -> couponService.use(id)
+        );
+
+        Assertions.assertEquals("O cupom já está vencido/expirado", exception.getMessage());
+    }
+
+    @Test
+    void testUse_GivenExpiredCouponAlreadySweptToInactive_ShouldStillReportItAsExpired() {
+        UUID id = UUID.randomUUID();
+        Coupon coupon = redeemRejectedCoupon(id, CouponStatus.INACTIVE, true, LocalDateTime.now().minusDays(1), false);
+
+        Mockito.when(couponRepository.redeem(Mockito.eq(id), Mockito.any(LocalDateTime.class))).thenReturn(0);
+        Mockito.when(couponRepository.findById(id)).thenReturn(Optional.of(coupon));
+
+        BadRequestException exception = Assertions.assertThrows(
+                BadRequestException.class,
+                () -> couponService.use(id)
+        );
+
+        Assertions.assertEquals("O cupom já está vencido/expirado", exception.getMessage());
+    }
+
+    @Test
+    void testUse_GivenAlreadyRedeemedCoupon_ShouldThrowABadRequestException() {
+        UUID id = UUID.randomUUID();
+        Coupon coupon = redeemRejectedCoupon(id, CouponStatus.ACTIVE, true, LocalDateTime.now().plusDays(1), true);
+
+        Mockito.when(couponRepository.redeem(Mockito.eq(id), Mockito.any(LocalDateTime.class))).thenReturn(0);
+        Mockito.when(couponRepository.findById(id)).thenReturn(Optional.of(coupon));
+
+        BadRequestException exception = Assertions.assertThrows(
+                BadRequestException.class,
+                () -> couponService.use(id)
+        );
+
+        Assertions.assertEquals("O cupom já foi utilizado", exception.getMessage());
+        Assertions.assertEquals(1.0, meterRegistry.get("coupon.redeem.rejections")
+                .tag("reason", RedeemRejectionReason.ALREADY_REDEEMED.getTag())
+                .counter()
+                .count());
+
+        Mockito.verify(couponRepository, Mockito.never()).save(Mockito.any(Coupon.class));
+    }
+
+    @Test
+    void testUse_GivenCouponChangedDuringRedeem_ShouldRetryTheConditionalUpdate() {
+        UUID id = UUID.randomUUID();
+        Coupon coupon = redeemRejectedCoupon(id, CouponStatus.ACTIVE, true, LocalDateTime.now().plusDays(1), false);
+
+        Mockito.when(couponRepository.redeem(Mockito.eq(id), Mockito.any(LocalDateTime.class))).thenReturn(0, 1);
+        Mockito.when(couponRepository.findById(id)).thenReturn(Optional.of(coupon));
+
+        CouponRedeemDTO actualRedeem = couponService.use(id);
+
+        Assertions.assertTrue(actualRedeem.redeemed());
+
+        Mockito.verify(couponRepository, Mockito.times(2)).redeem(Mockito.eq(id), Mockito.any(LocalDateTime.class));
+    }
+
+    @Test
+    void testUse_GivenRedeemRolledBackByADeadlock_ShouldRetryTheRedeem() {
+        UUID id = UUID.randomUUID();
+
+        Mockito.when(couponRepository.redeem(Mockito.eq(id), Mockito.any(LocalDateTime.class))).thenReturn(0);
+        Mockito.when(couponRedemptionCounter.take(Mockito.eq(id), Mockito.any(LocalDateTime.class)))
+                .thenThrow(new CannotAcquireLockException("Deadlock detected"))
+                .thenReturn(true);
+
+        CouponRedeemDTO actualRedeem = couponService.use(id);
+
+        Assertions.assertTrue(actualRedeem.redeemed());
+
+        Mockito.verify(couponRedemptionCounter, Mockito.times(2)).take(Mockito.eq(id), Mockito.any(LocalDateTime.class));
+    }
+
     @Test
     void testFindById_GivenValidId_ShouldReturnCoupon() {
         UUID id = UUID.randomUUID();
@@ -148,6 +655,7 @@ public class CouponServiceTest {
         String exceptionMessage = "Cupom não encontrado";
 
         Mockito.when(couponRepository.findById(id)).thenReturn(Optional.empty());
+        Mockito.when(couponArchiveRepository.findById(id)).thenReturn(Optional.empty());
 
         NotFoundException exception = Assertions.assertThrows(
                 NotFoundException.class,
@@ -157,6 +665,185 @@ public class CouponServiceTest {
         Assertions.assertEquals(exceptionMessage, exception.getMessage());
 
         Mockito.verify(couponRepository).findById(id);
+        Mockito.verify(couponArchiveRepository).findById(id);
+    }
+
+    @Test
+    void testFindById_GivenArchivedId_ShouldReturnDeletedCouponFromTheArchive() {
+        UUID id = UUID.randomUUID();
+        CouponArchive archive = new CouponArchive(
+                id,
+                "ABC123",
+                "Foo Bar",
+                BigDecimal.valueOf(0.8),
+                LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().minusDays(60),
+                LocalDateTime.now().minusDays(40),
+                LocalDateTime.now(),
+                true,
+                false,
+                5,
+                2
+        );
+
+        Mockito.when(couponRepository.findById(id)).thenReturn(Optional.empty());
+        Mockito.when(couponArchiveRepository.findById(id)).thenReturn(Optional.of(archive));
+
+        CouponDTO actualCoupon = couponService.findById(id);
+
+        Assertions.assertEquals(id, actualCoupon.id());
+        Assertions.assertEquals("ABC123", actualCoupon.code());
+        Assertions.assertEquals(CouponStatus.DELETED, actualCoupon.status());
+        Assertions.assertEquals(5, actualCoupon.maxRedemptions());
+        Assertions.assertEquals(2, actualCoupon.redemptions());
+
+        Mockito.verifyNoInteractions(couponRedemptionCounter);
+    }
+
+    @Test
+    void testFindVersionById_GivenArchivedId_ShouldReturnTheArchivedVersion() {
+        UUID id = UUID.randomUUID();
+        CouponVersionDTO archived = new CouponVersionDTO(id, LocalDateTime.now().minusDays(40));
+
+        Mockito.when(couponRepository.findVersionById(id)).thenReturn(Optional.empty());
+        Mockito.when(couponArchiveRepository.findVersionById(id)).thenReturn(Optional.of(archived));
+
+        Assertions.assertEquals(archived, couponService.findVersionById(id));
+    }
+
+    @Test
+    void testFindVersionById_GivenInvalidId_ShouldThrowANotFoundException() {
+        UUID id = UUID.randomUUID();
+
+        Mockito.when(couponRepository.findVersionById(id)).thenReturn(Optional.empty());
+        Mockito.when(couponArchiveRepository.findVersionById(id)).thenReturn(Optional.empty());
+
+        NotFoundException exception = Assertions.assertThrows(
+                NotFoundException.class,
+                () -> couponService.findVersionById(id)
+        );
+
+        Assertions.assertEquals("Cupom não encontrado", exception.getMessage());
+    }
+
+    @Test
+    void testFindByCode_GivenCodeWithSpecialCharacters_ShouldLookUpTheNormalizedCode() {
+        CouponDTO couponExpected = new CouponDTO(
+                UUID.randomUUID(),
+                "ABC123",
+                "Foo Bar",
+                0.8,
+                LocalDateTime.now(),
+                CouponStatus.ACTIVE,
+                true,
+                false
+        );
+
+        Mockito.when(couponRepository.findByCode("ABC123")).thenReturn(Optional.of(couponExpected));
+
+        CouponDTO actualCoupon = couponService.findByCode("ABC-123");
+
+        Assertions.assertEquals(couponExpected, actualCoupon);
+
+        Mockito.verify(couponRepository).findByCode("ABC123");
+    }
+
+    @Test
+    void testFindByCode_GivenCodeWithInvalidLength_ShouldThrowANotFoundExceptionWithoutQuerying() {
+        NotFoundException exception = Assertions.assertThrows(
+                NotFoundException.class,
+                () -> couponService.findByCode("ABCD-123")
+        );
+
+        Assertions.assertEquals("Cupom não encontrado", exception.getMessage());
+
+        Mockito.verify(couponRepository, Mockito.never()).findByCode(Mockito.anyString());
+    }
+
+    @Test
+    void testUseByCode_GivenCodeOfAnActiveCoupon_ShouldRedeemTheCouponWithThatCode() {
+        UUID id = UUID.randomUUID();
+
+        Mockito.when(couponRepository.findIdByCode("ABC123")).thenReturn(Optional.of(id));
+        Mockito.when(couponRepository.redeem(Mockito.eq(id), Mockito.any(LocalDateTime.class))).thenReturn(1);
+
+        CouponRedeemDTO actualRedeem = couponService.useByCode("ABC-123");
+
+        Assertions.assertEquals(id, actualRedeem.id());
+        Assertions.assertTrue(actualRedeem.redeemed());
+    }
+
+    @Test
+    void testCreate_GivenCodeOfAnActiveCoupon_ShouldThrowAConflictException() {
+        CreateCouponDTO createCouponDTO = new CreateCouponDTO(
+                "ABC-123",
+                "Foo Bar",
+                0.8,
+                LocalDateTime.now(),
+                false
+        );
+
+        Mockito.when(couponRepository.save(Mockito.any(Coupon.class)))
+                .thenThrow(new DataIntegrityViolationException("ux_coupon_active_code"));
+
+        ConflictException exception = Assertions.assertThrows(
+                ConflictException.class,
+                () -> couponService.create(createCouponDTO)
+        );
+
+        Assertions.assertEquals("Já existe um cupom ativo com este código", exception.getMessage());
+    }
+
+    @Test
+    void testCreate_GivenOtherIntegrityViolation_ShouldNotReportItAsADuplicateCode() {
+        CreateCouponDTO createCouponDTO = new CreateCouponDTO(
+                "ABC-123",
+                "Foo Bar",
+                0.8,
+                LocalDateTime.now(),
+                false
+        );
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("Value too long for column DISCOUNT_VALUE NUMERIC(10, 2)");
+
+        Mockito.when(couponRepository.save(Mockito.any(Coupon.class))).thenThrow(violation);
+
+        DataIntegrityViolationException exception = Assertions.assertThrows(
+                DataIntegrityViolationException.class,
+                () -> couponService.create(createCouponDTO)
+        );
+
+        Assertions.assertSame(violation, exception);
+    }
+
+    @Test
+    void testSearch_GivenMoreCouponsThanThePageSize_ShouldReturnACursorToTheLastCouponOfThePage() {
+        CouponSearchDTO search = new CouponSearchDTO(null, null, null, null, null);
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 10, 0, 0, 123456000);
+        List<CouponDTO> coupons = List.of(searchedCoupon(createdAt.plusSeconds(1)), searchedCoupon(createdAt), searchedCoupon(createdAt.minusSeconds(1)));
+
+        Mockito.when(couponRepository.findPage(search, null, null, 3)).thenReturn(coupons);
+
+        CouponPageDTO firstPage = couponService.search(search, null, 2);
+
+        Assertions.assertEquals(coupons.subList(0, 2), firstPage.items());
+        Assertions.assertNotNull(firstPage.nextCursor());
+
+        Mockito.when(couponRepository.findPage(search, createdAt, coupons.get(1).id(), 3)).thenReturn(coupons.subList(2, 3));
+
+        CouponPageDTO secondPage = couponService.search(search, firstPage.nextCursor(), 2);
+
+        Assertions.assertEquals(coupons.subList(2, 3), secondPage.items());
+        Assertions.assertNull(secondPage.nextCursor());
+    }
+
+    @Test
+    void testSearch_GivenMalformedCursor_ShouldThrowABadRequestException() {
+        BadRequestException exception = Assertions.assertThrows(
+                BadRequestException.class,
+                () -> couponService.search(new CouponSearchDTO(null, null, null, null, null), "not-a-cursor", 10)
+        );
+
+        Assertions.assertEquals("Cursor de paginação inválido", exception.getMessage());
     }
 
     @Test
@@ -205,6 +892,43 @@ public class CouponServiceTest {
         Mockito.verify(couponRepository).save(Mockito.any(Coupon.class));
     }
 
+    @Test
+    void testDelete_GivenConcurrentUpdate_ShouldRetryAndDeleteWithFreshCoupon() {
+        UUID id = UUID.randomUUID();
+        Coupon coupon = redeemRejectedCoupon(id, CouponStatus.ACTIVE, true, LocalDateTime.now().plusDays(1), false);
+
+        Mockito.when(couponRepository.findByIdAndIsNotDelete(id)).thenReturn(Optional.of(coupon));
+        Mockito.when(couponRepository.save(Mockito.any(Coupon.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Coupon.class, id))
+                .thenReturn(coupon);
+
+        couponService.delete(id);
+
+        Assertions.assertEquals(CouponStatus.DELETED, coupon.getStatus());
+
+        Mockito.verify(couponRepository, Mockito.times(2)).findByIdAndIsNotDelete(id);
+        Mockito.verify(couponRepository, Mockito.times(2)).save(Mockito.any(Coupon.class));
+    }
+
+    @Test
+    void testDelete_GivenConflictsOnEveryAttempt_ShouldThrowAConflictException() {
+        UUID id = UUID.randomUUID();
+        Coupon coupon = redeemRejectedCoupon(id, CouponStatus.ACTIVE, true, LocalDateTime.now().plusDays(1), false);
+
+        Mockito.when(couponRepository.findByIdAndIsNotDelete(id)).thenReturn(Optional.of(coupon));
+        Mockito.when(couponRepository.save(Mockito.any(Coupon.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Coupon.class, id));
+
+        ConflictException exception = Assertions.assertThrows(
+                ConflictException.class,
+                () -> couponService.delete(id)
+        );
+
+        Assertions.assertEquals("O cupom foi alterado por outra requisição, tente novamente", exception.getMessage());
+
+        Mockito.verify(couponRepository, Mockito.times(3)).save(Mockito.any(Coupon.class));
+    }
+
     @Test
     void testDelete_GivenInvalidId_ShouldThrowANotFoundException() {
         UUID id = UUID.randomUUID();
@@ -238,4 +962,23 @@ public class CouponServiceTest {
         Mockito.verify(couponRepository).findByIdAndIsNotDelete(id);
         Mockito.verify(couponRepository, Mockito.never()).save(Mockito.any(Coupon.class));
     }
+
+    private CouponDTO searchedCoupon(LocalDateTime createdAt) {
+        return new CouponDTO(UUID.randomUUID(), "ABC123", "Foo Bar", 0.8, null, CouponStatus.ACTIVE, true, false, 1, 0, createdAt);
+    }
+
+    private Coupon redeemRejectedCoupon(UUID id, CouponStatus status, boolean published, LocalDateTime expirationDate, boolean redeemed) {
+        return new Coupon(
+                id,
+                "ABC123",
+                "Foo Bar",
+                BigDecimal.valueOf(0.8),
+                expirationDate,
+                LocalDateTime.now(),
+                LocalDateTime.now(),
+                status,
+                published,
+                redeemed
+        );
+    }
 }
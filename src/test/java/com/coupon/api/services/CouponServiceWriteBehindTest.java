@@ -0,0 +1,136 @@
+package com.coupon.api.services;
+
+import com.coupon.api.dtos.coupons.request.CreateCouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.coupon.api.exceptions.BadRequestException;
+import com.coupon.api.repositories.CouponRedemptionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@SpringBootTest(properties = "coupon.redemptions.write-behind.enabled=true")
+public class CouponServiceWriteBehindTest {
+
+    private static final int COUPONS = 10;
+    private static final int ATTEMPTS_PER_COUPON = 8;
+    private static final int MULTI_USE_LIMIT = 5;
+    private static final int MULTI_USE_ATTEMPTS = 20;
+
+    @Autowired
+    private CouponService couponService;
+
+    @Autowired
+    private CouponRedemptionRepository couponRedemptionRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void integrationTestUse_GivenConcurrentRedeemsInWriteBehindMode_ShouldKeepEveryLimit() throws Exception {
+        List<UUID> singleUse = new ArrayList<>();
+
+        for (int i = 0; i < COUPONS; i++) {
+            singleUse.add(create(1).id());
+        }
+
+        UUID multiUse = create(MULTI_USE_LIMIT).id();
+
+        couponService.use(multiUse);
+
+        AtomicInteger[] winners = new AtomicInteger[COUPONS];
+        AtomicInteger multiUseWinners = new AtomicInteger(1);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < COUPONS; i++) {
+            winners[i] = new AtomicInteger();
+
+            for (int attempt = 0; attempt < ATTEMPTS_PER_COUPON; attempt++) {
+                int index = i;
+
+                futures.add(executor.submit(() -> {
+                    start.await();
+
+                    try {
+                        couponService.use(singleUse.get(index));
+                        winners[index].incrementAndGet();
+                    } catch (BadRequestException exception) {
+                        Assertions.assertEquals("O cupom já foi utilizado", exception.getMessage());
+                    }
+
+                    return null;
+                }));
+            }
+        }
+
+        for (int attempt = 0; attempt < MULTI_USE_ATTEMPTS; attempt++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+
+                try {
+                    couponService.use(multiUse);
+                    multiUseWinners.incrementAndGet();
+                } catch (BadRequestException exception) {
+                    Assertions.assertEquals("O cupom atingiu o limite de utilizações", exception.getMessage());
+                }
+
+                return null;
+            }));
+        }
+
+        start.countDown();
+
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+
+        executor.shutdown();
+
+        for (int i = 0; i < COUPONS; i++) {
+            Assertions.assertEquals(1, winners[i].get());
+            Assertions.assertTrue(couponService.findById(singleUse.get(i)).redeemed());
+        }
+
+        Assertions.assertEquals(MULTI_USE_LIMIT, multiUseWinners.get());
+        Assertions.assertEquals(MULTI_USE_LIMIT, couponService.findById(multiUse).redemptions());
+        Assertions.assertTrue(meterRegistry.get("coupon.redeem.batch.size").summary().count() > 0);
+    }
+
+    @Test
+    void integrationTestUse_GivenRepeatedIdempotencyKeyInWriteBehindMode_ShouldReplayTheOriginalRedeem() {
+        UUID id = create(3).id();
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        Assertions.assertTrue(couponService.use(id).redeemed());
+        Assertions.assertTrue(couponService.use(id, idempotencyKey).redeemed());
+        Assertions.assertTrue(couponService.use(id, idempotencyKey).redeemed());
+
+        Assertions.assertEquals(2, couponService.findById(id).redemptions());
+        Assertions.assertTrue(couponRedemptionRepository.findByIdempotencyKey(idempotencyKey).isPresent());
+    }
+
+    private CouponDTO create(int maxRedemptions) {
+        return couponService.create(new CreateCouponDTO(
+                UUID.randomUUID().toString().substring(0, 6).toUpperCase(),
+                "Foo Bar",
+                0.8,
+                LocalDateTime.now().plusDays(1),
+                true,
+                maxRedemptions
+        ));
+    }
+}
@@ -0,0 +1,85 @@
+package com.coupon.api.services.archive;
+
+import com.coupon.api.dtos.coupons.request.CreateCouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.coupon.api.models.enums.CouponStatus;
+import com.coupon.api.repositories.CouponArchiveRepository;
+import com.coupon.api.repositories.CouponRedemptionShardRepository;
+import com.coupon.api.repositories.CouponRepository;
+import com.coupon.api.services.CouponService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@SpringBootTest
+public class CouponArchiverTest {
+
+    @Autowired
+    private CouponArchiver couponArchiver;
+
+    @Autowired
+    private CouponService couponService;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private CouponArchiveRepository couponArchiveRepository;
+
+    @Autowired
+    private CouponRedemptionShardRepository shardRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void integrationTestArchive_GivenCouponDeletedBeforeTheRetention_ShouldMoveItToTheArchive() {
+        CouponDTO coupon = create();
+
+        couponService.use(coupon.id());
+        couponService.delete(coupon.id());
+        jdbcTemplate.update("UPDATE coupon SET updated_at = ? WHERE id = ?", LocalDateTime.now().minusDays(31), coupon.id());
+
+        int archived = couponArchiver.archive();
+
+        Assertions.assertTrue(archived >= 1);
+        Assertions.assertTrue(couponRepository.findById(coupon.id()).isEmpty());
+        Assertions.assertNull(shardRepository.sumRemaining(coupon.id()));
+        Assertions.assertTrue(couponArchiveRepository.existsById(coupon.id()));
+
+        CouponDTO actual = couponService.findById(coupon.id());
+
+        Assertions.assertEquals(coupon.code(), actual.code());
+        Assertions.assertEquals(CouponStatus.DELETED, actual.status());
+        Assertions.assertEquals(5, actual.maxRedemptions());
+        Assertions.assertEquals(1, actual.redemptions());
+    }
+
+    @Test
+    void integrationTestArchive_GivenCouponDeletedWithinTheRetention_ShouldKeepItInTheCouponTable() {
+        CouponDTO coupon = create();
+
+        couponService.delete(coupon.id());
+
+        couponArchiver.archive();
+
+        Assertions.assertTrue(couponRepository.findById(coupon.id()).isPresent());
+        Assertions.assertFalse(couponArchiveRepository.existsById(coupon.id()));
+    }
+
+    private CouponDTO create() {
+        return couponService.create(new CreateCouponDTO(
+                UUID.randomUUID().toString().substring(0, 6).toUpperCase(),
+                "Foo Bar",
+                0.8,
+                LocalDateTime.now().plusDays(1),
+                true,
+                5
+        ));
+    }
+}
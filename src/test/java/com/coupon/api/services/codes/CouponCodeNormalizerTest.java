@@ -0,0 +1,43 @@
+package com.coupon.api.services.codes;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CouponCodeNormalizerTest {
+
+    private final CouponCodeNormalizer upperNormalizer = new CouponCodeNormalizer(CouponCodeNormalizer.CasePolicy.UPPER);
+    private final CouponCodeNormalizer preserveNormalizer = new CouponCodeNormalizer(CouponCodeNormalizer.CasePolicy.PRESERVE);
+
+    @Test
+    void testNormalize_GivenCleanCode_ShouldReturnTheSameInstance() {
+        String code = "ABC123";
+
+        Assertions.assertSame(code, upperNormalizer.normalize(code));
+    }
+
+    @Test
+    void testNormalize_GivenCodeWithSpecialCharacters_ShouldRemoveThem() {
+        Assertions.assertEquals("ABC123", upperNormalizer.normalize(" A-B.C_1 2/3 "));
+    }
+
+    @Test
+    void testNormalize_GivenLowercaseCode_ShouldApplyTheCasePolicy() {
+        Assertions.assertEquals("ABC123", upperNormalizer.normalize("abc-123"));
+        Assertions.assertEquals("abc123", preserveNormalizer.normalize("abc-123"));
+        Assertions.assertEquals("abc123", preserveNormalizer.normalize("abc123"));
+    }
+
+    @Test
+    void testNormalize_GivenNonAsciiLetters_ShouldRemoveThem() {
+        Assertions.assertEquals("ABC123", upperNormalizer.normalize("ÁABC-123ç"));
+    }
+
+    @Test
+    void testNormalize_GivenCodeWithInvalidLength_ShouldReturnNull() {
+        Assertions.assertNull(upperNormalizer.normalize("ABCD-123"));
+        Assertions.assertNull(upperNormalizer.normalize("AB-12"));
+        Assertions.assertNull(upperNormalizer.normalize("------"));
+        Assertions.assertNull(upperNormalizer.normalize("A".repeat(10_000)));
+        Assertions.assertNull(upperNormalizer.normalize(null));
+    }
+}
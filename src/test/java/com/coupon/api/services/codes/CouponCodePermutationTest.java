@@ -0,0 +1,55 @@
+package com.coupon.api.services.codes;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class CouponCodePermutationTest {
+
+    private final CouponCodePermutation permutation = new CouponCodePermutation(7046029254386353131L);
+
+    @Test
+    void testEncode_GivenConsecutiveIndexes_ShouldMintDistinctSixCharacterAlphanumericCodes() {
+        Set<String> codes = new HashSet<>();
+
+        for (long index = 0; index < 200_000; index++) {
+            String code = permutation.encode(index);
+
+            Assertions.assertTrue(code.matches("[0-9A-Z]{6}"), code);
+            Assertions.assertTrue(codes.add(code), "Duplicated code " + code);
+        }
+    }
+
+    @Test
+    void testPermute_GivenIndexesAcrossTheKeyspace_ShouldStayInsideTheKeyspaceWithoutCollisions() {
+        Set<Long> values = new HashSet<>();
+        long step = CouponCodePermutation.KEYSPACE / 100_000;
+
+        for (long index = 0; index < CouponCodePermutation.KEYSPACE; index += step) {
+            long value = permutation.permute(index);
+
+            Assertions.assertTrue(value >= 0 && value < CouponCodePermutation.KEYSPACE);
+            Assertions.assertTrue(values.add(value));
+        }
+
+        Assertions.assertTrue(values.add(permutation.permute(CouponCodePermutation.KEYSPACE - 1)));
+    }
+
+    @Test
+    void testEncode_GivenDifferentKeys_ShouldMintDifferentSequences() {
+        CouponCodePermutation otherPermutation = new CouponCodePermutation(42L);
+
+        Assertions.assertEquals(permutation.encode(1), permutation.encode(1));
+        Assertions.assertNotEquals(permutation.encode(1), otherPermutation.encode(1));
+    }
+
+    @Test
+    void testPermute_GivenIndexOutsideTheKeyspace_ShouldThrowAnIllegalArgumentException() {
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> permutation.permute(CouponCodePermutation.KEYSPACE)
+        );
+    }
+}
@@ -0,0 +1,75 @@
+package com.coupon.api.services.expiration;
+
+import com.coupon.api.configs.CacheConfig;
+import com.coupon.api.metrics.CouponMetrics;
+import com.coupon.api.repositories.CouponRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public class CouponExpirationSweeperTest {
+
+    private final CouponRepository couponRepository = Mockito.mock(CouponRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.COUPONS_CACHE, CacheConfig.COUPON_RESPONSES_CACHE);
+
+    private CouponExpirationSweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        sweeper = new CouponExpirationSweeper(couponRepository, new CouponMetrics(meterRegistry), cacheManager, 2, 10, Duration.ZERO);
+    }
+
+    @Test
+    void testSweep_GivenMoreExpiredCouponsThanABatch_ShouldInactivateThemInBoundedBatches() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        Cache cache = cacheManager.getCache(CacheConfig.COUPONS_CACHE);
+
+        cache.put(first, "cached");
+        cache.put(third, "cached");
+
+        Mockito.when(couponRepository.findExpiredIds(Mockito.any(LocalDateTime.class), Mockito.eq(Limit.of(2))))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of(third));
+        Mockito.when(couponRepository.expire(Mockito.anyCollection(), Mockito.any(LocalDateTime.class)))
+                .thenReturn(2, 1);
+        Mockito.when(couponRepository.findOldestExpiration(Mockito.any(LocalDateTime.class))).thenReturn(Optional.empty());
+
+        Assertions.assertEquals(3, sweeper.sweep());
+
+        Mockito.verify(couponRepository).expire(Mockito.eq(List.of(first, second)), Mockito.any(LocalDateTime.class));
+        Mockito.verify(couponRepository).expire(Mockito.eq(List.of(third)), Mockito.any(LocalDateTime.class));
+        Assertions.assertNull(cache.get(first));
+        Assertions.assertNull(cache.get(third));
+        Assertions.assertEquals(3.0, meterRegistry.get("coupon.expiration.swept").counter().count());
+        Assertions.assertEquals(0.0, meterRegistry.get("coupon.expiration.lag").gauge().value());
+    }
+
+    @Test
+    void testSweep_GivenBatchLimitReached_ShouldStopAndReportTheLag() {
+        LocalDateTime oldest = LocalDateTime.now().minusHours(1);
+
+        Mockito.when(couponRepository.findExpiredIds(Mockito.any(LocalDateTime.class), Mockito.eq(Limit.of(2))))
+                .thenAnswer(invocation -> List.of(UUID.randomUUID(), UUID.randomUUID()));
+        Mockito.when(couponRepository.expire(Mockito.anyCollection(), Mockito.any(LocalDateTime.class))).thenReturn(2);
+        Mockito.when(couponRepository.findOldestExpiration(Mockito.any(LocalDateTime.class))).thenReturn(Optional.of(oldest));
+
+        Assertions.assertEquals(20, sweeper.sweep());
+
+        Mockito.verify(couponRepository, Mockito.times(10)).expire(Mockito.anyCollection(), Mockito.any(LocalDateTime.class));
+        Assertions.assertTrue(meterRegistry.get("coupon.expiration.lag").gauge().value() >= 3600);
+    }
+}
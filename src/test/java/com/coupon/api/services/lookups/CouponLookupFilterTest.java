@@ -0,0 +1,74 @@
+package com.coupon.api.services.lookups;
+
+import com.coupon.api.metrics.CouponMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+public class CouponLookupFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testMightContainId_GivenFilterNotRebuiltYet_ShouldLetEveryLookupThrough() {
+        CouponLookupFilter filter = filter(true);
+
+        Assertions.assertTrue(filter.mightContainId(UUID.randomUUID()));
+        Assertions.assertTrue(filter.mightContainCode("ABC123"));
+    }
+
+    @Test
+    void testMightContainId_GivenRebuiltFilter_ShouldKeepAddedKeysAndRuleOutMostOthers() {
+        CouponLookupFilter filter = filter(true);
+
+        filter.rebuild();
+
+        UUID[] added = IntStream.range(0, 10_000).mapToObj(index -> UUID.randomUUID()).toArray(UUID[]::new);
+
+        for (UUID id : added) {
+            filter.addId(id);
+        }
+
+        filter.addCode("ABC123");
+
+        long falsePositives = IntStream.range(0, 10_000).filter(index -> filter.mightContainId(UUID.randomUUID())).count();
+        double expectedRate = meterRegistry.get("coupon.lookup.filter.false.positive.rate").tag("key", "id").gauge().value();
+
+        for (UUID id : added) {
+            Assertions.assertTrue(filter.mightContainId(id));
+        }
+
+        Assertions.assertTrue(filter.mightContainCode("ABC123"));
+        Assertions.assertFalse(filter.mightContainCode("ABC124"));
+        Assertions.assertTrue(falsePositives < 300, "Falsos positivos: " + falsePositives);
+        Assertions.assertTrue(expectedRate > 0 && expectedRate < 0.03, "Taxa esperada: " + expectedRate);
+    }
+
+    @Test
+    void testMightContainId_GivenDisabledFilter_ShouldLetEveryLookupThrough() {
+        CouponLookupFilter filter = filter(false);
+
+        filter.rebuild();
+
+        Assertions.assertTrue(filter.mightContainId(UUID.randomUUID()));
+        Assertions.assertTrue(meterRegistry.find("coupon.lookup.filter.false.positive.rate").gauges().isEmpty());
+    }
+
+    private CouponLookupFilter filter(boolean enabled) {
+        return new CouponLookupFilter(
+                Mockito.mock(JdbcTemplate.class),
+                Mockito.mock(PlatformTransactionManager.class),
+                new CouponMetrics(meterRegistry),
+                enabled,
+                10_000,
+                0.01,
+                1000
+        );
+    }
+}
@@ -0,0 +1,171 @@
+package com.coupon.api.services.redemptions;
+
+import com.coupon.api.configs.CacheConfig;
+import com.coupon.api.metrics.CouponMetrics;
+import com.coupon.api.models.Coupon;
+import com.coupon.api.models.CouponRedemption;
+import com.coupon.api.models.enums.RedeemRejectionReason;
+import com.coupon.api.repositories.CouponRedemptionRepository;
+import com.coupon.api.repositories.CouponRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+public class CouponHotRedemptionsTest {
+
+    private final CouponRepository couponRepository = Mockito.mock(CouponRepository.class);
+    private final CouponRedemptionRepository couponRedemptionRepository = Mockito.mock(CouponRedemptionRepository.class);
+    private final CouponRedemptionCounter couponRedemptionCounter = Mockito.mock(CouponRedemptionCounter.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UUID couponId = UUID.randomUUID();
+
+    @Test
+    void testRedeem_GivenCouponBelowTheThreshold_ShouldLeaveTheRedeemToTheDatabase() {
+        CouponHotRedemptions hotRedemptions = hotRedemptions(3, Duration.ofMinutes(1));
+
+        hotRedemptions.admit(couponId);
+
+        Assertions.assertFalse(hotRedemptions.redeem(couponId, null));
+        Mockito.verifyNoInteractions(couponRedemptionCounter, couponRedemptionRepository);
+    }
+
+    @Test
+    void testRedeem_GivenHotCoupon_ShouldAnswerFromOneReservedBlock() {
+        CouponHotRedemptions hotRedemptions = hotRedemptions(2, Duration.ofMinutes(1));
+
+        Mockito.when(couponRepository.findById(couponId)).thenReturn(Optional.of(multiUseCoupon()));
+        Mockito.when(couponRepository.isRedeemable(Mockito.eq(couponId), Mockito.any(LocalDateTime.class))).thenReturn(true);
+        Mockito.when(couponRedemptionCounter.reserve(Mockito.eq(couponId), Mockito.eq(10), Mockito.any(LocalDateTime.class))).thenReturn(3);
+
+        for (int redeem = 0; redeem < 4; redeem++) {
+            hotRedemptions.admit(couponId);
+        }
+
+        Assertions.assertTrue(hotRedemptions.redeem(couponId, "key-1"));
+        Assertions.assertTrue(hotRedemptions.redeem(couponId, "key-2"));
+        Assertions.assertTrue(hotRedemptions.redeem(couponId, "key-3"));
+
+        Mockito.verify(couponRedemptionCounter, Mockito.times(1)).reserve(Mockito.eq(couponId), Mockito.eq(10), Mockito.any(LocalDateTime.class));
+        Mockito.verify(couponRedemptionRepository, Mockito.times(3)).saveAndFlush(Mockito.any(CouponRedemption.class));
+        Mockito.verify(couponRepository, Mockito.never()).redeem(Mockito.any(), Mockito.any());
+        Assertions.assertEquals(3.0, meterRegistry.get("coupon.redeem.hot").tag("outcome", "redeemed").counter().count());
+        Assertions.assertEquals(3.0, meterRegistry.get("coupon.redeem.hot.tokens").tag("action", "reserved").counter().count());
+    }
+
+    @Test
+    void testReconcile_GivenExpiredBlock_ShouldReleaseTheLeftoverTokens() throws InterruptedException {
+        CouponHotRedemptions hotRedemptions = hotRedemptions(1, Duration.ofMillis(20));
+
+        Mockito.when(couponRepository.findById(couponId)).thenReturn(Optional.of(multiUseCoupon()));
+        Mockito.when(couponRepository.isRedeemable(Mockito.eq(couponId), Mockito.any(LocalDateTime.class))).thenReturn(true);
+        Mockito.when(couponRedemptionCounter.reserve(Mockito.eq(couponId), Mockito.eq(10), Mockito.any(LocalDateTime.class))).thenReturn(10);
+
+        hotRedemptions.admit(couponId);
+
+        Assertions.assertTrue(hotRedemptions.redeem(couponId, null));
+
+        Thread.sleep(50);
+        hotRedemptions.reconcile();
+
+        Mockito.verify(couponRedemptionCounter).release(Mockito.eq(couponId), Mockito.eq(9), Mockito.any(LocalDateTime.class));
+        Assertions.assertEquals(9.0, meterRegistry.get("coupon.redeem.hot.tokens").tag("action", "released").counter().count());
+    }
+
+    @Test
+    void testRedeem_GivenRedemptionThatFailsToSave_ShouldReleaseItsToken() {
+        CouponHotRedemptions hotRedemptions = hotRedemptions(1, Duration.ofMinutes(1));
+
+        Mockito.when(couponRepository.findById(couponId)).thenReturn(Optional.of(multiUseCoupon()));
+        Mockito.when(couponRepository.isRedeemable(Mockito.eq(couponId), Mockito.any(LocalDateTime.class))).thenReturn(true);
+        Mockito.when(couponRedemptionCounter.reserve(Mockito.eq(couponId), Mockito.eq(10), Mockito.any(LocalDateTime.class))).thenReturn(10);
+        Mockito.when(couponRedemptionRepository.saveAndFlush(Mockito.any(CouponRedemption.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate idempotency key"));
+
+        hotRedemptions.admit(couponId);
+
+        Assertions.assertThrows(DataIntegrityViolationException.class, () -> hotRedemptions.redeem(couponId, "key-1"));
+        Mockito.verify(couponRedemptionCounter).release(Mockito.eq(couponId), Mockito.eq(1), Mockito.any(LocalDateTime.class));
+    }
+
+    @Test
+    void testRedeem_GivenCouponDeletedWhileItsBlockIsReserved_ShouldReleaseTheBlockAndLeaveTheRedeemToTheDatabase() {
+        CouponHotRedemptions hotRedemptions = hotRedemptions(1, Duration.ofMinutes(1));
+
+        Mockito.when(couponRepository.findById(couponId)).thenReturn(Optional.of(multiUseCoupon()));
+        Mockito.when(couponRepository.isRedeemable(Mockito.eq(couponId), Mockito.any(LocalDateTime.class))).thenReturn(true, false);
+        Mockito.when(couponRedemptionCounter.reserve(Mockito.eq(couponId), Mockito.eq(10), Mockito.any(LocalDateTime.class))).thenReturn(10);
+
+        hotRedemptions.admit(couponId);
+
+        Assertions.assertTrue(hotRedemptions.redeem(couponId, "key-1"));
+        Assertions.assertFalse(hotRedemptions.redeem(couponId, "key-2"));
+
+        Mockito.verify(couponRedemptionRepository, Mockito.times(1)).saveAndFlush(Mockito.any(CouponRedemption.class));
+        Mockito.verify(couponRedemptionCounter).release(Mockito.eq(couponId), Mockito.eq(9), Mockito.any(LocalDateTime.class));
+        Assertions.assertEquals(1.0, meterRegistry.get("coupon.redeem.hot").tag("outcome", "not_redeemable").counter().count());
+    }
+
+    @Test
+    void testAdmit_GivenHotCouponSoldOut_ShouldRejectLocallyUntilTheBlockTtlPasses() throws InterruptedException {
+        CouponHotRedemptions hotRedemptions = hotRedemptions(2, Duration.ofMillis(100));
+
+        hotRedemptions.admit(couponId);
+        hotRedemptions.admit(couponId);
+        hotRedemptions.soldOut(couponId, RedeemRejectionReason.LIMIT_REACHED);
+
+        Assertions.assertEquals(Optional.of(RedeemRejectionReason.LIMIT_REACHED), hotRedemptions.admit(couponId));
+        Assertions.assertEquals(1.0, meterRegistry.get("coupon.redeem.hot").tag("outcome", "sold_out").counter().count());
+
+        Thread.sleep(150);
+
+        Assertions.assertEquals(Optional.empty(), hotRedemptions.admit(couponId));
+    }
+
+    @Test
+    void testSoldOut_GivenCouponBelowTheThresholdOrOtherReason_ShouldNotRejectLocally() {
+        CouponHotRedemptions hotRedemptions = hotRedemptions(2, Duration.ofMinutes(1));
+        UUID unpublished = UUID.randomUUID();
+
+        hotRedemptions.admit(couponId);
+        hotRedemptions.soldOut(couponId, RedeemRejectionReason.ALREADY_REDEEMED);
+
+        hotRedemptions.admit(unpublished);
+        hotRedemptions.admit(unpublished);
+        hotRedemptions.soldOut(unpublished, RedeemRejectionReason.UNPUBLISHED);
+
+        Assertions.assertEquals(Optional.empty(), hotRedemptions.admit(couponId));
+        Assertions.assertEquals(Optional.empty(), hotRedemptions.admit(unpublished));
+    }
+
+    private CouponHotRedemptions hotRedemptions(int threshold, Duration blockTtl) {
+        return new CouponHotRedemptions(
+                couponRepository,
+                couponRedemptionRepository,
+                couponRedemptionCounter,
+                new CouponMetrics(meterRegistry),
+                new ConcurrentMapCacheManager(CacheConfig.COUPONS_CACHE, CacheConfig.COUPON_RESPONSES_CACHE),
+                true,
+                threshold,
+                10,
+                blockTtl,
+                100
+        );
+    }
+
+    private Coupon multiUseCoupon() {
+        Coupon coupon = new Coupon();
+
+        coupon.setId(couponId);
+        coupon.setMaxRedemptions(100);
+
+        return coupon;
+    }
+}
@@ -0,0 +1,132 @@
+package com.coupon.api.services.redemptions;
+
+import com.coupon.api.exceptions.TooManyRequestsException;
+import com.coupon.api.metrics.CouponMetrics;
+import com.coupon.api.models.CouponRedemption;
+import com.coupon.api.repositories.CouponRedemptionRepository;
+import com.coupon.api.repositories.CouponRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class CouponRedemptionBatcherTest {
+
+    private final CouponRepository couponRepository = Mockito.mock(CouponRepository.class);
+    private final CouponRedemptionRepository couponRedemptionRepository = Mockito.mock(CouponRedemptionRepository.class);
+    private final CouponRedemptionCounter couponRedemptionCounter = Mockito.mock(CouponRedemptionCounter.class);
+    private final TransactionTemplate transactionTemplate = Mockito.mock(TransactionTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch batchStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseBatch = new CountDownLatch(1);
+
+    private CouponRedemptionBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        Mockito.when(transactionTemplate.execute(Mockito.any())).thenAnswer(invocation -> {
+            batchStarted.countDown();
+            releaseBatch.await(10, TimeUnit.SECONDS);
+
+            return invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        releaseBatch.countDown();
+        batcher.stop();
+    }
+
+    @Test
+    void testSubmit_GivenRedeemsOfTheSameCouponInOneBatch_ShouldRedeemItOnceWithASingleUpdate() throws Exception {
+        UUID singleUse = UUID.randomUUID();
+        UUID multiUse = UUID.randomUUID();
+
+        batcher = batcher(10, Duration.ofMillis(200));
+        releaseBatch.countDown();
+
+        Mockito.when(couponRepository.lockRedeemable(Mockito.anyCollection(), Mockito.any(LocalDateTime.class)))
+                .thenReturn(List.of(singleUse));
+        Mockito.when(couponRedemptionCounter.take(Mockito.eq(multiUse), Mockito.any(LocalDateTime.class))).thenReturn(true);
+
+        CompletableFuture<Boolean> first = batcher.submit(singleUse, "key-1");
+        CompletableFuture<Boolean> second = batcher.submit(singleUse, "key-2");
+        CompletableFuture<Boolean> third = batcher.submit(multiUse, "key-3");
+        CompletableFuture<Boolean> repeatedKey = batcher.submit(multiUse, "key-3");
+
+        Assertions.assertTrue(first.get(5, TimeUnit.SECONDS));
+        Assertions.assertFalse(second.get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(third.get(5, TimeUnit.SECONDS));
+        Assertions.assertFalse(repeatedKey.get(5, TimeUnit.SECONDS));
+
+        Mockito.verify(transactionTemplate, Mockito.times(1)).execute(Mockito.any());
+        Mockito.verify(couponRepository).redeemAll(Mockito.eq(List.of(singleUse)), Mockito.any(LocalDateTime.class));
+        Mockito.verify(couponRedemptionCounter, Mockito.times(1)).take(Mockito.eq(multiUse), Mockito.any(LocalDateTime.class));
+        Mockito.verify(couponRedemptionRepository).saveAllAndFlush(Mockito.<List<CouponRedemption>>argThat(redemptions -> redemptions.size() == 2));
+        Assertions.assertEquals(4.0, meterRegistry.get("coupon.redeem.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    void testSubmit_GivenFullQueue_ShouldThrowATooManyRequestsException() throws Exception {
+        batcher = batcher(1, Duration.ZERO);
+
+        CompletableFuture<Boolean> applying = batcher.submit(UUID.randomUUID(), null);
+
+        Assertions.assertTrue(batchStarted.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Boolean> queued = batcher.submit(UUID.randomUUID(), null);
+
+        TooManyRequestsException exception = Assertions.assertThrows(
+                TooManyRequestsException.class,
+                () -> batcher.submit(UUID.randomUUID(), null)
+        );
+
+        Assertions.assertEquals("Muitos resgates em andamento, tente novamente em instantes", exception.getMessage());
+        Assertions.assertEquals(1.0, meterRegistry.get("coupon.redeem.throttled").counter().count());
+
+        releaseBatch.countDown();
+
+        Assertions.assertFalse(applying.get(5, TimeUnit.SECONDS));
+        Assertions.assertFalse(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testSubmit_GivenBatchRolledBack_ShouldCompleteEveryRedeemExceptionally() {
+        batcher = batcher(10, Duration.ZERO);
+        releaseBatch.countDown();
+
+        Mockito.when(couponRepository.lockRedeemable(Mockito.anyCollection(), Mockito.any(LocalDateTime.class)))
+                .thenThrow(new IllegalStateException("rollback"));
+
+        CompletableFuture<Boolean> redeem = batcher.submit(UUID.randomUUID(), null);
+
+        Assertions.assertThrows(Exception.class, () -> redeem.get(5, TimeUnit.SECONDS));
+    }
+
+    private CouponRedemptionBatcher batcher(int queueCapacity, Duration maxDelay) {
+        return new CouponRedemptionBatcher(
+                couponRepository,
+                couponRedemptionRepository,
+                couponRedemptionCounter,
+                transactionTemplate,
+                new CouponMetrics(meterRegistry),
+                true,
+                10,
+                maxDelay,
+                queueCapacity
+        );
+    }
+}
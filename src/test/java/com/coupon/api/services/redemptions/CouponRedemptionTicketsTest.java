@@ -0,0 +1,144 @@
+package com.coupon.api.services.redemptions;
+
+import com.coupon.api.dtos.coupons.response.CouponRedeemDTO;
+import com.coupon.api.dtos.coupons.response.CouponRedemptionTicketDTO;
+import com.coupon.api.exceptions.NotFoundException;
+import com.coupon.api.exceptions.TooManyRequestsException;
+import com.coupon.api.metrics.CouponMetrics;
+import com.coupon.api.models.enums.RedeemRejectionReason;
+import com.coupon.api.models.enums.RedemptionTicketStatus;
+import com.coupon.api.services.CouponService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class CouponRedemptionTicketsTest {
+
+    private final CouponService couponService = Mockito.mock(CouponService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CouponRedemptionTickets couponRedemptionTickets = new CouponRedemptionTickets(
+            couponService,
+            new CouponMetrics(meterRegistry),
+            1,
+            1,
+            Duration.ofMinutes(1),
+            100
+    );
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        couponRedemptionTickets.stop();
+    }
+
+    @Test
+    void testSubmit_GivenRedeemableCoupon_ShouldReportTheTicketAsRedeemed() throws Exception {
+        UUID couponId = UUID.randomUUID();
+
+        Mockito.when(couponService.use(couponId, "key-1")).thenReturn(new CouponRedeemDTO(couponId, true));
+
+        CouponRedemptionTicketDTO ticket = couponRedemptionTickets.submit(couponId, "key-1");
+
+        Assertions.assertEquals(RedemptionTicketStatus.PENDING, ticket.status());
+        Assertions.assertEquals(RedemptionTicketStatus.REDEEMED, awaitOutcome(ticket.ticket()).status());
+
+        Mockito.verify(couponService).validateRedeem(couponId, "key-1");
+    }
+
+    @Test
+    void testSubmit_GivenRedeemRejected_ShouldReportTheRejectionReason() throws Exception {
+        UUID couponId = UUID.randomUUID();
+
+        Mockito.when(couponService.use(couponId, null)).thenThrow(RedeemRejectionReason.EXPIRED.toException());
+
+        CouponRedemptionTicketDTO outcome = awaitOutcome(couponRedemptionTickets.submit(couponId, null).ticket());
+
+        Assertions.assertEquals(RedemptionTicketStatus.REJECTED, outcome.status());
+        Assertions.assertEquals("expired", outcome.reason());
+        Assertions.assertEquals("O cupom já está vencido/expirado", outcome.message());
+    }
+
+    @Test
+    void testSubmit_GivenRejectionWithAnotherMessage_ShouldReportTheReasonCarriedByTheException() throws Exception {
+        UUID couponId = UUID.randomUUID();
+
+        Mockito.when(couponService.use(couponId, null)).thenThrow(new NotFoundException("Cupom inexistente", RedeemRejectionReason.NOT_FOUND));
+
+        CouponRedemptionTicketDTO outcome = awaitOutcome(couponRedemptionTickets.submit(couponId, null).ticket());
+
+        Assertions.assertEquals(RedemptionTicketStatus.REJECTED, outcome.status());
+        Assertions.assertEquals("not_found", outcome.reason());
+        Assertions.assertEquals("Cupom inexistente", outcome.message());
+    }
+
+    @Test
+    void testSubmit_GivenUnknownCoupon_ShouldThrowWithoutIssuingATicket() {
+        UUID couponId = UUID.randomUUID();
+
+        Mockito.doThrow(new NotFoundException("Cupom não encontrado")).when(couponService).validateRedeem(couponId, null);
+
+        Assertions.assertThrows(NotFoundException.class, () -> couponRedemptionTickets.submit(couponId, null));
+
+        Mockito.verify(couponService, Mockito.never()).use(couponId, null);
+    }
+
+    @Test
+    void testSubmit_GivenFullExecutor_ShouldThrowATooManyRequestsException() throws Exception {
+        CountDownLatch redeemStarted = new CountDownLatch(1);
+        CountDownLatch releaseRedeem = new CountDownLatch(1);
+
+        Mockito.when(couponService.use(Mockito.any(UUID.class), Mockito.isNull())).thenAnswer(invocation -> {
+            redeemStarted.countDown();
+            releaseRedeem.await(10, TimeUnit.SECONDS);
+
+            throw RedeemRejectionReason.ALREADY_REDEEMED.toException();
+        });
+
+        CouponRedemptionTicketDTO running = couponRedemptionTickets.submit(UUID.randomUUID(), null);
+
+        Assertions.assertTrue(redeemStarted.await(5, TimeUnit.SECONDS));
+
+        CouponRedemptionTicketDTO queued = couponRedemptionTickets.submit(UUID.randomUUID(), null);
+
+        TooManyRequestsException exception = Assertions.assertThrows(
+                TooManyRequestsException.class,
+                () -> couponRedemptionTickets.submit(UUID.randomUUID(), null)
+        );
+
+        Assertions.assertEquals("Muitos resgates em andamento, tente novamente em instantes", exception.getMessage());
+        Assertions.assertEquals(1.0, meterRegistry.get("coupon.redeem.throttled").counter().count());
+
+        releaseRedeem.countDown();
+
+        Assertions.assertEquals("already_redeemed", awaitOutcome(running.ticket()).reason());
+        Assertions.assertEquals("already_redeemed", awaitOutcome(queued.ticket()).reason());
+    }
+
+    @Test
+    void testFindByTicket_GivenUnknownTicket_ShouldThrowANotFoundException() {
+        NotFoundException exception = Assertions.assertThrows(
+                NotFoundException.class,
+                () -> couponRedemptionTickets.findByTicket(UUID.randomUUID())
+        );
+
+        Assertions.assertEquals("Resgate não encontrado", exception.getMessage());
+    }
+
+    private CouponRedemptionTicketDTO awaitOutcome(UUID ticket) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        CouponRedemptionTicketDTO outcome = couponRedemptionTickets.findByTicket(ticket);
+
+        while (outcome.status() == RedemptionTicketStatus.PENDING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            outcome = couponRedemptionTickets.findByTicket(ticket);
+        }
+
+        return outcome;
+    }
+}
@@ -0,0 +1,126 @@
+package com.coupon.api.services.responses;
+
+import com.coupon.api.dtos.coupons.request.CreateCouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponDTO;
+import com.coupon.api.dtos.coupons.response.CouponVersionDTO;
+import com.coupon.api.services.CouponService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@SpringBootTest
+public class CouponResponseCacheTest {
+
+    @Autowired
+    private CouponResponseCache couponResponseCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    private CouponService couponService;
+
+    private CouponDTO coupon;
+
+    @BeforeEach
+    void setUp() {
+        coupon = couponService.create(new CreateCouponDTO(
+                UUID.randomUUID().toString().substring(0, 6).toUpperCase(),
+                "Foo Bar",
+                0.8,
+                LocalDateTime.now().plusDays(1),
+                true
+        ));
+
+        Mockito.clearInvocations(couponService);
+    }
+
+    @Test
+    void testFindById_GivenRepeatedReads_ShouldSerializeTheCouponOnlyOnce() throws Exception {
+        CouponResponseCache.CouponResponse firstRead = couponResponseCache.findById(coupon.id());
+        CouponResponseCache.CouponResponse secondRead = couponResponseCache.findById(coupon.id());
+
+        Assertions.assertSame(firstRead, secondRead);
+        Assertions.assertEquals(coupon.code(), objectMapper.readValue(firstRead.body(), CouponDTO.class).code());
+        Assertions.assertEquals(coupon.id(), firstRead.version().id());
+        Assertions.assertSame(firstRead.version(), couponResponseCache.findVersionById(coupon.id()));
+
+        Mockito.verify(couponService, Mockito.times(1)).findSnapshotById(coupon.id());
+    }
+
+    @Test
+    void testFindById_GivenCouponRedeemedAfterTheRead_ShouldServeANewETag() {
+        CouponResponseCache.CouponResponse beforeRedeem = couponResponseCache.findById(coupon.id());
+
+        couponService.use(coupon.id());
+
+        CouponResponseCache.CouponResponse afterRedeem = couponResponseCache.findById(coupon.id());
+
+        Assertions.assertNotEquals(beforeRedeem.version().etag(), afterRedeem.version().etag());
+
+        Mockito.verify(couponService, Mockito.times(2)).findSnapshotById(coupon.id());
+    }
+
+    @Test
+    void testFindById_GivenCouponChangedBeforeTheCachedCouponWasEvicted_ShouldServeTheNewBodyWithItsOwnVersion() throws Exception {
+        couponService.findById(coupon.id());
+
+        LocalDateTime updatedAt = LocalDateTime.now().plusSeconds(5);
+        jdbcTemplate.update("UPDATE coupon SET redeemed = TRUE, updated_at = ? WHERE id = ?", updatedAt, coupon.id());
+
+        CouponResponseCache.CouponResponse response = couponResponseCache.findById(coupon.id());
+
+        Assertions.assertTrue(objectMapper.readValue(response.body(), CouponDTO.class).redeemed());
+        Assertions.assertEquals(couponService.findVersionById(coupon.id()), response.version());
+        Assertions.assertFalse(couponService.findById(coupon.id()).redeemed());
+    }
+
+    @Test
+    void testFindVersionById_GivenResponseCachedAfterAStaleCouponRead_ShouldAnswerWithTheVersionOfTheCachedBody() throws Exception {
+        couponService.findById(coupon.id());
+
+        jdbcTemplate.update("UPDATE coupon SET redeemed = TRUE, updated_at = ? WHERE id = ?", LocalDateTime.now().plusSeconds(5), coupon.id());
+
+        CouponResponseCache.CouponResponse response = couponResponseCache.findById(coupon.id());
+        CouponVersionDTO version = couponResponseCache.findVersionById(coupon.id());
+
+        Assertions.assertSame(response.version(), version);
+        Assertions.assertTrue(objectMapper.readValue(response.body(), CouponDTO.class).redeemed());
+        Assertions.assertEquals(couponService.findVersionById(coupon.id()).etag(), version.etag());
+    }
+
+    @Test
+    void testFindVersionById_GivenMultiUseCouponRedeemed_ShouldMoveTheLastModifiedForward() {
+        CouponDTO multiUse = couponService.create(new CreateCouponDTO(
+                UUID.randomUUID().toString().substring(0, 6).toUpperCase(),
+                "Foo Bar",
+                0.8,
+                LocalDateTime.now().plusDays(1),
+                true,
+                5
+        ));
+
+        couponService.use(multiUse.id());
+
+        CouponVersionDTO beforeRedeem = couponResponseCache.findVersionById(multiUse.id());
+
+        couponService.use(multiUse.id());
+
+        CouponVersionDTO afterRedeem = couponResponseCache.findVersionById(multiUse.id());
+
+        Assertions.assertTrue(afterRedeem.lastModified().isAfter(beforeRedeem.lastModified()));
+        Assertions.assertNotEquals(beforeRedeem.etag(), afterRedeem.etag());
+    }
+}